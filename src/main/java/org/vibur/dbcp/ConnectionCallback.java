@@ -0,0 +1,49 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A callback which is notified when a connection requested via
+ * {@link ViburDataSource#getConnectionAsync(ConnectionCallback) getConnectionAsync} has been obtained, or when the
+ * request has failed. Exactly one of the methods is called, once, unless the request has been cancelled, in which case
+ * none of them is called.
+ *
+ * <p>The methods are called by a pool thread and must not block; the typical implementation hands the connection
+ * over to the event loop of the application. Any exception thrown by the methods is logged and ignored.
+ */
+public interface ConnectionCallback {
+
+    /**
+     * Called when the requested connection has been obtained. The callee becomes the owner of the connection and
+     * is responsible for closing it.
+     *
+     * @param connection the obtained proxy connection
+     */
+    void onConnection(Connection connection);
+
+    /**
+     * Called when the requested connection could not be obtained. The exception has the same SQL state as the one
+     * which would have been thrown by the corresponding {@code getConnection()} call, e.g. an
+     * {@code SQLTimeoutException} with SQL state {@link ViburConfig#SQLSTATE_TIMEOUT_ERROR}.
+     *
+     * @param exception the reason of the failure
+     */
+    void onError(SQLException exception);
+}
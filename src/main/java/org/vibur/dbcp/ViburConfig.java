@@ -22,7 +22,10 @@ import org.slf4j.LoggerFactory;
 import org.vibur.dbcp.pool.*;
 import org.vibur.dbcp.pool.HookHolder.ConnHooks;
 import org.vibur.dbcp.pool.HookHolder.InvocationHooks;
+import org.vibur.dbcp.stcache.ClhmStatementCache;
+import org.vibur.dbcp.stcache.ConnectionStatementCache;
 import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.TinyLfuStatementCache;
 import org.vibur.objectpool.PoolService;
 import org.vibur.objectpool.util.ConcurrentCollection;
 import org.vibur.objectpool.util.ConcurrentLinkedDequeCollection;
@@ -96,6 +99,13 @@ public abstract class ViburConfig {
      * If set to {@code 0}, will validate the connection always when it is taken from the pool.
      * If set to a negative number, will never validate the taken from the pool connection. */
     private int connectionIdleLimitInSeconds = 5;
+    /** If greater than {@code 0}, a background thread will validate, every {@code idleValidationIntervalInSeconds},
+     * the connections that have stayed idle in the pool for at least that long, using the {@link #testConnectionQuery}.
+     * The validated connections are marked as freshly restored in the pool, and the connections that fail
+     * the validation are destroyed when next taken. When this interval is set to less than half of
+     * the {@link #connectionIdleLimitInSeconds}, the application threads will not need to validate the connections
+     * which they take from the pool. {@code 0} disables the background validation. */
+    private int idleValidationIntervalInSeconds = 0;
     /** The timeout that will be passed to the call to {@link #testConnectionQuery} when a taken
      * from the pool JDBC Connection is validated before use, or when {@link #initSQL} is executed (if specified).
      * {@code 0} means no limit. */
@@ -145,14 +155,75 @@ public abstract class ViburConfig {
     private int poolInitialSize = 5;
     /** The pool max size, i.e. the maximum number of JDBC Connections allocated in this pool. */
     private int poolMaxSize = 50;
+    /** The number of threads which create the initial JDBC Connections of the pool in parallel, when the pool is
+     * started. {@code 1} means that the initial connections are created serially, on the thread which calls
+     * {@code start()}. */
+    private int poolInitialFillThreads = 1;
+    /** The number of the initial JDBC Connections which must be created before {@code start()} returns. The rest of
+     * the {@link #poolInitialSize} connections are created in the background, via {@link #poolInitialFillThreads}
+     * threads, and are added to the pool when it next needs to grow. Note that the pool will not be reduced below
+     * this number of connections. A negative value means all of the {@link #poolInitialSize} connections. */
+    private int poolInitialReadySize = -1;
+    /** If greater than {@code 0}, up to these many spare JDBC Connections will be created asynchronously, ahead of
+     * demand, on a dedicated executor. When the pool needs to grow, it takes a spare connection (waiting for its
+     * creation to complete if needed) instead of creating a new connection on the thread that called
+     * {@code getConnection()}, and a replacement spare connection is created in the background. The number of
+     * the pool connections plus the number of the spare connections never exceeds the {@link #poolMaxSize}.
+     * {@code 0} disables the asynchronous connection creation. */
+    private int poolHeadroomSize = 0;
     /** If {@code true}, guarantees that the threads invoking the pool's {@link org.vibur.objectpool.PoolService#take}
      * methods will be selected to obtain a connection from it in FIFO order, and no thread will be starved out from
      * accessing the pool's underlying resources. */
     private boolean poolFair = true;
+    /** If {@code true}, the {@code getConnection()} calls which cannot take a connection from the pool immediately
+     * are queued in one lane per {@link ViburDataSource.Priority priority}, and the restored connections are handed
+     * to the queued calls of the highest priority first, see {@link ViburDataSource#getConnection(ViburDataSource.Priority)}.
+     * The calls of {@code getConnection()} without a priority have the {@code NORMAL} priority. If {@code false},
+     * the priorities are ignored and the waiting calls are served as per {@link #poolFair}. */
+    private boolean poolEnablePriorityLanes = false;
+    /** Applies to the queued {@code getConnection()} calls with a priority and to the {@code getConnectionAsync()}
+     * requests. A queued call which has waited for longer than this limit is served before the calls of the higher
+     * priorities, so that the calls of the lower priorities are not starved out; if several calls have waited for
+     * longer than it, the oldest is served first. {@code 0} disables the starvation protection. */
+    private long poolPriorityStarvationLimitInMs = 1000;
+    /** If set, bulkheads the workloads which share the pool into named partitions. The format is a comma separated
+     * list of {@code name:minReserved:maxBorrowable}, e.g. {@code web:5:20,batch:0:4}. The {@code minReserved} is
+     * the number of the pool connections which can be taken only by the given partition, and the
+     * {@code maxBorrowable} is the max number of the connections which the partition can hold taken at the same
+     * time; when either limit is reached, the {@code getConnection()} calls of the partition wait, within the
+     * {@link #connectionTimeoutInMs}, for a connection of the partition to be restored. The sum of the reserves
+     * must not exceed the {@link #poolMaxSize}. The connections are requested for a partition via
+     * {@link ViburDataSource#getConnection(String)}; the other calls of {@code getConnection()} and
+     * {@code getConnectionAsync()} are served by the partition named {@code default}, which, unless configured,
+     * has no reserve and can take up to {@link #poolMaxSize} connections. {@code null} disables the partitions. */
+    private String poolPartitions = null;
     /** If {@code true}, the pool will keep information for the current stack trace of every taken connection plus
      * timing information about the connection last use, taken time, etc. See also {@link #logTakenConnectionsOnTimeout}
      * and {@link TakenConnection}. */
     private boolean poolEnableConnectionTracking = false;
+    /** Applies only if {@link #poolEnableConnectionTracking} is enabled. The stack trace at the moment when
+     * a connection is taken is captured for approximately 1 in this many takes; the capturing of the stack trace is
+     * by far the most expensive part of the connection tracking. {@code 1} captures it on every take, and {@code 0}
+     * never captures it. For the connections taken without capturing the stack trace,
+     * {@link TakenConnection#getLocation()} is {@code null}, and only the current stack trace of the thread holding
+     * the connection is reported. */
+    private int poolConnectionTrackingSampleRate = 1;
+    /** Applies only if {@link #poolEnableConnectionTracking} is enabled. If {@code false}, the time of the last
+     * method invocation on each taken connection is not tracked, which saves a {@code System.nanoTime()} call
+     * on every JDBC method invocation on the connection. */
+    private boolean poolConnectionTrackingLastAccess = true;
+    /** If greater than {@code 0}, a background thread will periodically scan the taken connections and will report
+     * at WARN level, once per connection, the connections which have been held by the application for longer than
+     * this threshold, together with their taken stack traces if captured. {@code 0} disables the leak detection.
+     * If enabled, implies that the {@link #poolEnableConnectionTracking} option is enabled. */
+    private int leakDetectionThresholdInSeconds = 0;
+    /** If greater than {@code 0}, the taken connections which have been held by the application for longer than
+     * this threshold are considered abandoned, and are forcibly closed and destroyed by the background thread
+     * described in {@link #leakDetectionThresholdInSeconds}, so that a leaking code path cannot exhaust the pool.
+     * The subsequent operations of the application on a reclaimed connection fail with an SQLException. Should be
+     * set well above the longest legitimate connection hold time. {@code 0} disables the reclaim. If enabled,
+     * implies that the {@link #poolEnableConnectionTracking} option is enabled. */
+    private int leakReclaimThresholdInSeconds = 0;
 
     private PoolService<ConnHolder> pool = null;
     private ConcurrentCollection<ConnHolder> concurrentCollection = new ConcurrentLinkedDequeCollection<>();
@@ -176,6 +247,19 @@ public abstract class ViburConfig {
      * {@link #reducerTimeIntervalInSeconds} period in order to sample various information from this pool. */
     private int reducerSamples = 15;
 
+    /** If greater than {@code 0}, a background thread will adapt the number of the created JDBC Connections to
+     * the measured demand every these many seconds, between the {@link #poolInitialSize} and the
+     * {@link #poolMaxSize}: it grows the pool proactively when the {@code getConnection()} calls wait for longer than
+     * the {@link #adaptiveSizingTargetWaitInMs} or time out, and shrinks it gradually otherwise, but not below the
+     * Little's law estimate (the rate of the {@code getConnection()} calls times the mean connection hold time) of
+     * the needed connections. See {@link org.vibur.dbcp.pool.AdaptivePoolSizer}. If enabled, replaces the
+     * {@code poolReducer}, i.e. implies that the {@link #reducerTimeIntervalInSeconds} is {@code 0}.
+     * {@code 0} disables the adaptive pool sizing. */
+    private int adaptiveSizingIntervalInSeconds = 0;
+    /** Applies only if the {@link #adaptiveSizingIntervalInSeconds} is enabled. The mean time for which the
+     * {@code getConnection()} calls may wait without the pool being grown. */
+    private long adaptiveSizingTargetWaitInMs = 5;
+
 
     /** In rare circumstances, the application may need to obtain a non-pooled connection from the pool
      * after the pool has been terminated. This may happen as part of some post-caching or application
@@ -187,6 +271,18 @@ public abstract class ViburConfig {
      * the call to {@link java.sql.Wrapper#isWrapperFor} on any of these objects will always return {@code false}. */
     private boolean allowUnwrapping = true;
 
+    /** If {@code true}, the JDBC {@code Connection}, {@code Statement}, {@code PreparedStatement},
+     * {@code CallableStatement}, {@code DatabaseMetaData} and {@code ResultSet} objects returned by the pool will be
+     * concrete delegating classes that call the underlying (raw) JDBC objects directly, instead of
+     * {@link java.lang.reflect.Proxy dynamic proxies}. The delegating proxies avoid the reflective method dispatch,
+     * the {@code Object[]} arguments allocation and the boxing of primitive arguments and results on every JDBC call.
+     *
+     * <p>The {@link Hook.MethodInvocation} hooks are not supported by the delegating proxies; if any such hooks are
+     * registered, this option will be reset to {@code false} when the pool starts. The delegating proxies implement
+     * the JDBC 4.1 interfaces; methods added to the JDBC interfaces by later JDBC versions (as interface default
+     * methods) are not delegated. */
+    private boolean useDelegatingProxies = false;
+
 
     private static final AtomicInteger idGenerator = new AtomicInteger(1);
     private final String defaultName = "p" + idGenerator.getAndIncrement();
@@ -222,19 +318,52 @@ public abstract class ViburConfig {
     /** After attempting to lazily create a JDBC Connection as part of the {@code DataSource.getConnection()} flow
      * and failing with an {@code SQLException}, retry maximum these many times before giving up. */
     private int acquireRetryAttempts = 3;
+    /** If greater than {@code 0}, at most these many JDBC Connections can be created concurrently; the other threads
+     * which need to create a connection wait in FIFO order, for up to {@link #connectionTimeoutInMs}. This limits
+     * the reconnect storms that can hit the database after a failover, when all connections of the pool are
+     * destroyed and many application threads try to create new connections at the same time.
+     * {@code 0} means no limit. */
+    private int connectionCreateMaxConcurrency = 0;
 
 
     /** Defines the maximum statement cache size. {@code 0} disables it, max values is {@link #STATEMENT_CACHE_MAX_SIZE}.
-     * If the statement's cache is not enabled, the client application may safely exclude the dependency
-     * on ConcurrentLinkedCacheMap from its pom.xml file. */
+     * If the statement's cache is not enabled, or if the {@link #statementCacheClass} is not the {@link ClhmStatementCache},
+     * the client application may safely exclude the dependency on ConcurrentLinkedCacheMap from its pom.xml file. */
     private int statementCacheMaxSize = 0;
+    /** The fully qualified statement cache class name. This statement cache class will be instantiated via
+     * reflection; it will be created only if {@link #statementCacheMaxSize} is greater than {@code 0}. It must
+     * implement the {@link StatementCache} interface and must also have a public constructor accepting a single
+     * argument of type {@code int}, which is the {@code statementCacheMaxSize}. The available implementations are
+     * {@link ClhmStatementCache}, which keeps all cached statements in one ConcurrentLinkedHashMap shared by all
+     * connections, {@link ConnectionStatementCache}, which keeps a separate LRU map for each connection
+     * within the global {@code statementCacheMaxSize} budget, and {@link TinyLfuStatementCache}, which uses
+     * a frequency-aware admission policy so that bursts of unique SQL queries do not evict the frequently used
+     * statements. */
+    private String statementCacheClass = ClhmStatementCache.class.getName();
+    /** The maximum number of statements cached for the same prepare method, SQL query and connection. When
+     * the cached statement is in use, e.g. when the application prepares the same SQL query again before closing
+     * the previous statement, the next statement instance for this SQL query is taken from or put in the cache,
+     * up to this maximum; beyond it an uncached statement is created and closed on use. If greater than {@code 1},
+     * the {@link #statementCacheClass} must have a public constructor accepting two arguments of type {@code int},
+     * which are the {@code statementCacheMaxSize} and this value. */
+    private int statementCacheMaxInstancesPerSql = 1;
     private StatementCache statementCache = null;
 
 
     /** The list of critical SQL states as a comma separated values, see http://stackoverflow.com/a/14412929/1682918 .
      * If an SQL exception that has any of these SQL states occurs then all connections in the pool will be
-     * considered invalid and will be closed. */
+     * considered invalid and will be closed, unless {@link #rollingDrainOnCriticalSQLState} is enabled. */
     private String criticalSQLStates = "08001,08006,08007,08S01,57P01,57P02,57P03,JZ0C0,JZ0C1";
+    /** If {@code true}, when an SQL exception that has any of the {@link #criticalSQLStates} occurs, only the
+     * connection on which it occurred is closed, and the idle connections in the pool are validated in the background
+     * using the {@link #testConnectionQuery}, at a rate of up to {@link #rollingDrainValidationsPerSecond}. Only the
+     * connections which fail the validation are closed (when next taken), and they are replaced on demand. This
+     * avoids the reconnect storm caused by closing all connections in the pool when, for example, a single socket is
+     * broken. If {@code false}, all connections in the pool are closed. */
+    private boolean rollingDrainOnCriticalSQLState = false;
+    /** The maximum number of connections per second which are validated by the rolling drain, see
+     * {@link #rollingDrainOnCriticalSQLState}. */
+    private int rollingDrainValidationsPerSecond = 10;
 
 
     /** {@code Datasource.getConnection()} method calls taking longer than or equal to this time limit are logged at
@@ -286,6 +415,24 @@ public abstract class ViburConfig {
      * collection can be useful if there are specific compliance requirements for the user application. */
     private boolean includeQueryParameters = true;
 
+    /** If {@code true}, enables the latency histograms of the {@code getConnection()} wait time, of the time for
+     * which the connections are held by the application, and of the SQL query execution time. Their percentiles
+     * are reported via JMX. The recording of the latencies is lock-free and allocation-free. */
+    private boolean enableLatencyHistograms = false;
+    /** If greater than {@code 0}, enables the aggregation of the SQL query execution statistics per normalized SQL
+     * query: the number of calls, the total and the max execution time, the number of retrieved rows and the number
+     * of failed executions. Up to these many normalized SQL queries are tracked, and the SQL queries with the highest
+     * total execution time are reported via JMX. {@code 0} disables the SQL statistics. */
+    private int sqlStatisticsMaxSize = 0;
+    /** The fully qualified metrics class name. This metrics class will be instantiated via reflection, unless
+     * a {@link #metrics} instance is set programmatically. It must implement the {@link ViburMetrics} interface and
+     * must also have a public no-arguments constructor. The built-in {@link ViburMetrics.Default} counts the pool
+     * events in allocation-free striped counters. {@code null} disables the metrics, which is the default. */
+    private String metricsClass = null;
+    /** The metrics implementation to which the pool events are emitted; for example, an implementation which binds
+     * the pool events to the meters of a Micrometer or a Dropwizard Metrics registry. */
+    private ViburMetrics metrics = null;
+
     /** If set to {@code true}, and if the {@link #connectionTimeoutInMs} is reached and the call to
      * {@code getConnection()} fails with throwing an {@code SQLTimeoutException}, will log at WARN level information
      * about all currently taken connections, including the stack traces of the threads that have taken them, plus
@@ -428,6 +575,14 @@ public abstract class ViburConfig {
         this.connectionIdleLimitInSeconds = connectionIdleLimitInSeconds;
     }
 
+    public int getIdleValidationIntervalInSeconds() {
+        return idleValidationIntervalInSeconds;
+    }
+
+    public void setIdleValidationIntervalInSeconds(int idleValidationIntervalInSeconds) {
+        this.idleValidationIntervalInSeconds = idleValidationIntervalInSeconds;
+    }
+
     public int getValidateTimeoutInSeconds() {
         return validateTimeoutInSeconds;
     }
@@ -484,6 +639,30 @@ public abstract class ViburConfig {
         this.poolMaxSize = poolMaxSize;
     }
 
+    public int getPoolInitialFillThreads() {
+        return poolInitialFillThreads;
+    }
+
+    public void setPoolInitialFillThreads(int poolInitialFillThreads) {
+        this.poolInitialFillThreads = poolInitialFillThreads;
+    }
+
+    public int getPoolInitialReadySize() {
+        return poolInitialReadySize;
+    }
+
+    public void setPoolInitialReadySize(int poolInitialReadySize) {
+        this.poolInitialReadySize = poolInitialReadySize;
+    }
+
+    public int getPoolHeadroomSize() {
+        return poolHeadroomSize;
+    }
+
+    public void setPoolHeadroomSize(int poolHeadroomSize) {
+        this.poolHeadroomSize = poolHeadroomSize;
+    }
+
     public boolean isPoolFair() {
         return poolFair;
     }
@@ -492,6 +671,30 @@ public abstract class ViburConfig {
         this.poolFair = poolFair;
     }
 
+    public boolean isPoolEnablePriorityLanes() {
+        return poolEnablePriorityLanes;
+    }
+
+    public void setPoolEnablePriorityLanes(boolean poolEnablePriorityLanes) {
+        this.poolEnablePriorityLanes = poolEnablePriorityLanes;
+    }
+
+    public long getPoolPriorityStarvationLimitInMs() {
+        return poolPriorityStarvationLimitInMs;
+    }
+
+    public void setPoolPriorityStarvationLimitInMs(long poolPriorityStarvationLimitInMs) {
+        this.poolPriorityStarvationLimitInMs = poolPriorityStarvationLimitInMs;
+    }
+
+    public String getPoolPartitions() {
+        return poolPartitions;
+    }
+
+    public void setPoolPartitions(String poolPartitions) {
+        this.poolPartitions = poolPartitions;
+    }
+
     public boolean isPoolEnableConnectionTracking() {
         return poolEnableConnectionTracking;
     }
@@ -500,6 +703,38 @@ public abstract class ViburConfig {
         this.poolEnableConnectionTracking = poolEnableConnectionTracking;
     }
 
+    public int getPoolConnectionTrackingSampleRate() {
+        return poolConnectionTrackingSampleRate;
+    }
+
+    public void setPoolConnectionTrackingSampleRate(int poolConnectionTrackingSampleRate) {
+        this.poolConnectionTrackingSampleRate = poolConnectionTrackingSampleRate;
+    }
+
+    public boolean isPoolConnectionTrackingLastAccess() {
+        return poolConnectionTrackingLastAccess;
+    }
+
+    public void setPoolConnectionTrackingLastAccess(boolean poolConnectionTrackingLastAccess) {
+        this.poolConnectionTrackingLastAccess = poolConnectionTrackingLastAccess;
+    }
+
+    public int getLeakDetectionThresholdInSeconds() {
+        return leakDetectionThresholdInSeconds;
+    }
+
+    public void setLeakDetectionThresholdInSeconds(int leakDetectionThresholdInSeconds) {
+        this.leakDetectionThresholdInSeconds = leakDetectionThresholdInSeconds;
+    }
+
+    public int getLeakReclaimThresholdInSeconds() {
+        return leakReclaimThresholdInSeconds;
+    }
+
+    public void setLeakReclaimThresholdInSeconds(int leakReclaimThresholdInSeconds) {
+        this.leakReclaimThresholdInSeconds = leakReclaimThresholdInSeconds;
+    }
+
     public PoolService<ConnHolder> getPool() {
         return pool;
     }
@@ -564,6 +799,22 @@ public abstract class ViburConfig {
         this.reducerSamples = reducerSamples;
     }
 
+    public int getAdaptiveSizingIntervalInSeconds() {
+        return adaptiveSizingIntervalInSeconds;
+    }
+
+    public void setAdaptiveSizingIntervalInSeconds(int adaptiveSizingIntervalInSeconds) {
+        this.adaptiveSizingIntervalInSeconds = adaptiveSizingIntervalInSeconds;
+    }
+
+    public long getAdaptiveSizingTargetWaitInMs() {
+        return adaptiveSizingTargetWaitInMs;
+    }
+
+    public void setAdaptiveSizingTargetWaitInMs(long adaptiveSizingTargetWaitInMs) {
+        this.adaptiveSizingTargetWaitInMs = adaptiveSizingTargetWaitInMs;
+    }
+
     public boolean isAllowConnectionAfterTermination() {
         return allowConnectionAfterTermination;
     }
@@ -580,6 +831,14 @@ public abstract class ViburConfig {
         this.allowUnwrapping = allowUnwrapping;
     }
 
+    public boolean isUseDelegatingProxies() {
+        return useDelegatingProxies;
+    }
+
+    public void setUseDelegatingProxies(boolean useDelegatingProxies) {
+        this.useDelegatingProxies = useDelegatingProxies;
+    }
+
     public String getName() {
         return name;
     }
@@ -645,6 +904,14 @@ public abstract class ViburConfig {
         this.acquireRetryAttempts = acquireRetryAttempts;
     }
 
+    public int getConnectionCreateMaxConcurrency() {
+        return connectionCreateMaxConcurrency;
+    }
+
+    public void setConnectionCreateMaxConcurrency(int connectionCreateMaxConcurrency) {
+        this.connectionCreateMaxConcurrency = connectionCreateMaxConcurrency;
+    }
+
     public int getStatementCacheMaxSize() {
         return statementCacheMaxSize;
     }
@@ -653,6 +920,22 @@ public abstract class ViburConfig {
         this.statementCacheMaxSize = statementCacheMaxSize;
     }
 
+    public String getStatementCacheClass() {
+        return statementCacheClass;
+    }
+
+    public void setStatementCacheClass(String statementCacheClass) {
+        this.statementCacheClass = statementCacheClass;
+    }
+
+    public int getStatementCacheMaxInstancesPerSql() {
+        return statementCacheMaxInstancesPerSql;
+    }
+
+    public void setStatementCacheMaxInstancesPerSql(int statementCacheMaxInstancesPerSql) {
+        this.statementCacheMaxInstancesPerSql = statementCacheMaxInstancesPerSql;
+    }
+
     public StatementCache getStatementCache() {
         return statementCache;
     }
@@ -669,6 +952,22 @@ public abstract class ViburConfig {
         this.criticalSQLStates = criticalSQLStates;
     }
 
+    public boolean isRollingDrainOnCriticalSQLState() {
+        return rollingDrainOnCriticalSQLState;
+    }
+
+    public void setRollingDrainOnCriticalSQLState(boolean rollingDrainOnCriticalSQLState) {
+        this.rollingDrainOnCriticalSQLState = rollingDrainOnCriticalSQLState;
+    }
+
+    public int getRollingDrainValidationsPerSecond() {
+        return rollingDrainValidationsPerSecond;
+    }
+
+    public void setRollingDrainValidationsPerSecond(int rollingDrainValidationsPerSecond) {
+        this.rollingDrainValidationsPerSecond = rollingDrainValidationsPerSecond;
+    }
+
     public long getLogConnectionLongerThanMs() {
         return logConnectionLongerThanMs;
     }
@@ -725,6 +1024,38 @@ public abstract class ViburConfig {
         this.includeQueryParameters = includeQueryParameters;
     }
 
+    public boolean isEnableLatencyHistograms() {
+        return enableLatencyHistograms;
+    }
+
+    public void setEnableLatencyHistograms(boolean enableLatencyHistograms) {
+        this.enableLatencyHistograms = enableLatencyHistograms;
+    }
+
+    public int getSqlStatisticsMaxSize() {
+        return sqlStatisticsMaxSize;
+    }
+
+    public void setSqlStatisticsMaxSize(int sqlStatisticsMaxSize) {
+        this.sqlStatisticsMaxSize = sqlStatisticsMaxSize;
+    }
+
+    public String getMetricsClass() {
+        return metricsClass;
+    }
+
+    public void setMetricsClass(String metricsClass) {
+        this.metricsClass = metricsClass;
+    }
+
+    public ViburMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(ViburMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     public boolean isLogTakenConnectionsOnTimeout() {
         return logTakenConnectionsOnTimeout;
     }
@@ -822,14 +1153,23 @@ public abstract class ViburConfig {
                 ", externalDataSource = " + externalDataSource +
                 ", poolInitialSize = " + poolInitialSize +
                 ", poolMaxSize = " + poolMaxSize +
+                ", poolInitialFillThreads = " + poolInitialFillThreads +
+                ", poolInitialReadySize = " + poolInitialReadySize +
+                ", poolHeadroomSize = " + poolHeadroomSize +
                 ", poolFair = " + poolFair +
+                ", poolEnablePriorityLanes = " + poolEnablePriorityLanes +
+                ", poolPriorityStarvationLimitInMs = " + poolPriorityStarvationLimitInMs +
+                ", poolPartitions = " + poolPartitions +
                 ", pool = " + pool +
                 ", name = " + name +
                 ", connectionTimeoutInMs = " + connectionTimeoutInMs +
                 ", loginTimeoutInSeconds = " + loginTimeoutInSeconds +
                 ", acquireRetryDelayInMs = " + acquireRetryDelayInMs +
                 ", acquireRetryAttempts = " + acquireRetryAttempts +
+                ", connectionCreateMaxConcurrency = " + connectionCreateMaxConcurrency +
                 ", statementCacheMaxSize = " + statementCacheMaxSize +
+                ", statementCacheClass = " + statementCacheClass +
+                ", statementCacheMaxInstancesPerSql = " + statementCacheMaxInstancesPerSql +
                 ']';
     }
 }
@@ -19,9 +19,15 @@ package org.vibur.dbcp;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vibur.dbcp.pool.*;
-import org.vibur.dbcp.stcache.ClhmStatementCache;
+import org.vibur.dbcp.pool.ConnectionPartitions.Partition;
+import org.vibur.dbcp.pool.HookHolder.InvocationHooksAccessor;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementCacheStats;
+import org.vibur.dbcp.stcache.StatementCacheStatsSource;
+import org.vibur.dbcp.util.LatencyHistogram;
 import org.vibur.objectpool.ConcurrentPool;
 import org.vibur.objectpool.PoolService;
+import org.vibur.objectpool.util.ConcurrentCollection;
 import org.vibur.objectpool.util.ThreadedPoolReducer;
 
 import java.io.IOException;
@@ -35,6 +41,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static java.lang.Boolean.parseBoolean;
@@ -75,6 +82,17 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
     private final AtomicReference<State> state = new AtomicReference<>(NEW);
 
     private PoolOperations poolOperations;
+    private IdleConnectionValidator idleConnectionValidator = null;
+    private RollingDrainer rollingDrainer = null;
+    private LeakDetector leakDetector = null;
+    private ConnectionPartitions connectionPartitions = null;
+    private AdaptivePoolSizer adaptivePoolSizer = null;
+
+    private LatencyHistogram getConnectionLatency = null;
+    private LatencyHistogram connectionHoldLatency = null;
+    private LatencyHistogram queryLatency = null;
+    private SqlStatistics sqlStatistics = null;
+    private AsyncConnectionCreator asyncConnectionCreator = null;
 
     /**
      * Default constructor for programmatic configuration via the {@code ViburConfig}
@@ -226,6 +244,8 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
             throw new IllegalStateException();
 
         validateConfig();
+        if (getPoolPartitions() != null) // validates the partitions, too
+            connectionPartitions = new ConnectionPartitions(getPoolPartitions(), getPoolMaxSize());
 
         if (getExternalDataSource() == null)
             initJdbcDriver();
@@ -233,6 +253,9 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
             setConnector(buildConnector(this, getUsername(), getPassword()));
 
         initDefaultHooks();
+        initMetrics();
+        if (getAdaptiveSizingIntervalInSeconds() > 0) // registers its hooks
+            adaptivePoolSizer = new AdaptivePoolSizer(this);
 
         ViburObjectFactory connectionFactory = getConnectionFactory();
         if (connectionFactory == null)
@@ -242,16 +265,28 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
             if (isPoolEnableConnectionTracking() && getTakenConnectionsFormatter() == null)
                 setTakenConnectionsFormatter(new TakenConnectionsFormatter.Default(this));
 
-            pool = new ConcurrentPool<>(getConcurrentCollection(), connectionFactory,
-                    getPoolInitialSize(), getPoolMaxSize(), isPoolFair(),
+            int poolInitialSize = prefillInitialConnections(connectionFactory);
+            ConcurrentCollection<ConnHolder> available = getConcurrentCollection();
+            if (getIdleValidationIntervalInSeconds() > 0 || isRollingDrainOnCriticalSQLState())
+                available = new ValidationSkippingCollection(available);
+            pool = new ConcurrentPool<>(available, connectionFactory,
+                    poolInitialSize, getPoolMaxSize(), isPoolFair(),
                     isPoolEnableConnectionTracking() ? new ViburListener(this) : null);
             setPool(pool);
         }
-        poolOperations = new PoolOperations(this, connectionFactory, pool);
+        initRollingDrainer(connectionFactory);
+        poolOperations = new PoolOperations(this, connectionFactory, pool, rollingDrainer);
 
         initPoolReducer();
+        initIdleConnectionValidator(connectionFactory);
+        initAsyncConnectionCreator(connectionFactory);
+        initLeakDetector();
+        if (adaptivePoolSizer != null)
+            adaptivePoolSizer.start(asyncConnectionCreator);
         initStatementCache();
 
+        if (getMetrics() != null)
+            getMetrics().bind(this);
         if (isEnableJMX())
             registerMBean(this);
     }
@@ -265,9 +300,21 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
         if (getPool() != null)
             getPool().terminate();
         TakenConnection[] takenConnections = getTakenConnections();
+        if (poolOperations != null)
+            poolOperations.terminate();
 
         if (getPoolReducer() != null)
             getPoolReducer().terminate();
+        if (idleConnectionValidator != null)
+            idleConnectionValidator.terminate();
+        if (rollingDrainer != null)
+            rollingDrainer.terminate();
+        if (leakDetector != null)
+            leakDetector.terminate();
+        if (adaptivePoolSizer != null)
+            adaptivePoolSizer.terminate();
+        if (asyncConnectionCreator != null)
+            asyncConnectionCreator.terminate();
         if (getStatementCache() != null)
             getStatementCache().close();
 
@@ -294,11 +341,26 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
         forbidIllegalArgument(getExternalDataSource() == null && getJdbcUrl() == null);
         forbidIllegalArgument(getAcquireRetryDelayInMs() < 0);
         forbidIllegalArgument(getAcquireRetryAttempts() < 0);
+        forbidIllegalArgument(getConnectionCreateMaxConcurrency() < 0);
         forbidIllegalArgument(getConnectionTimeoutInMs() < 0);
         forbidIllegalArgument(getLoginTimeoutInSeconds() < 0);
         forbidIllegalArgument(getStatementCacheMaxSize() < 0 && getStatementCache() == null);
+        forbidIllegalArgument(getStatementCacheMaxSize() > 0 && getStatementCacheClass() == null && getStatementCache() == null);
+        forbidIllegalArgument(getStatementCacheMaxInstancesPerSql() <= 0);
         forbidIllegalArgument(getReducerTimeIntervalInSeconds() > 0 && getPoolReducerClass() == null && getPoolReducer() == null);
         forbidIllegalArgument(getReducerSamples() <= 0);
+        forbidIllegalArgument(getAdaptiveSizingIntervalInSeconds() < 0);
+        forbidIllegalArgument(getAdaptiveSizingTargetWaitInMs() < 0);
+        forbidIllegalArgument(getIdleValidationIntervalInSeconds() < 0);
+        forbidIllegalArgument(getPoolInitialFillThreads() <= 0);
+        forbidIllegalArgument(getPoolHeadroomSize() < 0);
+        forbidIllegalArgument(getPoolPriorityStarvationLimitInMs() < 0);
+        forbidIllegalArgument(getPoolConnectionTrackingSampleRate() < 0);
+        forbidIllegalArgument(getLeakDetectionThresholdInSeconds() < 0);
+        forbidIllegalArgument(getLeakReclaimThresholdInSeconds() < 0);
+        forbidIllegalArgument(getRollingDrainValidationsPerSecond() <= 0);
+        forbidIllegalArgument(getSqlStatisticsMaxSize() < 0);
+        forbidIllegalArgument(isRollingDrainOnCriticalSQLState() && getTestConnectionQuery() == null);
         forbidIllegalArgument(getConnectionIdleLimitInSeconds() >= 0 && getTestConnectionQuery() == null);
         forbidIllegalArgument(getValidateTimeoutInSeconds() < 0);
         forbidIllegalArgument(isUseNetworkTimeout() && getNetworkTimeoutExecutor() == null);
@@ -316,14 +378,34 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
             logger.info("Setting logConnectionLongerThanMs to {}", getConnectionTimeoutInMs());
             setLogConnectionLongerThanMs(getConnectionTimeoutInMs());
         }
-        if (isLogTakenConnectionsOnTimeout() && !isPoolEnableConnectionTracking()) {
+        if ((isLogTakenConnectionsOnTimeout() || getLeakDetectionThresholdInSeconds() > 0
+                || getLeakReclaimThresholdInSeconds() > 0) && !isPoolEnableConnectionTracking()) {
             logger.info("Setting poolEnableConnectionTracking to true");
             setPoolEnableConnectionTracking(true);
         }
+        if (getPoolInitialReadySize() < 0) {
+            setPoolInitialReadySize(getPoolInitialSize());
+        } else if (getPoolInitialReadySize() > getPoolInitialSize()) {
+            logger.info("Setting poolInitialReadySize to {}", getPoolInitialSize());
+            setPoolInitialReadySize(getPoolInitialSize());
+        }
+        if (getAdaptiveSizingIntervalInSeconds() > 0 && getReducerTimeIntervalInSeconds() > 0) {
+            logger.info("Setting reducerTimeIntervalInSeconds to 0");
+            setReducerTimeIntervalInSeconds(0);
+        }
+        if (getPoolHeadroomSize() > getPoolMaxSize()) {
+            logger.info("Setting poolHeadroomSize to {}", getPoolMaxSize());
+            setPoolHeadroomSize(getPoolMaxSize());
+        }
         if (getStatementCacheMaxSize() > STATEMENT_CACHE_MAX_SIZE) {
             logger.info("Setting statementCacheMaxSize to {}", STATEMENT_CACHE_MAX_SIZE);
             setStatementCacheMaxSize(STATEMENT_CACHE_MAX_SIZE);
         }
+        if (isUseDelegatingProxies() &&
+                ((InvocationHooksAccessor) getInvocationHooks()).onMethodInvocation().length > 0) {
+            logger.info("Setting useDelegatingProxies to false as MethodInvocation hooks are registered");
+            setUseDelegatingProxies(false);
+        }
 
         if (getDefaultTransactionIsolation() != null) {
             String defaultTransactionIsolation = getDefaultTransactionIsolation().toUpperCase();
@@ -371,6 +453,27 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
 
         getInvocationHooks().addOnStatementExecution(new DefaultHook.QueryTiming(this));
         getInvocationHooks().addOnResultSetRetrieval(new DefaultHook.ResultSetSize(this));
+
+        if (isEnableLatencyHistograms()) {
+            getConnHooks().addOnGet(new DefaultHook.GetConnectionLatency(this, getConnectionLatency = new LatencyHistogram()));
+            getConnHooks().addOnClose(new DefaultHook.ConnectionHoldLatency(this, connectionHoldLatency = new LatencyHistogram()));
+            getInvocationHooks().addOnStatementExecution(new DefaultHook.QueryLatency(this, queryLatency = new LatencyHistogram()));
+        }
+        if (getSqlStatisticsMaxSize() > 0) {
+            sqlStatistics = new SqlStatistics(getSqlStatisticsMaxSize());
+            getInvocationHooks().addOnStatementExecution(new DefaultHook.QueryStatistics(this, sqlStatistics));
+            getInvocationHooks().addOnResultSetRetrieval(new DefaultHook.ResultSetStatistics(this, sqlStatistics));
+        }
+    }
+
+    private void initMetrics() throws ViburDBCPException {
+        if (getMetrics() == null && getMetricsClass() != null) {
+            try {
+                setMetrics((ViburMetrics) Class.forName(getMetricsClass()).newInstance());
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new ViburDBCPException(e);
+            }
+        }
     }
 
     private void initPoolReducer() throws ViburDBCPException {
@@ -387,18 +490,117 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
         }
     }
 
-    private void initStatementCache() {
+    private void initIdleConnectionValidator(ViburObjectFactory connectionFactory) {
+        if (getIdleValidationIntervalInSeconds() > 0) {
+            if (!(connectionFactory instanceof ConnectionFactory)) {
+                logger.warn("idleValidationIntervalInSeconds is ignored as the connectionFactory is not a {}",
+                        ConnectionFactory.class.getName());
+                return;
+            }
+            idleConnectionValidator = new IdleConnectionValidator(this, (ConnectionFactory) connectionFactory);
+            idleConnectionValidator.start();
+        }
+    }
+
+    private void initRollingDrainer(ViburObjectFactory connectionFactory) {
+        if (isRollingDrainOnCriticalSQLState()) {
+            if (!(connectionFactory instanceof ConnectionFactory)) {
+                logger.warn("rollingDrainOnCriticalSQLState is ignored as the connectionFactory is not a {}",
+                        ConnectionFactory.class.getName());
+                return;
+            }
+            rollingDrainer = new RollingDrainer(this, (ConnectionFactory) connectionFactory);
+            rollingDrainer.start();
+        }
+    }
+
+    private void initLeakDetector() {
+        if (getLeakDetectionThresholdInSeconds() > 0 || getLeakReclaimThresholdInSeconds() > 0) {
+            leakDetector = new LeakDetector(this);
+            leakDetector.start();
+        }
+    }
+
+    /**
+     * Requests the parallel creation of the pool initial connections, if configured.
+     *
+     * @return the number of the initial connections which the pool needs to take during its construction
+     */
+    private int prefillInitialConnections(ViburObjectFactory connectionFactory) {
+        int poolInitialSize = getPoolInitialSize();
+        if (getPoolInitialFillThreads() > 1 || getPoolInitialReadySize() < poolInitialSize) {
+            if (!(connectionFactory instanceof ConnectionFactory)) {
+                logger.warn("poolInitialFillThreads and poolInitialReadySize are ignored as the connectionFactory "
+                        + "is not a {}", ConnectionFactory.class.getName());
+                return poolInitialSize;
+            }
+            asyncConnectionCreator = new AsyncConnectionCreator(this, (ConnectionFactory) connectionFactory);
+            asyncConnectionCreator.prefill(poolInitialSize);
+            return getPoolInitialReadySize();
+        }
+        return poolInitialSize;
+    }
+
+    private void initAsyncConnectionCreator(ViburObjectFactory connectionFactory) {
+        if (asyncConnectionCreator == null && (getPoolHeadroomSize() > 0 || adaptivePoolSizer != null)) {
+            if (!(connectionFactory instanceof ConnectionFactory)) {
+                logger.warn("poolHeadroomSize and the proactive creation of connections by the adaptive pool sizing "
+                        + "are ignored as the connectionFactory is not a {}", ConnectionFactory.class.getName());
+                return;
+            }
+            asyncConnectionCreator = new AsyncConnectionCreator(this, (ConnectionFactory) connectionFactory);
+        }
+        if (asyncConnectionCreator != null)
+            asyncConnectionCreator.start();
+    }
+
+    private void initStatementCache() throws ViburDBCPException {
         int statementCacheMaxSize = getStatementCacheMaxSize();
-        if (statementCacheMaxSize > 0 && getStatementCache() == null)
-            setStatementCache(new ClhmStatementCache(statementCacheMaxSize));
+        if (statementCacheMaxSize > 0 && getStatementCache() == null) {
+            try {
+                int maxInstancesPerSql = getStatementCacheMaxInstancesPerSql();
+                Class<?> statementCacheClass = Class.forName(getStatementCacheClass());
+                StatementCache statementCache = (StatementCache) (maxInstancesPerSql == 1
+                        ? statementCacheClass.getConstructor(int.class).newInstance(statementCacheMaxSize)
+                        : statementCacheClass.getConstructor(int.class, int.class)
+                                .newInstance(statementCacheMaxSize, maxInstancesPerSql));
+                setStatementCache(statementCache);
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                throw new ViburDBCPException(e);
+            }
+        }
+        if (getStatementCache() instanceof StatementCacheStatsSource) {
+            StatementCacheStats stats = ((StatementCacheStatsSource) getStatementCache()).stats();
+            if (stats != null)
+                stats.setMetrics(getMetrics());
+        }
     }
 
     @Override
     public Connection getConnection() throws SQLException {
+        return getConnection(Priority.NORMAL);
+    }
+
+    @Override
+    public Connection getConnection(Priority priority) throws SQLException {
+        return getConnection(priority, ConnectionPartitions.DEFAULT_PARTITION);
+    }
+
+    @Override
+    public Connection getConnection(String partitionName) throws SQLException {
+        requireNonNull(partitionName);
+        if (getPoolPartitions() == null)
+            throw new IllegalArgumentException("No poolPartitions are configured, partition " + partitionName);
+        return getConnection(Priority.NORMAL, partitionName);
+    }
+
+    private Connection getConnection(Priority priority, String partitionName) throws SQLException {
+        requireNonNull(priority);
         State state = validatePoolState(isAllowConnectionAfterTermination());
         if (state == WORKING) {
+            Partition partition = connectionPartitions != null ? connectionPartitions.getPartition(partitionName) : null;
             try {
-                return poolOperations.getProxyConnection(getConnectionTimeoutInMs());
+                return poolOperations.getProxyConnection(getConnectionTimeoutInMs(), priority, partition);
             } catch (SQLException e) {
                 if (!SQLSTATE_POOL_CLOSED_ERROR.equals(e.getSQLState()) || !isAllowConnectionAfterTermination())
                     throw e;
@@ -422,6 +624,23 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
         return getNonPooledConnection(username, password);
     }
 
+    @Override
+    public Future<Connection> getConnectionAsync(ConnectionCallback callback) throws SQLException {
+        return getConnectionAsync(getConnectionTimeoutInMs(), callback);
+    }
+
+    @Override
+    public Future<Connection> getConnectionAsync(long timeoutMs, ConnectionCallback callback) throws SQLException {
+        return getConnectionAsync(timeoutMs, Priority.NORMAL, callback);
+    }
+
+    @Override
+    public Future<Connection> getConnectionAsync(long timeoutMs, Priority priority, ConnectionCallback callback) throws SQLException {
+        requireNonNull(priority);
+        validatePoolState(false);
+        return poolOperations.getProxyConnectionAsync(timeoutMs, priority, callback);
+    }
+
     @Override
     public Connection getNonPooledConnection() throws SQLException {
         return getNonPooledConnection(getUsername(), getPassword());
@@ -449,6 +668,10 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
                 return;
             }
         }
+        if (connection instanceof ConnectionInvalidator) { // a delegating proxy
+            ((ConnectionInvalidator) connection).invalidate();
+            return;
+        }
         connection.close();
     }
 
@@ -490,6 +713,51 @@ public class ViburDBCPDataSource extends ViburConfig implements ViburDataSource
         return ((ViburListener) getPool().listener()).getTakenConnections();
     }
 
+    /** Returns the histogram of the {@code getConnection()} wait times, or {@code null} if the latency histograms
+     * are not enabled. */
+    public LatencyHistogram getGetConnectionLatency() {
+        return getConnectionLatency;
+    }
+
+    /** Returns the histogram of the times for which the connections are held by the application, or {@code null}
+     * if the latency histograms are not enabled. */
+    public LatencyHistogram getConnectionHoldLatency() {
+        return connectionHoldLatency;
+    }
+
+    /** Returns the histogram of the SQL query execution times, or {@code null} if the latency histograms are not
+     * enabled. */
+    public LatencyHistogram getQueryLatency() {
+        return queryLatency;
+    }
+
+    /** Returns the per SQL query execution statistics, or {@code null} if they are not enabled. */
+    public SqlStatistics getSqlStatistics() {
+        return sqlStatistics;
+    }
+
+    /** Returns the leak detector of the taken connections, or {@code null} if it is not enabled. */
+    public LeakDetector getLeakDetector() {
+        return leakDetector;
+    }
+
+    /** Returns the adaptive pool sizer, or {@code null} if it is not enabled. */
+    public AdaptivePoolSizer getAdaptivePoolSizer() {
+        return adaptivePoolSizer;
+    }
+
+    /** Returns the partitions of the pool, or {@code null} if the {@link #getPoolPartitions() poolPartitions}
+     * are not configured or this DataSource is not started. */
+    public ConnectionPartitions getConnectionPartitions() {
+        return connectionPartitions;
+    }
+
+    /** Returns the queue of the asynchronous and of the prioritized connection requests, or {@code null} if this
+     * DataSource is not started. */
+    public AsyncConnectionRequests getAsyncConnectionRequests() {
+        return poolOperations != null ? poolOperations.getAsyncConnectionRequests() : null;
+    }
+
     @Override
     public PrintWriter getLogWriter() throws SQLException {
         throw new SQLFeatureNotSupportedException();
@@ -22,6 +22,7 @@ import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.SQLTimeoutException;
+import java.util.concurrent.Future;
 
 /**
  * Defines the {@link ViburDBCPDataSource} lifecycle operations and states. Also, defines specific to Vibur
@@ -56,6 +57,18 @@ public interface ViburDataSource extends DataSource, AutoCloseable {
         }
     }
 
+    /**
+     * The priorities of the connection requests, see {@link #getConnection(Priority)}.
+     */
+    enum Priority {
+        /** For latency critical calls, such as health checks and payment processing. */
+        HIGH,
+        /** The priority of the {@link #getConnection()} calls. */
+        NORMAL,
+        /** For background and batch processing. */
+        LOW
+    }
+
     /**
      * Starts this DataSource. In order to be used, the implementing DataSource has to be
      * first created via calling one of the available constructors, configured, and then started
@@ -108,6 +121,71 @@ public interface ViburDataSource extends DataSource, AutoCloseable {
     @Override
     Connection getConnection(String username, String password) throws SQLException;
 
+    /**
+     * The same as {@link #getConnection()} but with the given priority. If the
+     * {@link ViburConfig#poolEnablePriorityLanes poolEnablePriorityLanes} is enabled, when the pool is exhausted
+     * the restored connections are handed to the waiting callers of the highest priority first, subject to the
+     * {@link ViburConfig#poolPriorityStarvationLimitInMs poolPriorityStarvationLimitInMs}; otherwise, the priority
+     * is ignored.
+     *
+     * @param priority the priority of the call
+     * @throws SQLTimeoutException when the timeout value specified by the
+     * {@link ViburConfig#connectionTimeoutInMs connectionTimeoutInMs} has been exceeded
+     */
+    Connection getConnection(Priority priority) throws SQLException;
+
+    /**
+     * The same as {@link #getConnection()} but for the given partition of the pool, see
+     * {@link ViburConfig#poolPartitions poolPartitions}. When the partition has reached its max-borrowable
+     * connections, or when the pool has no capacity left apart from the reserves of the other partitions, the call
+     * waits for a connection of the partition to be restored.
+     *
+     * @param partitionName the name of the partition
+     * @throws SQLTimeoutException when the timeout value specified by the
+     * {@link ViburConfig#connectionTimeoutInMs connectionTimeoutInMs} has been exceeded
+     * @throws IllegalArgumentException if there is no partition with the given name
+     */
+    Connection getConnection(String partitionName) throws SQLException;
+
+    /**
+     * Requests a pooled connection without blocking the calling thread, with a timeout specified by the
+     * {@link ViburConfig#connectionTimeoutInMs connectionTimeoutInMs}. The request is queued and is completed,
+     * in FIFO order with the other asynchronous requests, when a connection is restored to the pool or a new
+     * connection can be created. No thread is blocked while the request is waiting.
+     *
+     * <p>The returned future and the given callback are completed with the proxy connection, or fail with the
+     * {@code SQLException} which the {@link #getConnection()} call would have thrown, e.g. an
+     * {@code SQLTimeoutException} with SQL state {@link ViburConfig#SQLSTATE_TIMEOUT_ERROR}; the future wraps the
+     * exception in an {@code ExecutionException}. Cancelling the future withdraws the request.
+     *
+     * @param callback the callback to notify on completion, can be {@code null}
+     * @return the future of the request
+     * @throws SQLException if this DataSource is not started or is terminated
+     */
+    Future<Connection> getConnectionAsync(ConnectionCallback callback) throws SQLException;
+
+    /**
+     * The same as {@link #getConnectionAsync(ConnectionCallback)} but with the given timeout.
+     *
+     * @param timeoutMs the timeout of the request in milliseconds, {@code 0} means no timeout
+     * @param callback the callback to notify on completion, can be {@code null}
+     * @return the future of the request
+     * @throws SQLException if this DataSource is not started or is terminated
+     */
+    Future<Connection> getConnectionAsync(long timeoutMs, ConnectionCallback callback) throws SQLException;
+
+    /**
+     * The same as {@link #getConnectionAsync(long, ConnectionCallback)} but with the given priority. The
+     * asynchronous requests are always served in the order of their priorities, see {@link #getConnection(Priority)}.
+     *
+     * @param timeoutMs the timeout of the request in milliseconds, {@code 0} means no timeout
+     * @param priority the priority of the request
+     * @param callback the callback to notify on completion, can be {@code null}
+     * @return the future of the request
+     * @throws SQLException if this DataSource is not started or is terminated
+     */
+    Future<Connection> getConnectionAsync(long timeoutMs, Priority priority, ConnectionCallback callback) throws SQLException;
+
     ///////////////////////////////////////////////////////////////////////////////////////////////
 
     /**
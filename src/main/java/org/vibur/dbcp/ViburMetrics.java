@@ -0,0 +1,251 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import org.vibur.dbcp.util.StripedCounters;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The metrics SPI of the pool. The pool emits the events below to the configured {@link ViburConfig#metricsClass
+ * metrics} implementation as they happen; the events can be mapped to counters and timers of a metrics library
+ * such as Micrometer or Dropwizard Metrics. The gauges of the pool state, such as the number of the taken and of the
+ * remaining created connections, can be registered in {@link #bind}.
+ *
+ * <p>The event methods are called on the hot paths of the pool, often concurrently, and must be thread-safe,
+ * non-blocking, and must not throw exceptions.
+ *
+ * @see Default
+ */
+public interface ViburMetrics {
+
+    /**
+     * Called once when the given data source has been started; the events of the creation of the pool initial
+     * connections precede this call. Implementations that register gauges can read them from the data source,
+     * e.g. from its {@link ViburDBCPDataSource#getPool() pool}.
+     *
+     * @param dataSource the started data source
+     */
+    void bind(ViburDBCPDataSource dataSource);
+
+    /**
+     * A connection has been taken from the pool.
+     *
+     * @param waitNanos the time for which the calling thread waited to take the connection
+     */
+    void connectionAcquired(long waitNanos);
+
+    /**
+     * A call to {@code getConnection()} has failed with an {@code SQLTimeoutException} with SQL state
+     * {@link ViburConfig#SQLSTATE_TIMEOUT_ERROR}.
+     *
+     * @param waitNanos the time for which the calling thread waited before the timeout
+     */
+    void connectionTimedOut(long waitNanos);
+
+    /**
+     * A new raw connection has been created.
+     *
+     * @param createNanos the time taken to create the connection, including its init hooks
+     */
+    void connectionCreated(long createNanos);
+
+    /** The creation of a new raw connection has failed. */
+    void connectionCreateFailed();
+
+    /** A raw connection has been destroyed. */
+    void connectionDestroyed();
+
+    /**
+     * A connection has been validated before it was taken, or in the background.
+     *
+     * @param valid whether the validation succeeded
+     */
+    void connectionValidated(boolean valid);
+
+    /** A critical SQL state has caused the connections in the pool to be destroyed or to be revalidated. */
+    void criticalSQLStateDrain();
+
+    /** A prepared statement has been taken from the statement cache. */
+    void statementCacheHit();
+
+    /** A prepared statement has not been found in the statement cache. */
+    void statementCacheMiss();
+
+    /** A prepared statement has been evicted from the statement cache. */
+    void statementCacheEviction();
+
+
+    /**
+     * The default metrics implementation, which counts the events and accumulates the total and the max times
+     * of the timed events. The counters are striped, see {@link StripedCounters}:
+     * the event recording is allocation-free and lock-free, while the reads are only eventually consistent, which is
+     * adequate for scraping. The counter values are monotonic, so that the rates can be derived from them.
+     */
+    class Default implements ViburMetrics {
+
+        private static final int ACQUIRES = 0;
+        private static final int ACQUIRE_NANOS = 1;
+        private static final int TIMEOUTS = 2;
+        private static final int CREATES = 3;
+        private static final int CREATE_NANOS = 4;
+        private static final int CREATE_FAILURES = 5;
+        private static final int DESTROYS = 6;
+        private static final int VALIDATIONS = 7;
+        private static final int VALIDATION_FAILURES = 8;
+        private static final int DRAINS = 9;
+        private static final int CACHE_HITS = 10;
+        private static final int CACHE_MISSES = 11;
+        private static final int CACHE_EVICTIONS = 12;
+
+        private final StripedCounters counters = new StripedCounters(CACHE_EVICTIONS + 1);
+        private final AtomicLong acquireMaxNanos = new AtomicLong(0); // the max values are not striped
+        private final AtomicLong createMaxNanos = new AtomicLong(0);
+
+        @Override
+        public void bind(ViburDBCPDataSource dataSource) {
+            // the pool gauges are available via JMX
+        }
+
+        @Override
+        public void connectionAcquired(long waitNanos) {
+            counters.increment(ACQUIRES);
+            counters.add(ACQUIRE_NANOS, waitNanos);
+            updateMax(acquireMaxNanos, waitNanos);
+        }
+
+        @Override
+        public void connectionTimedOut(long waitNanos) {
+            counters.increment(TIMEOUTS);
+        }
+
+        @Override
+        public void connectionCreated(long createNanos) {
+            counters.increment(CREATES);
+            counters.add(CREATE_NANOS, createNanos);
+            updateMax(createMaxNanos, createNanos);
+        }
+
+        @Override
+        public void connectionCreateFailed() {
+            counters.increment(CREATE_FAILURES);
+        }
+
+        @Override
+        public void connectionDestroyed() {
+            counters.increment(DESTROYS);
+        }
+
+        @Override
+        public void connectionValidated(boolean valid) {
+            counters.increment(VALIDATIONS);
+            if (!valid)
+                counters.increment(VALIDATION_FAILURES);
+        }
+
+        @Override
+        public void criticalSQLStateDrain() {
+            counters.increment(DRAINS);
+        }
+
+        @Override
+        public void statementCacheHit() {
+            counters.increment(CACHE_HITS);
+        }
+
+        @Override
+        public void statementCacheMiss() {
+            counters.increment(CACHE_MISSES);
+        }
+
+        @Override
+        public void statementCacheEviction() {
+            counters.increment(CACHE_EVICTIONS);
+        }
+
+        private static void updateMax(AtomicLong max, long nanos) {
+            long currentMax;
+            do {
+                currentMax = max.get();
+            } while (nanos > currentMax && !max.compareAndSet(currentMax, nanos));
+        }
+
+        private long sum(int counter) {
+            return counters.sum(counter);
+        }
+
+        public long getConnectionAcquires() {
+            return sum(ACQUIRES);
+        }
+
+        public long getConnectionAcquireTotalNanos() {
+            return sum(ACQUIRE_NANOS);
+        }
+
+        public long getConnectionAcquireMaxNanos() {
+            return acquireMaxNanos.get();
+        }
+
+        public long getConnectionTimeouts() {
+            return sum(TIMEOUTS);
+        }
+
+        public long getConnectionCreates() {
+            return sum(CREATES);
+        }
+
+        public long getConnectionCreateTotalNanos() {
+            return sum(CREATE_NANOS);
+        }
+
+        public long getConnectionCreateMaxNanos() {
+            return createMaxNanos.get();
+        }
+
+        public long getConnectionCreateFailures() {
+            return sum(CREATE_FAILURES);
+        }
+
+        public long getConnectionDestroys() {
+            return sum(DESTROYS);
+        }
+
+        public long getConnectionValidations() {
+            return sum(VALIDATIONS);
+        }
+
+        public long getConnectionValidationFailures() {
+            return sum(VALIDATION_FAILURES);
+        }
+
+        public long getCriticalSQLStateDrains() {
+            return sum(DRAINS);
+        }
+
+        public long getStatementCacheHits() {
+            return sum(CACHE_HITS);
+        }
+
+        public long getStatementCacheMisses() {
+            return sum(CACHE_MISSES);
+        }
+
+        public long getStatementCacheEvictions() {
+            return sum(CACHE_EVICTIONS);
+        }
+    }
+}
@@ -18,11 +18,24 @@ package org.vibur.dbcp;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ViburDataSource.Priority;
+import org.vibur.dbcp.pool.AdaptivePoolSizer;
+import org.vibur.dbcp.pool.AsyncConnectionRequests;
+import org.vibur.dbcp.pool.ConnectionFactory;
+import org.vibur.dbcp.pool.ConnectionPartitions;
+import org.vibur.dbcp.pool.LeakDetector;
+import org.vibur.dbcp.pool.SqlStatistics;
+import org.vibur.dbcp.pool.ViburObjectFactory;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementCacheStats;
+import org.vibur.dbcp.stcache.StatementCacheStatsSource;
+import org.vibur.dbcp.util.LatencyHistogram;
 
 import javax.management.JMException;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import java.lang.management.ManagementFactory;
+import java.util.Map;
 
 /**
  * @author Simeon Malchev
@@ -31,6 +44,9 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
 
     private static final Logger logger = LoggerFactory.getLogger(ViburMonitoring.class);
 
+    private static final int STATEMENT_CACHE_TOP_MISSES = 10;
+    private static final int SQL_STATISTICS_TOP = 20;
+
     private final ViburDBCPDataSource dataSource;
 
     private ViburMonitoring(ViburDBCPDataSource dataSource) {
@@ -83,6 +99,21 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
         dataSource.setConnectionIdleLimitInSeconds(connectionIdleLimitInSeconds);
     }
 
+    @Override
+    public int getIdleValidationIntervalInSeconds() {
+        return dataSource.getIdleValidationIntervalInSeconds();
+    }
+
+    @Override
+    public boolean isRollingDrainOnCriticalSQLState() {
+        return dataSource.isRollingDrainOnCriticalSQLState();
+    }
+
+    @Override
+    public int getRollingDrainValidationsPerSecond() {
+        return dataSource.getRollingDrainValidationsPerSecond();
+    }
+
     @Override
     public int getValidateTimeoutInSeconds() {
         return dataSource.getValidateTimeoutInSeconds();
@@ -128,6 +159,21 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
         return dataSource.getPoolMaxSize();
     }
 
+    @Override
+    public int getPoolInitialFillThreads() {
+        return dataSource.getPoolInitialFillThreads();
+    }
+
+    @Override
+    public int getPoolInitialReadySize() {
+        return dataSource.getPoolInitialReadySize();
+    }
+
+    @Override
+    public int getPoolHeadroomSize() {
+        return dataSource.getPoolHeadroomSize();
+    }
+
     @Override
     public int getPoolTaken() {
         return dataSource.getPool().taken();
@@ -143,11 +189,89 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
         return dataSource.isPoolFair();
     }
 
+    @Override
+    public boolean isPoolEnablePriorityLanes() {
+        return dataSource.isPoolEnablePriorityLanes();
+    }
+
+    @Override
+    public long getPoolPriorityStarvationLimitInMs() {
+        return dataSource.getPoolPriorityStarvationLimitInMs();
+    }
+
+    @Override
+    public String showPriorityLaneStats() {
+        AsyncConnectionRequests requests = dataSource.getAsyncConnectionRequests();
+        if (requests == null)
+            return "";
+
+        StringBuilder builder = new StringBuilder(512);
+        for (Priority priority : Priority.values()) {
+            long acquired = requests.getAcquiredCount(priority);
+            builder.append(String.format("%s: acquired %d, avg wait %.3f ms, max wait %.3f ms, timeouts %d, queued %d%n",
+                    priority, acquired, acquired > 0 ? requests.getWaitTotalNanos(priority) * 0.000_001 / acquired : 0,
+                    requests.getWaitMaxNanos(priority) * 0.000_001, requests.getTimeoutCount(priority),
+                    requests.getQueuedCount(priority)));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String getPoolPartitions() {
+        return dataSource.getPoolPartitions();
+    }
+
+    @Override
+    public String showPartitionStats() {
+        ConnectionPartitions partitions = dataSource.getConnectionPartitions();
+        if (partitions == null)
+            return "";
+
+        StringBuilder builder = new StringBuilder(512);
+        for (ConnectionPartitions.Partition partition : partitions.getPartitions())
+            builder.append(String.format("%s: taken %d, waiting %d, min reserved %d, max borrowable %d%n",
+                    partition.getName(), partition.getTaken(), partition.getWaiting(),
+                    partition.getMinReserved(), partition.getMaxBorrowable()));
+        return builder.toString();
+    }
+
     @Override
     public boolean isPoolEnableConnectionTracking() {
         return dataSource.isPoolEnableConnectionTracking();
     }
 
+    @Override
+    public int getPoolConnectionTrackingSampleRate() {
+        return dataSource.getPoolConnectionTrackingSampleRate();
+    }
+
+    @Override
+    public boolean isPoolConnectionTrackingLastAccess() {
+        return dataSource.isPoolConnectionTrackingLastAccess();
+    }
+
+    @Override
+    public int getLeakDetectionThresholdInSeconds() {
+        return dataSource.getLeakDetectionThresholdInSeconds();
+    }
+
+    @Override
+    public int getLeakReclaimThresholdInSeconds() {
+        return dataSource.getLeakReclaimThresholdInSeconds();
+    }
+
+    @Override
+    public long getLeakDetectedCount() {
+        LeakDetector leakDetector = dataSource.getLeakDetector();
+        return leakDetector != null ? leakDetector.getDetectedCount() : 0;
+    }
+
+    @Override
+    public long getLeakReclaimedCount() {
+        LeakDetector leakDetector = dataSource.getLeakDetector();
+        return leakDetector != null ? leakDetector.getReclaimedCount() : 0;
+    }
+
     @Override
     public int getReducerTimeIntervalInSeconds() {
         return dataSource.getReducerTimeIntervalInSeconds();
@@ -158,6 +282,22 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
         return dataSource.getReducerSamples();
     }
 
+    @Override
+    public int getAdaptiveSizingIntervalInSeconds() {
+        return dataSource.getAdaptiveSizingIntervalInSeconds();
+    }
+
+    @Override
+    public long getAdaptiveSizingTargetWaitInMs() {
+        return dataSource.getAdaptiveSizingTargetWaitInMs();
+    }
+
+    @Override
+    public int getAdaptiveSizingTargetSize() {
+        AdaptivePoolSizer sizer = dataSource.getAdaptivePoolSizer();
+        return sizer != null ? sizer.getTargetSize() : 0;
+    }
+
     @Override
     public boolean isAllowConnectionAfterTermination() {
         return dataSource.isAllowConnectionAfterTermination();
@@ -168,6 +308,11 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
         return dataSource.isAllowUnwrapping();
     }
 
+    @Override
+    public boolean isUseDelegatingProxies() {
+        return dataSource.isUseDelegatingProxies();
+    }
+
     @Override
     public long getConnectionTimeoutInMs() {
         return dataSource.getConnectionTimeoutInMs();
@@ -208,11 +353,97 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
         dataSource.setAcquireRetryAttempts(acquireRetryAttempts);
     }
 
+    @Override
+    public int getConnectionCreateMaxConcurrency() {
+        return dataSource.getConnectionCreateMaxConcurrency();
+    }
+
+    @Override
+    public int getConnectionCreateWaiters() {
+        ConnectionFactory connectionFactory = getConnectionFactory();
+        return connectionFactory != null ? connectionFactory.getCreateWaiters() : 0;
+    }
+
+    @Override
+    public long getConnectionCreateCount() {
+        ConnectionFactory connectionFactory = getConnectionFactory();
+        return connectionFactory != null ? connectionFactory.getCreatedCount() : 0;
+    }
+
+    @Override
+    public double getConnectionCreateAvgTimeMs() {
+        ConnectionFactory connectionFactory = getConnectionFactory();
+        return connectionFactory != null ? connectionFactory.getCreateAvgNanos() * 0.000_001 : 0;
+    }
+
+    @Override
+    public double getConnectionCreateMaxTimeMs() {
+        ConnectionFactory connectionFactory = getConnectionFactory();
+        return connectionFactory != null ? connectionFactory.getCreateMaxNanos() * 0.000_001 : 0;
+    }
+
+    private ConnectionFactory getConnectionFactory() {
+        ViburObjectFactory connectionFactory = dataSource.getConnectionFactory();
+        return connectionFactory instanceof ConnectionFactory ? (ConnectionFactory) connectionFactory : null;
+    }
+
     @Override
     public int getStatementCacheMaxSize() {
         return dataSource.getStatementCacheMaxSize();
     }
 
+    @Override
+    public int getStatementCacheMaxInstancesPerSql() {
+        return dataSource.getStatementCacheMaxInstancesPerSql();
+    }
+
+    @Override
+    public int getStatementCacheSize() {
+        StatementCache statementCache = dataSource.getStatementCache();
+        return statementCache instanceof StatementCacheStatsSource ? ((StatementCacheStatsSource) statementCache).size() : 0;
+    }
+
+    @Override
+    public long getStatementCacheHits() {
+        StatementCacheStats stats = getStatementCacheStats();
+        return stats != null ? stats.getHits() : 0;
+    }
+
+    @Override
+    public long getStatementCacheMisses() {
+        StatementCacheStats stats = getStatementCacheStats();
+        return stats != null ? stats.getMisses() : 0;
+    }
+
+    @Override
+    public long getStatementCacheEvictions() {
+        StatementCacheStats stats = getStatementCacheStats();
+        return stats != null ? stats.getEvictions() : 0;
+    }
+
+    @Override
+    public long getStatementCacheInUseCollisions() {
+        StatementCacheStats stats = getStatementCacheStats();
+        return stats != null ? stats.getInUseCollisions() : 0;
+    }
+
+    @Override
+    public String showStatementCacheTopMisses() {
+        StatementCacheStats stats = getStatementCacheStats();
+        if (stats == null)
+            return "";
+
+        StringBuilder builder = new StringBuilder(4096);
+        for (Map.Entry<String, Long> miss : stats.getTopMisses(STATEMENT_CACHE_TOP_MISSES))
+            builder.append(miss.getValue()).append(" misses: ").append(miss.getKey()).append('\n');
+        return builder.toString();
+    }
+
+    private StatementCacheStats getStatementCacheStats() {
+        StatementCache statementCache = dataSource.getStatementCache();
+        return statementCache instanceof StatementCacheStatsSource ? ((StatementCacheStatsSource) statementCache).stats() : null;
+    }
+
     @Override
     public long getLogConnectionLongerThanMs() {
         return dataSource.getLogConnectionLongerThanMs();
@@ -327,4 +558,179 @@ public final class ViburMonitoring implements ViburMonitoringMBean {
     public String showTakenConnections() {
         return dataSource.getTakenConnectionsStackTraces();
     }
+
+    @Override
+    public boolean isEnableLatencyHistograms() {
+        return dataSource.isEnableLatencyHistograms();
+    }
+
+    @Override
+    public double getGetConnectionLatencyP50Ms() {
+        return percentileMs(dataSource.getGetConnectionLatency(), 50);
+    }
+
+    @Override
+    public double getGetConnectionLatencyP99Ms() {
+        return percentileMs(dataSource.getGetConnectionLatency(), 99);
+    }
+
+    @Override
+    public double getGetConnectionLatencyP999Ms() {
+        return percentileMs(dataSource.getGetConnectionLatency(), 99.9);
+    }
+
+    @Override
+    public double getGetConnectionLatencyMaxMs() {
+        return maxMs(dataSource.getGetConnectionLatency());
+    }
+
+    @Override
+    public double getConnectionHoldLatencyP50Ms() {
+        return percentileMs(dataSource.getConnectionHoldLatency(), 50);
+    }
+
+    @Override
+    public double getConnectionHoldLatencyP99Ms() {
+        return percentileMs(dataSource.getConnectionHoldLatency(), 99);
+    }
+
+    @Override
+    public double getConnectionHoldLatencyP999Ms() {
+        return percentileMs(dataSource.getConnectionHoldLatency(), 99.9);
+    }
+
+    @Override
+    public double getConnectionHoldLatencyMaxMs() {
+        return maxMs(dataSource.getConnectionHoldLatency());
+    }
+
+    @Override
+    public double getQueryLatencyP50Ms() {
+        return percentileMs(dataSource.getQueryLatency(), 50);
+    }
+
+    @Override
+    public double getQueryLatencyP99Ms() {
+        return percentileMs(dataSource.getQueryLatency(), 99);
+    }
+
+    @Override
+    public double getQueryLatencyP999Ms() {
+        return percentileMs(dataSource.getQueryLatency(), 99.9);
+    }
+
+    @Override
+    public double getQueryLatencyMaxMs() {
+        return maxMs(dataSource.getQueryLatency());
+    }
+
+    @Override
+    public long getQueryCount() {
+        LatencyHistogram histogram = dataSource.getQueryLatency();
+        return histogram != null ? histogram.count() : 0;
+    }
+
+    @Override
+    public void resetLatencyHistograms() {
+        for (LatencyHistogram histogram : new LatencyHistogram[] {dataSource.getGetConnectionLatency(),
+                dataSource.getConnectionHoldLatency(), dataSource.getQueryLatency()}) {
+            if (histogram != null)
+                histogram.reset();
+        }
+    }
+
+    private static double percentileMs(LatencyHistogram histogram, double percentile) {
+        return histogram != null ? histogram.percentile(percentile) * 0.000_001 : 0;
+    }
+
+    private static double maxMs(LatencyHistogram histogram) {
+        return histogram != null ? histogram.max() * 0.000_001 : 0;
+    }
+
+    @Override
+    public int getSqlStatisticsMaxSize() {
+        return dataSource.getSqlStatisticsMaxSize();
+    }
+
+    @Override
+    public int getSqlStatisticsSize() {
+        SqlStatistics statistics = dataSource.getSqlStatistics();
+        return statistics != null ? statistics.size() : 0;
+    }
+
+    @Override
+    public String showTopSqlByTotalTime() {
+        SqlStatistics statistics = dataSource.getSqlStatistics();
+        if (statistics == null)
+            return "";
+
+        StringBuilder builder = new StringBuilder(4096);
+        for (SqlStatistics.Entry entry : statistics.getTopByTotalTime(SQL_STATISTICS_TOP)) {
+            long calls = entry.getCalls();
+            builder.append(String.format("total %.3f ms, calls %d, avg %.3f ms, max %.3f ms, rows %d, errors %d: %s%n",
+                    entry.getTotalNanos() * 0.000_001, calls, calls > 0 ? entry.getTotalNanos() * 0.000_001 / calls : 0,
+                    entry.getMaxNanos() * 0.000_001, entry.getRows(), entry.getErrors(), entry.getSql()));
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public void resetSqlStatistics() {
+        SqlStatistics statistics = dataSource.getSqlStatistics();
+        if (statistics != null)
+            statistics.clear();
+    }
+
+    @Override
+    public String getMetricsClass() {
+        ViburMetrics metrics = dataSource.getMetrics();
+        return metrics != null ? metrics.getClass().getName() : null;
+    }
+
+    @Override
+    public long getConnectionAcquireCount() {
+        ViburMetrics.Default metrics = getDefaultMetrics();
+        return metrics != null ? metrics.getConnectionAcquires() : 0;
+    }
+
+    @Override
+    public long getConnectionTimeoutCount() {
+        ViburMetrics.Default metrics = getDefaultMetrics();
+        return metrics != null ? metrics.getConnectionTimeouts() : 0;
+    }
+
+    @Override
+    public long getConnectionCreateFailureCount() {
+        ViburMetrics.Default metrics = getDefaultMetrics();
+        return metrics != null ? metrics.getConnectionCreateFailures() : 0;
+    }
+
+    @Override
+    public long getConnectionDestroyCount() {
+        ViburMetrics.Default metrics = getDefaultMetrics();
+        return metrics != null ? metrics.getConnectionDestroys() : 0;
+    }
+
+    @Override
+    public long getConnectionValidationCount() {
+        ViburMetrics.Default metrics = getDefaultMetrics();
+        return metrics != null ? metrics.getConnectionValidations() : 0;
+    }
+
+    @Override
+    public long getConnectionValidationFailureCount() {
+        ViburMetrics.Default metrics = getDefaultMetrics();
+        return metrics != null ? metrics.getConnectionValidationFailures() : 0;
+    }
+
+    @Override
+    public long getCriticalSQLStateDrainCount() {
+        ViburMetrics.Default metrics = getDefaultMetrics();
+        return metrics != null ? metrics.getCriticalSQLStateDrains() : 0;
+    }
+
+    private ViburMetrics.Default getDefaultMetrics() {
+        ViburMetrics metrics = dataSource.getMetrics();
+        return metrics instanceof ViburMetrics.Default ? (ViburMetrics.Default) metrics : null;
+    }
 }
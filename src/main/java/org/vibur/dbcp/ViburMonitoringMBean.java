@@ -36,6 +36,12 @@ public interface ViburMonitoringMBean {
 
     void setConnectionIdleLimitInSeconds(int connectionIdleLimitInSeconds);
 
+    int getIdleValidationIntervalInSeconds();
+
+    boolean isRollingDrainOnCriticalSQLState();
+
+    int getRollingDrainValidationsPerSecond();
+
     int getValidateTimeoutInSeconds();
 
     void setValidateTimeoutInSeconds(int validateTimeoutInSeconds);
@@ -57,22 +63,58 @@ public interface ViburMonitoringMBean {
 
     int getPoolMaxSize();
 
+    int getPoolInitialFillThreads();
+
+    int getPoolInitialReadySize();
+
+    int getPoolHeadroomSize();
+
     int getPoolTaken();
 
     int getPoolRemainingCreated();
 
     boolean isPoolFair();
 
+    boolean isPoolEnablePriorityLanes();
+
+    long getPoolPriorityStarvationLimitInMs();
+
+    String showPriorityLaneStats();
+
+    String getPoolPartitions();
+
+    String showPartitionStats();
+
     boolean isPoolEnableConnectionTracking();
 
+    int getPoolConnectionTrackingSampleRate();
+
+    boolean isPoolConnectionTrackingLastAccess();
+
+    int getLeakDetectionThresholdInSeconds();
+
+    int getLeakReclaimThresholdInSeconds();
+
+    long getLeakDetectedCount();
+
+    long getLeakReclaimedCount();
+
     int getReducerTimeIntervalInSeconds();
 
     int getReducerSamples();
 
+    int getAdaptiveSizingIntervalInSeconds();
+
+    long getAdaptiveSizingTargetWaitInMs();
+
+    int getAdaptiveSizingTargetSize();
+
     boolean isAllowConnectionAfterTermination();
 
     boolean isAllowUnwrapping();
 
+    boolean isUseDelegatingProxies();
+
 
     //////////// JDBC Connection acquiring timeout and retries, and Driver/DataSource login timeout ////////////
 
@@ -92,11 +134,35 @@ public interface ViburMonitoringMBean {
 
     void setAcquireRetryAttempts(int acquireRetryAttempts);
 
+    int getConnectionCreateMaxConcurrency();
+
+    int getConnectionCreateWaiters();
+
+    long getConnectionCreateCount();
+
+    double getConnectionCreateAvgTimeMs();
+
+    double getConnectionCreateMaxTimeMs();
+
 
     //////////// JDBC Statement caching ////////////
 
     int getStatementCacheMaxSize();
 
+    int getStatementCacheMaxInstancesPerSql();
+
+    int getStatementCacheSize();
+
+    long getStatementCacheHits();
+
+    long getStatementCacheMisses();
+
+    long getStatementCacheEvictions();
+
+    long getStatementCacheInUseCollisions();
+
+    String showStatementCacheTopMisses();
+
 
     //////////// JDBC Connection acquiring logging and SQL query execution logging ////////////
 
@@ -150,4 +216,66 @@ public interface ViburMonitoringMBean {
     //////////// Taken JDBC Connections information ////////////
 
     String showTakenConnections();
+
+    //////////// Latency histograms, in ms ////////////
+
+    boolean isEnableLatencyHistograms();
+
+    double getGetConnectionLatencyP50Ms();
+
+    double getGetConnectionLatencyP99Ms();
+
+    double getGetConnectionLatencyP999Ms();
+
+    double getGetConnectionLatencyMaxMs();
+
+    double getConnectionHoldLatencyP50Ms();
+
+    double getConnectionHoldLatencyP99Ms();
+
+    double getConnectionHoldLatencyP999Ms();
+
+    double getConnectionHoldLatencyMaxMs();
+
+    double getQueryLatencyP50Ms();
+
+    double getQueryLatencyP99Ms();
+
+    double getQueryLatencyP999Ms();
+
+    double getQueryLatencyMaxMs();
+
+    long getQueryCount();
+
+    void resetLatencyHistograms();
+
+
+    //////////// SQL query statistics ////////////
+
+    int getSqlStatisticsMaxSize();
+
+    int getSqlStatisticsSize();
+
+    String showTopSqlByTotalTime();
+
+    void resetSqlStatistics();
+
+
+    //////////// Metrics counters, if the metrics are the ViburMetrics.Default ////////////
+
+    String getMetricsClass();
+
+    long getConnectionAcquireCount();
+
+    long getConnectionTimeoutCount();
+
+    long getConnectionCreateFailureCount();
+
+    long getConnectionDestroyCount();
+
+    long getConnectionValidationCount();
+
+    long getConnectionValidationFailureCount();
+
+    long getCriticalSQLStateDrainCount();
 }
@@ -0,0 +1,187 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.ViburDBCPDataSource;
+import org.vibur.objectpool.PoolService;
+
+import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.vibur.dbcp.util.ViburUtils.getPoolName;
+
+/**
+ * A background thread which adapts the number of the created connections in the pool to the measured demand,
+ * between the pool initial and max sizes, instead of the {@link PoolReducer}. Every
+ * {@link ViburConfig#getAdaptiveSizingIntervalInSeconds() adaptiveSizingIntervalInSeconds} the sizer picks a target
+ * pool size via an additive-increase/multiplicative-decrease (AIMD) controller, bounded below by the Little's law
+ * estimate of the needed connections:
+ * <ul>
+ *     <li>the number of the busy connections is estimated as the rate of the {@code getConnection()} calls times
+ *     the mean connection hold time, but not less than the currently taken connections; the Little's law
+ *     estimate is this number plus 25% headroom;
+ *     <li>if the mean {@code getConnection()} wait time exceeds the
+ *     {@link ViburConfig#getAdaptiveSizingTargetWaitInMs() adaptiveSizingTargetWaitInMs}, or if there were
+ *     timeouts, the target size is increased by a tenth of the pool max size;
+ *     <li>otherwise, the target size is decreased by 10%.
+ * </ul>
+ *
+ * <p>If the pool has fewer connections than the target size, the missing connections are created proactively as
+ * spare connections of the {@link AsyncConnectionCreator}, which the pool takes when it needs to grow, so that the
+ * application threads do not pay the connection creation latency; the spare connections are not taken from and
+ * restored to the pool, and hence no connection hooks are called for them until they are taken by the application.
+ * If the pool has more connections than the target size, the idle connections above it are destroyed. The growth
+ * on demand up to the pool max size is not limited by the target size, as the waiting application threads are
+ * served first.
+ */
+public class AdaptivePoolSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePoolSizer.class);
+
+    private static final double LITTLE_HEADROOM = 1.25;
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final ViburDBCPDataSource dataSource;
+    private final Thread sizerThread;
+    private final long targetWaitNanos;
+
+    // the measurements since the last adjustment:
+    private final AtomicLong acquires = new AtomicLong(0);
+    private final AtomicLong waitNanos = new AtomicLong(0);
+    private final AtomicLong releases = new AtomicLong(0);
+    private final AtomicLong holdNanos = new AtomicLong(0);
+    private final AtomicLong timeouts = new AtomicLong(0);
+
+    private AsyncConnectionCreator asyncConnectionCreator = null;
+    private volatile int targetSize;
+
+    /**
+     * Creates the sizer and registers its measuring hooks; must be called before the pool is started.
+     */
+    public AdaptivePoolSizer(ViburDBCPDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.sizerThread = new Thread(new Sizer(), getClass().getSimpleName() + " for pool " + dataSource.getName());
+        this.sizerThread.setDaemon(true);
+        this.targetWaitNanos = MILLISECONDS.toNanos(dataSource.getAdaptiveSizingTargetWaitInMs());
+        this.targetSize = dataSource.getPoolInitialSize();
+
+        dataSource.getConnHooks().addOnGet(new Hook.GetConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                if (rawConnection != null) {
+                    acquires.incrementAndGet();
+                    waitNanos.addAndGet(takenNanos);
+                }
+            }
+        });
+        dataSource.getConnHooks().addOnClose(new Hook.CloseConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                releases.incrementAndGet();
+                holdNanos.addAndGet(takenNanos);
+            }
+        });
+        dataSource.getConnHooks().addOnTimeout(new Hook.GetConnectionTimeout() {
+            @Override
+            public void on(TakenConnection[] takenConnections, long takenNanos) {
+                timeouts.incrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Starts the sizer.
+     *
+     * @param asyncConnectionCreator the creator of the connections ahead of the demand; if {@code null}, the pool
+     *                               is not grown proactively
+     */
+    public void start(AsyncConnectionCreator asyncConnectionCreator) {
+        this.asyncConnectionCreator = asyncConnectionCreator;
+        sizerThread.start();
+    }
+
+    public void terminate() {
+        sizerThread.interrupt();
+    }
+
+    /** Returns the current target size of the pool. */
+    public int getTargetSize() {
+        return targetSize;
+    }
+
+    /**
+     * Picks the next target size from the measurements since the last adjustment, and resizes the pool to it.
+     *
+     * @param intervalNanos the time since the last adjustment
+     */
+    void adjust(long intervalNanos) {
+        PoolService<ConnHolder> pool = dataSource.getPool();
+        long acquires = this.acquires.getAndSet(0);
+        long waitNanos = this.waitNanos.getAndSet(0);
+        long releases = this.releases.getAndSet(0);
+        long holdNanos = this.holdNanos.getAndSet(0);
+        long timeouts = this.timeouts.getAndSet(0);
+
+        double busy = releases > 0 ? (double) acquires * holdNanos / releases / intervalNanos : 0; // Little's law
+        int littleSize = (int) Math.ceil(Math.max(busy, pool.taken()) * LITTLE_HEADROOM);
+        boolean congested = timeouts > 0 || acquires > 0 && waitNanos / acquires > targetWaitNanos;
+
+        int target = congested ? targetSize + Math.max(1, pool.maxSize() / 10) : (int) (targetSize * DECREASE_FACTOR);
+        target = Math.min(pool.maxSize(), Math.max(pool.initialSize(), Math.max(littleSize, target)));
+        targetSize = target;
+
+        int created = pool.createdTotal();
+        if (logger.isDebugEnabled())
+            logger.debug("Pool {}, target size {}, created {}, busy {}, mean wait {} ms, timeouts {}.",
+                    getPoolName(dataSource), target, created, String.format("%.2f", busy),
+                    acquires > 0 ? String.format("%.3f", waitNanos * 0.000_001 / acquires) : 0, timeouts);
+
+        if (asyncConnectionCreator != null)
+            asyncConnectionCreator.setTargetSize(target); // creates the missing connections, if any
+        if (target < created)
+            pool.reduceCreatedTo(target, false); // destroys only idle connections
+    }
+
+    private class Sizer implements Runnable {
+        @Override
+        public void run() {
+            long intervalMs = SECONDS.toMillis(dataSource.getAdaptiveSizingIntervalInSeconds());
+            long lastNanoTime = System.nanoTime();
+
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(intervalMs);
+                } catch (InterruptedException e) {
+                    break; // terminated
+                }
+
+                long nanoTime = System.nanoTime();
+                try {
+                    adjust(nanoTime - lastNanoTime);
+                } catch (RuntimeException e) {
+                    logger.warn("While adjusting the size of pool {}", getPoolName(dataSource), e);
+                }
+                lastNanoTime = nanoTime;
+            }
+        }
+    }
+}
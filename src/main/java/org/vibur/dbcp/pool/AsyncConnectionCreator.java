@@ -0,0 +1,352 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.ViburDBCPException;
+import org.vibur.objectpool.PoolService;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_INTERRUPTED_ERROR;
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_TIMEOUT_ERROR;
+import static org.vibur.dbcp.util.ViburUtils.getPoolName;
+
+/**
+ * Creates JDBC Connections asynchronously, ahead of demand, so that when the pool needs to grow, the application
+ * thread which calls {@code getConnection()} does not pay the latency of the physical connect and of the init hooks.
+ *
+ * <p>The creator keeps up to {@link ViburConfig#getPoolHeadroomSize() poolHeadroomSize} spare connections, which are
+ * either created or being created on a dedicated executor. The spare connections are not in the pool; when the pool
+ * needs a new connection, {@link ConnectionFactory#create()} claims a spare connection and takes the first spare
+ * connection whose creation completes, i.e., a created spare connection is handed over to a waiting thread as soon
+ * as its creation completes, regardless of the order in which the spare connections were requested; a replacement
+ * spare connection is then requested. The number of the pool connections plus the number of the spare connections
+ * never exceeds the pool max size. If there is no spare connection to claim, the new connection is created
+ * synchronously as usual. The wait for a claimed spare connection is bounded by the
+ * {@link ViburConfig#getConnectionTimeoutInMs() connectionTimeoutInMs}.
+ *
+ * <p>A failed creation of a spare connection fails only a thread which is waiting for a spare connection at that
+ * time; otherwise, the failure is dropped and the creation is retried after the
+ * {@link ViburConfig#getAcquireRetryDelayInMs() acquireRetryDelayInMs}, so that a later growth of the pool does not
+ * get a stale failure.
+ *
+ * <p>The {@link AdaptivePoolSizer} uses the creator to create connections ahead of the demand up to its target pool
+ * size, see {@link #setTargetSize}.
+ *
+ * <p>The creator is also used to create the initial connections of the pool in parallel, via
+ * {@link ViburConfig#getPoolInitialFillThreads() poolInitialFillThreads} threads, see {@link #prefill}.
+ *
+ * @see ConnectionFactory
+ */
+public class AsyncConnectionCreator {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConnectionCreator.class);
+
+    private static final Object TIMED_OUT = new Object();
+
+    private final ViburConfig config;
+    private final ConnectionFactory connectionFactory;
+    private final int headroomSize;
+    private final ThreadPoolExecutor executor;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition created = lock.newCondition();
+
+    // all below fields are guarded by the lock
+    private final Queue<Object> results = new ArrayDeque<>(); // the created spare ConnHolders or ViburDBCPExceptions
+    private int unclaimed = 0; // the created and the being created spares which are not claimed by a taking thread
+    private int waiting = 0; // the threads which wait for a claimed spare
+    private int targetSize = 0; // the pool size up to which spares are created regardless of the headroom
+    private boolean terminated = false;
+
+    public AsyncConnectionCreator(final ViburConfig config, ConnectionFactory connectionFactory) {
+        this.config = config;
+        this.connectionFactory = connectionFactory;
+        this.headroomSize = config.getPoolHeadroomSize();
+        int threads = Math.max(headroomSize, config.getPoolInitialFillThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    private final AtomicInteger threadCount = new AtomicInteger(0);
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, AsyncConnectionCreator.class.getSimpleName()
+                                + '-' + threadCount.incrementAndGet() + " for pool " + config.getName());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Requests the creation of the given number of spare connections, regardless of the headroom size; they are
+     * created in parallel, by up to {@code max(poolHeadroomSize, poolInitialFillThreads)} threads. Must be called
+     * before the pool has been created, in order to prepare its initial connections, which the pool will then take
+     * in the order of their creation.
+     *
+     * @param count the number of spare connections to create
+     */
+    public void prefill(int count) {
+        connectionFactory.setAsyncConnectionCreator(this);
+        lock.lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                if (!requestSpare())
+                    break;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Starts serving the connection creations of the {@link ConnectionFactory} and creates the initial spare
+     * connections. Must be called after the pool has been created.
+     */
+    public void start() {
+        connectionFactory.setAsyncConnectionCreator(this);
+        refill();
+    }
+
+    /**
+     * Stops the creation of spare connections and destroys the existing spare connections.
+     */
+    public void terminate() {
+        connectionFactory.setAsyncConnectionCreator(null);
+        Queue<Object> abandoned;
+        lock.lock();
+        try {
+            terminated = true;
+            executor.shutdownNow();
+            abandoned = new ArrayDeque<>(results);
+            results.clear();
+            created.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        for (Object result : abandoned) {
+            if (result instanceof ConnHolder)
+                connectionFactory.destroy((ConnHolder) result);
+        }
+    }
+
+    /**
+     * Sets the pool size up to which spare connections are created, in addition to the headroom, i.e. spare
+     * connections are requested while the number of the pool connections plus the number of the spare connections
+     * is less than the given target size. The created spare connections which exceed both the headroom and
+     * the new target size are destroyed.
+     *
+     * @param targetSize the target size; {@code 0} means none
+     */
+    void setTargetSize(int targetSize) {
+        PoolService<ConnHolder> pool = config.getPool();
+        List<ConnHolder> excess = new ArrayList<>();
+        lock.lock();
+        try {
+            this.targetSize = targetSize;
+            int needed = Math.max(headroomSize, targetSize - pool.createdTotal());
+            while (unclaimed > needed && results.peek() instanceof ConnHolder) {
+                excess.add((ConnHolder) results.poll());
+                unclaimed--;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (ConnHolder connHolder : excess)
+            connectionFactory.destroy(connHolder);
+        refill();
+    }
+
+    /**
+     * Claims a spare connection and takes the first spare connection whose creation completes, waiting for such
+     * for up to the {@code connectionTimeoutInMs} if needed, and requests a replacement spare connection.
+     *
+     * @return the spare connection, or {@code null} if there is no spare connection that can be taken
+     * @throws ViburDBCPException if the creation of the taken spare connection has failed, or if the wait for it
+     *         has timed out or has been interrupted
+     */
+    ConnHolder takeSpare() throws ViburDBCPException {
+        Object result = null;
+        long startNanoTime = System.nanoTime();
+        lock.lock();
+        try {
+            if (unclaimed > 0) {
+                unclaimed--;
+                waiting++;
+                try {
+                    result = awaitResult(MILLISECONDS.toNanos(config.getConnectionTimeoutInMs()));
+                } finally {
+                    waiting--;
+                    if (result == null && !terminated)
+                        unclaimed++; // the spare whose creation is in progress remains unclaimed
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ViburDBCPException(new SQLException(format(
+                    "Pool %s, interrupted while waiting for a spare connection.", getPoolName(config)),
+                    SQLSTATE_INTERRUPTED_ERROR));
+        } finally {
+            lock.unlock();
+        }
+        refill();
+
+        if (result == TIMED_OUT) {
+            double waitedMs = (System.nanoTime() - startNanoTime) * 0.000_001;
+            throw new ViburDBCPException(new SQLTimeoutException(format(
+                    "Pool %s, couldn't obtain a spare connection within %.3f ms.", getPoolName(config), waitedMs),
+                    SQLSTATE_TIMEOUT_ERROR, (int) Math.round(waitedMs)));
+        }
+
+        if (result instanceof ViburDBCPException)
+            throw (ViburDBCPException) result;
+        ConnHolder connHolder = (ConnHolder) result;
+        if (connHolder == null || connectionFactory.isValidToTake(connHolder))
+            return connHolder;
+
+        connectionFactory.destroy(connHolder);
+        return null;
+    }
+
+    /**
+     * Waits for the result of a spare creation. Must be called with the lock held.
+     *
+     * @param timeoutNanos the timeout, {@code 0} means no timeout
+     * @return the result, {@code null} if the creator has been terminated, or {@link #TIMED_OUT}
+     */
+    private Object awaitResult(long timeoutNanos) throws InterruptedException {
+        long remainingNanos = timeoutNanos;
+        while (results.isEmpty() && !terminated) {
+            if (timeoutNanos == 0)
+                created.await();
+            else if (remainingNanos <= 0)
+                return TIMED_OUT;
+            else
+                remainingNanos = created.awaitNanos(remainingNanos);
+        }
+        return results.poll();
+    }
+
+    /** Requests the creation of spare connections until the headroom or the pool max size is reached. */
+    private void refill() {
+        PoolService<ConnHolder> pool = config.getPool();
+        if (pool == null || pool.isTerminated())
+            return;
+
+        lock.lock();
+        try {
+            while ((unclaimed < headroomSize || pool.createdTotal() + unclaimed < targetSize)
+                    && pool.createdTotal() + unclaimed < pool.maxSize()) {
+                if (!requestSpare())
+                    break;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Must be called with the lock held. */
+    private boolean requestSpare() {
+        if (terminated)
+            return false;
+        try {
+            executor.execute(new SpareCreation());
+        } catch (RejectedExecutionException e) { // the executor has been shut down
+            return false;
+        }
+        unclaimed++;
+        return true;
+    }
+
+    /**
+     * The creation of a spare connection. The created connection is handed over to the first thread which waits for
+     * a spare connection or, if the creator has been terminated, is destroyed. A failure is handed over only to
+     * a thread which waits for a spare connection and has no other result to take; otherwise, the creation is
+     * retried after the {@code acquireRetryDelayInMs}.
+     */
+    private final class SpareCreation implements Runnable {
+        @Override
+        public void run() {
+            ConnHolder connHolder;
+            for (;;) {
+                ViburDBCPException failure;
+                try {
+                    connHolder = connectionFactory.createUntracked(config.getConnector());
+                    break;
+                } catch (ViburDBCPException e) {
+                    failure = e;
+                    logger.debug("Couldn't create a spare connection", e);
+                } catch (RuntimeException e) {
+                    failure = new ViburDBCPException(e);
+                    logger.warn("Couldn't create a spare connection", e);
+                }
+
+                lock.lock();
+                try {
+                    if (terminated)
+                        return;
+                    if (waiting > results.size()) {
+                        results.offer(failure);
+                        created.signal();
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+
+                try {
+                    MILLISECONDS.sleep(config.getAcquireRetryDelayInMs());
+                } catch (InterruptedException e) {
+                    return; // terminated
+                }
+            }
+
+            lock.lock();
+            try {
+                if (!terminated) {
+                    results.offer(connHolder);
+                    created.signal();
+                    return;
+                }
+            } finally {
+                lock.unlock();
+            }
+            connectionFactory.destroy(connHolder);
+        }
+    }
+}
@@ -0,0 +1,659 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ConnectionCallback;
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.ViburDBCPDataSource;
+import org.vibur.dbcp.ViburDBCPException;
+import org.vibur.dbcp.ViburDataSource.Priority;
+import org.vibur.dbcp.pool.ConnectionPartitions.Partition;
+import org.vibur.objectpool.PoolService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_POOL_CLOSED_ERROR;
+import static org.vibur.dbcp.util.ViburUtils.getPoolName;
+
+/**
+ * Serves the asynchronous connection requests of {@link PoolOperations#getProxyConnectionAsync}, without a thread
+ * blocked per waiting request. The requests are queued in FIFO order and are completed by a single dispatcher thread.
+ * The dispatching is triggered when a request is queued and when a connection is restored to the pool, i.e. when
+ * a connection may have become available or the pool may be able to create a new one. The timeouts of the requests
+ * are fired by a single timer thread.
+ *
+ * <p>If the pool has no available connection but can grow, the dispatcher does not create the new connection
+ * itself: the connection is created by a creator thread, which restores it to the pool and triggers the dispatching,
+ * so that the dispatching of the other requests is not delayed by the connection creation latency. If the pool
+ * cannot grow, the dispatcher waits in the pool for a restored connection, on behalf of the request which it
+ * is dispatching, in turn with the threads blocked in the pool's {@code getConnection()} calls; i.e. if the pool
+ * is fair, the queued requests get their fair share of the restored connections. The wait lasts up to the timeout of
+ * the request, but not longer than {@value #DISPATCH_WAIT_MAX_MS} ms, after which the queued requests are examined
+ * again. A connection which the dispatcher has taken for a request which has meanwhile timed out or has been
+ * cancelled is handed over to the next request, or restored to the pool as unused, i.e. without calling the
+ * {@link Hook.CloseConnection} hooks for it.
+ *
+ * <p>The requests are queued in one lane per {@link Priority}, and the dispatcher serves the lane of the highest
+ * priority first. To protect the lower priority requests from starvation, the oldest of the requests at the heads of
+ * the lanes which have waited for longer than the {@link ViburConfig#getPoolPriorityStarvationLimitInMs()
+ * poolPriorityStarvationLimitInMs} is served first. If the {@link ViburConfig#isPoolEnablePriorityLanes()
+ * poolEnablePriorityLanes} is enabled, the blocking {@code getConnection()} calls which cannot take a connection
+ * immediately are queued here, too; see {@link PoolOperations#getProxyConnection(long, Priority)}. The number of
+ * the acquired connections and of the timeouts, and the wait times, are recorded per lane.
+ *
+ * <p>A completed request goes through the same steps as a {@code getConnection()} call: the {@link Hook.GetConnection}
+ * hooks are called with the time for which the request waited, and on a timeout the {@link Hook.GetConnectionTimeout}
+ * hooks are called and an {@code SQLTimeoutException} with the same message and SQL state is reported. As with
+ * {@code getConnection()}, a failed creation of a new connection fails the request; the
+ * {@code acquireRetryAttempts} are not applied.
+ *
+ * <p>All threads are started on demand and stop after being idle for 60 seconds.
+ */
+public class AsyncConnectionRequests {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConnectionRequests.class);
+
+    private static final long DISPATCH_WAIT_MAX_MS = 1000;
+
+    private final ViburDBCPDataSource dataSource;
+    private final PoolOperations poolOperations;
+    private final PoolService<ConnHolder> poolService;
+    private final ThreadPoolExecutor dispatcher;
+    private final ThreadPoolExecutor creator;
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final ConnectionPartitions partitions;
+    private final long starvationLimitNanos;
+
+    private final Lane[] lanes = new Lane[Priority.values().length]; // indexed by the priority ordinal
+    private final AtomicInteger queued = new AtomicInteger(0);
+    private final AtomicBoolean dispatchScheduled = new AtomicBoolean(false);
+    private final AtomicInteger creating = new AtomicInteger(0); // the connection creations in progress
+    private volatile boolean terminated = false;
+
+    private final Runnable dispatchTask = new Runnable() {
+        @Override
+        public void run() {
+            dispatchScheduled.set(false); // set before draining, so that a concurrent restore is not missed
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                logger.warn("While dispatching the connection requests of pool {}", getPoolName(dataSource), e);
+            }
+        }
+    };
+
+    private final Runnable createTask = new Runnable() {
+        @Override
+        public void run() {
+            try {
+                createConnection();
+            } catch (RuntimeException e) {
+                logger.warn("While creating a connection for the requests of pool {}", getPoolName(dataSource), e);
+            } finally {
+                creating.decrementAndGet();
+            }
+            dispatch();
+        }
+    };
+
+    AsyncConnectionRequests(ViburDBCPDataSource dataSource, PoolOperations poolOperations, PoolService<ConnHolder> poolService) {
+        this.dataSource = dataSource;
+        this.poolOperations = poolOperations;
+        this.poolService = poolService;
+        this.partitions = dataSource.getConnectionPartitions();
+        this.starvationLimitNanos = MILLISECONDS.toNanos(dataSource.getPoolPriorityStarvationLimitInMs());
+        for (int i = 0; i < lanes.length; i++)
+            lanes[i] = new Lane();
+
+        this.dispatcher = new ThreadPoolExecutor(1, 1, 60, SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new DaemonThreadFactory("Dispatcher"));
+        this.dispatcher.allowCoreThreadTimeOut(true);
+        int creators = Math.min(dataSource.getPoolMaxSize(), dataSource.getConnectionCreateMaxConcurrency() > 0
+                ? dataSource.getConnectionCreateMaxConcurrency() : Runtime.getRuntime().availableProcessors());
+        this.creator = new ThreadPoolExecutor(creators, creators, 60, SECONDS, new LinkedBlockingQueue<Runnable>(),
+                new DaemonThreadFactory("Creator"));
+        this.creator.allowCoreThreadTimeOut(true);
+        this.timer = new ScheduledThreadPoolExecutor(1, new DaemonThreadFactory("Timer"));
+        this.timer.setKeepAliveTime(60, SECONDS);
+        this.timer.allowCoreThreadTimeOut(true);
+        this.timer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Queues a new connection request.
+     *
+     * @param timeoutMs the timeout of the request, {@code 0} means no timeout
+     * @param priority the priority of the request
+     * @param partition the partition of the request, {@code null} if the partitions are not configured
+     * @param admitted whether the request has been already admitted to its partition
+     * @param callback the callback to notify on completion, can be {@code null}
+     * @return the future of the request
+     */
+    Future<Connection> request(long timeoutMs, Priority priority, Partition partition, boolean admitted,
+                               ConnectionCallback callback) {
+        Request request = new Request(lanes[priority.ordinal()], timeoutMs, partition, admitted, callback);
+        request.lane.requests.offer(request);
+        queued.incrementAndGet();
+        if (terminated) { // the terminate() may have missed the request
+            failTerminated(request);
+            return request;
+        }
+
+        if (timeoutMs > 0) {
+            try {
+                request.timeout = timer.schedule(new Timeout(request), timeoutMs, MILLISECONDS);
+            } catch (RejectedExecutionException e) { // terminated concurrently
+                failTerminated(request);
+                return request;
+            }
+        }
+        dispatch();
+        return request;
+    }
+
+    /**
+     * Schedules a dispatching of the queued requests if there are any. Called after a connection has been restored.
+     */
+    void dispatch() {
+        if (queued.get() == 0 || terminated)
+            return;
+        if (dispatchScheduled.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(dispatchTask);
+            } catch (RejectedExecutionException e) { // terminated concurrently
+                dispatchScheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Takes a connection from the pool without waiting, but only if no request is queued, so that the queued requests
+     * are not overtaken. Used by the blocking {@code getConnection()} calls.
+     *
+     * @param priority the priority of the caller
+     * @param partition the partition to which the caller has been admitted, can be {@code null}
+     * @return the taken proxy connection, or {@code null} if there are queued requests or no connection is available
+     * @throws SQLException if the creation of a new connection or a {@link Hook.GetConnection} hook has failed
+     */
+    Connection takeIfNoneQueued(Priority priority, Partition partition) throws SQLException {
+        if (queued.get() > 0)
+            return null;
+
+        ConnHolder connHolder;
+        try {
+            connHolder = poolService.tryTake(0, MILLISECONDS);
+        } catch (ViburDBCPException e) {
+            throw e.unwrapSQLException();
+        }
+        return connHolder != null ? complete(lanes[priority.ordinal()], connHolder, 0, partition) : null;
+    }
+
+    private void drain() {
+        List<Partition> blocked = null; // the partitions which could not admit a request during this drain
+        ConnHolder connHolder = null; // a taken connection which has not been handed over to a request yet
+        try {
+            Request request;
+            while ((request = nextRequest(blocked)) != null && !terminated) {
+                Partition admission = null; // the partition to which the request is admitted here
+                if (request.partition != null && !request.admitted) {
+                    if (!partitions.tryAcquire(request.partition)) {
+                        if (blocked == null)
+                            blocked = new ArrayList<>();
+                        blocked.add(request.partition); // stays queued until a connection of its partition is restored
+                        continue;
+                    }
+                    admission = request.partition;
+                }
+
+                if (connHolder == null) {
+                    if (poolService.remainingCreated() == 0 && poolService.createdTotal() < poolService.maxSize()) {
+                        release(admission);
+                        create(); // will be dispatched again when the new connection is restored to the pool
+                        return;
+                    }
+                    try {
+                        // waits in turn with the threads blocked in the pool
+                        connHolder = poolService.tryTake(waitMs(request), MILLISECONDS);
+                    } catch (ViburDBCPException e) { // the pool could grow meanwhile and has failed to create a connection
+                        release(admission);
+                        if (request.claim()) {
+                            dequeue(request);
+                            request.fail(e.unwrapSQLException());
+                        }
+                        continue;
+                    }
+                    if (connHolder == null) {
+                        release(admission);
+                        if (Thread.currentThread().isInterrupted())
+                            return; // terminated
+                        continue; // the wait has elapsed, the queued requests are examined again
+                    }
+                }
+
+                if (!request.claim()) { // timed out or cancelled concurrently, the connection goes to the next request
+                    release(admission);
+                    continue;
+                }
+                dequeue(request);
+                ConnHolder taken = connHolder;
+                connHolder = null;
+                try {
+                    request.connHolder = taken;
+                    request.succeed(complete(request.lane, taken, System.nanoTime() - request.startNanoTime,
+                            request.partition));
+                } catch (SQLException e) {
+                    release(admission);
+                    request.fail(e);
+                }
+            }
+        } finally {
+            if (connHolder != null)
+                restoreUnused(connHolder);
+        }
+    }
+
+    /** Returns the time for which the dispatcher may wait in the pool for a connection for the given request. */
+    private static long waitMs(Request request) {
+        long waitMs = DISPATCH_WAIT_MAX_MS;
+        if (request.timeoutMs > 0)
+            waitMs = Math.min(waitMs, request.timeoutMs - NANOSECONDS.toMillis(System.nanoTime() - request.startNanoTime));
+        return Math.max(1, waitMs);
+    }
+
+    /**
+     * Requests the creation of a new connection by a creator thread, unless the connections which are being created
+     * already suffice for the queued requests or for the pool max size.
+     */
+    private void create() {
+        int count;
+        do {
+            count = creating.get();
+            if (count >= queued.get() || poolService.createdTotal() + count >= poolService.maxSize())
+                return;
+        } while (!creating.compareAndSet(count, count + 1));
+
+        try {
+            creator.execute(createTask);
+        } catch (RejectedExecutionException e) { // terminated concurrently
+            creating.decrementAndGet();
+        }
+    }
+
+    /**
+     * Creates a new connection and restores it to the pool as unused. If the creation fails, fails the next
+     * queued request, as a {@code getConnection()} call would fail.
+     */
+    private void createConnection() {
+        ConnHolder connHolder;
+        try {
+            connHolder = poolService.tryTake(0, MILLISECONDS); // creates a new connection if the pool can grow
+        } catch (ViburDBCPException e) {
+            Request request = nextRequest(null);
+            if (request != null && request.claim()) {
+                dequeue(request);
+                request.fail(e.unwrapSQLException());
+            }
+            return;
+        }
+        if (connHolder != null)
+            restoreUnused(connHolder);
+    }
+
+    /**
+     * Restores a connection which was taken from the pool but was not handed over to a request, without calling
+     * the {@link Hook.CloseConnection} hooks and without resetting its idle time.
+     */
+    private void restoreUnused(ConnHolder connHolder) {
+        connHolder.setUnused(true);
+        poolService.restore(connHolder, true);
+    }
+
+    /**
+     * Returns the first admissible request of the lane of the highest priority, or the oldest of the first admissible
+     * requests of the lanes which have waited for longer than the starvation limit, or {@code null} if no admissible
+     * request is queued. A request is admissible if it has been already admitted to its partition, or if its
+     * partition is not among the given blocked partitions.
+     *
+     * @param blocked the partitions which cannot admit a request at the moment, can be {@code null}
+     */
+    private Request nextRequest(List<Partition> blocked) {
+        long nanoTime = System.nanoTime();
+        Request first = null;
+        Request starving = null;
+        for (Lane lane : lanes) {
+            Request head;
+            while ((head = lane.requests.peek()) != null && head.isClaimed()) // timed out or cancelled
+                dequeue(head);
+            if (head != null && blocked != null)
+                head = firstAdmissible(lane, blocked);
+            if (head == null)
+                continue;
+
+            if (first == null)
+                first = head;
+            if (starvationLimitNanos > 0 && nanoTime - head.startNanoTime >= starvationLimitNanos
+                    && (starving == null || head.startNanoTime - starving.startNanoTime < 0))
+                starving = head;
+        }
+        return starving != null ? starving : first;
+    }
+
+    private static Request firstAdmissible(Lane lane, List<Partition> blocked) {
+        for (Request request : lane.requests) {
+            if (!request.isClaimed() && (request.admitted || !blocked.contains(request.partition)))
+                return request;
+        }
+        return null;
+    }
+
+    private void release(Partition admission) {
+        if (admission != null)
+            partitions.release(admission);
+    }
+
+    private Connection complete(Lane lane, ConnHolder connHolder, long waitedNanos, Partition partition) throws SQLException {
+        SQLException sqlException = poolOperations.onGetConnection(connHolder, waitedNanos);
+        if (sqlException != null) {
+            poolService.restore(connHolder, false);
+            dispatch();
+            throw sqlException;
+        }
+        lane.acquired(waitedNanos);
+        return poolOperations.newProxyConnection(connHolder, partition);
+    }
+
+    private void dequeue(Request request) {
+        if (request.lane.requests.remove(request))
+            queued.decrementAndGet();
+    }
+
+    private void failTerminated(Request request) {
+        if (request.claim()) {
+            dequeue(request);
+            request.fail(new SQLException(format("Pool %s, the poolService is terminated.", getPoolName(dataSource)),
+                    SQLSTATE_POOL_CLOSED_ERROR));
+        }
+    }
+
+    /**
+     * Fails all queued requests with an {@code SQLException} with SQL state {@code SQLSTATE_POOL_CLOSED_ERROR}.
+     */
+    void terminate() {
+        terminated = true;
+        dispatcher.shutdownNow();
+        creator.shutdownNow();
+        timer.shutdownNow();
+
+        for (Lane lane : lanes) {
+            Request request;
+            while ((request = lane.requests.peek()) != null) {
+                failTerminated(request);
+                dequeue(request); // if already claimed
+            }
+        }
+    }
+
+    /**
+     * Withdraws the given request of a blocking caller which has been interrupted. If the request is being completed
+     * concurrently, waits for the completion and closes the obtained connection, which then does not release
+     * the admission to its partition, as the caller releases it.
+     */
+    void abandon(Future<Connection> future) {
+        Request request = (Request) future;
+        if (request.cancel(false))
+            return;
+
+        boolean interrupted = Thread.interrupted(); // clears the flag to wait for the completion
+        try {
+            request.done.await();
+        } catch (InterruptedException ignored) {
+            // cannot happen as the flag is cleared
+        } finally {
+            if (interrupted)
+                Thread.currentThread().interrupt();
+        }
+        if (request.connection != null) {
+            request.connHolder.setPartition(null);
+            try {
+                request.connection.close();
+            } catch (SQLException ignored) {
+                // the proxy connection close does not throw
+            }
+        }
+    }
+
+    /** Returns the number of the connections acquired by the {@code getConnection()} calls of the given priority. */
+    public long getAcquiredCount(Priority priority) {
+        return lanes[priority.ordinal()].acquired.get();
+    }
+
+    /** Returns the total time for which the acquired connections of the given priority waited, in nanoseconds. */
+    public long getWaitTotalNanos(Priority priority) {
+        return lanes[priority.ordinal()].waitTotalNanos.get();
+    }
+
+    /** Returns the maximum time for which an acquired connection of the given priority waited, in nanoseconds. */
+    public long getWaitMaxNanos(Priority priority) {
+        return lanes[priority.ordinal()].waitMaxNanos.get();
+    }
+
+    /** Returns the number of the queued requests of the given priority which have timed out. */
+    public long getTimeoutCount(Priority priority) {
+        return lanes[priority.ordinal()].timeouts.get();
+    }
+
+    /** Returns the number of the currently queued requests of the given priority. */
+    public int getQueuedCount(Priority priority) {
+        return lanes[priority.ordinal()].requests.size();
+    }
+
+    private static final class Lane {
+        private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+        private final AtomicLong acquired = new AtomicLong(0);
+        private final AtomicLong waitTotalNanos = new AtomicLong(0);
+        private final AtomicLong waitMaxNanos = new AtomicLong(0);
+        private final AtomicLong timeouts = new AtomicLong(0);
+
+        private void acquired(long waitedNanos) {
+            acquired.incrementAndGet();
+            waitTotalNanos.addAndGet(waitedNanos);
+            long maxNanos;
+            do {
+                maxNanos = waitMaxNanos.get();
+            } while (waitedNanos > maxNanos && !waitMaxNanos.compareAndSet(maxNanos, waitedNanos));
+        }
+    }
+
+    private class Timeout implements Runnable {
+        private final Request request;
+
+        private Timeout(Request request) {
+            this.request = request;
+        }
+
+        @Override
+        public void run() {
+            if (!request.claim())
+                return;
+            dequeue(request);
+            request.lane.timeouts.incrementAndGet();
+
+            long waitedNanos = System.nanoTime() - request.startNanoTime;
+            SQLException sqlException = poolOperations.createSQLException(waitedNanos);
+            SQLException hookException = poolOperations.onGetConnection(null, waitedNanos);
+            if (hookException != null)
+                sqlException.setNextException(hookException);
+            request.fail(sqlException);
+        }
+    }
+
+    /**
+     * An asynchronous connection request and its future. The first of the dispatcher, the timer, the
+     * {@link #cancel}, or the termination, which {@link #claim claims} the request, completes it.
+     */
+    private final class Request implements Future<Connection> {
+        private final Lane lane;
+        private final long timeoutMs;
+        private final Partition partition;
+        private final boolean admitted;
+        private final ConnectionCallback callback;
+        private final long startNanoTime = System.nanoTime();
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile ScheduledFuture<?> timeout = null;
+
+        private volatile ConnHolder connHolder = null;
+        private volatile Connection connection = null;
+        private volatile SQLException exception = null;
+        private volatile boolean cancelled = false;
+
+        private Request(Lane lane, long timeoutMs, Partition partition, boolean admitted, ConnectionCallback callback) {
+            this.lane = lane;
+            this.timeoutMs = timeoutMs;
+            this.partition = partition;
+            this.admitted = admitted;
+            this.callback = callback;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private boolean isClaimed() {
+            return claimed.get();
+        }
+
+        private void succeed(Connection connection) {
+            this.connection = connection;
+            finish();
+            if (callback != null) {
+                try {
+                    callback.onConnection(connection);
+                } catch (RuntimeException e) {
+                    logger.warn("The callback of a connection request in pool {} has thrown", getPoolName(dataSource), e);
+                }
+            }
+        }
+
+        private void fail(SQLException exception) {
+            this.exception = exception;
+            finish();
+            if (callback != null) {
+                try {
+                    callback.onError(exception);
+                } catch (RuntimeException e) {
+                    logger.warn("The callback of a connection request in pool {} has thrown", getPoolName(dataSource), e);
+                }
+            }
+        }
+
+        private void finish() {
+            ScheduledFuture<?> timeout = this.timeout;
+            if (timeout != null)
+                timeout.cancel(false);
+            done.countDown();
+        }
+
+        /**
+         * Cancels the request if it is not completed yet. Once the request is being completed with a connection,
+         * it cannot be cancelled, and the connection is owned by the callback or by the caller of {@link #get}.
+         */
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            if (!claim())
+                return false;
+            dequeue(this);
+            cancelled = true;
+            finish();
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return done.getCount() == 0;
+        }
+
+        @Override
+        public Connection get() throws InterruptedException, ExecutionException {
+            done.await();
+            return result();
+        }
+
+        @Override
+        public Connection get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done.await(timeout, unit))
+                throw new TimeoutException();
+            return result();
+        }
+
+        private Connection result() throws ExecutionException {
+            if (cancelled)
+                throw new CancellationException();
+            if (exception != null)
+                throw new ExecutionException(exception);
+            return connection;
+        }
+    }
+
+    private class DaemonThreadFactory implements ThreadFactory {
+        private final String role;
+
+        private DaemonThreadFactory(String role) {
+            this.role = role;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, AsyncConnectionRequests.class.getSimpleName() + '-' + role
+                    + " for pool " + dataSource.getName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package org.vibur.dbcp.pool;
 
 import java.sql.Connection;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The stateful versioned object which is held in the object pool. It is just a thin wrapper around the raw
@@ -31,7 +32,20 @@ public class ConnHolder extends TakenConnection {
     private final Connection rawConnection; // the underlying raw JDBC Connection
     private final int version; // the version of the ConnectionFactory at the moment of this ConnHolder object creation
 
-    private long restoredNanoTime; // != 0 only when connection validation is enabled via getConnectionIdleLimitInSeconds() >= 0
+    private volatile long restoredNanoTime; // != 0 only when the connections idle time is tracked, see ConnectionFactory
+    private ConnectionPartitions.Partition partition = null; // the partition which has taken this connection, if any
+    private boolean unused = false; // true if taken from the pool but not handed over to the application, see ConnectionFactory
+    private volatile boolean recheck = false; // true if taken when a rolling drain started, see RollingDrainer
+
+    // The idle states, used only when the background validation of the idle connections is enabled:
+    private static final int NOT_IDLE = 0; // taken, or not restored in the pool yet
+    private static final int IDLE = 1;
+    private static final int VALIDATING = 2;
+    private static final int INVALID = 3;
+    private static final int SKIPPED = 4; // taken by the pool while being validated, see markTaken()
+    private static final int DESTROY_DEFERRED = 5; // skipped, and its destruction is left to the validator
+
+    private final AtomicInteger idleState = new AtomicInteger(NOT_IDLE);
 
     ConnHolder(Connection rawConnection, int version, long currentNanoTime) {
         assert rawConnection != null;
@@ -63,6 +77,103 @@ public class ConnHolder extends TakenConnection {
         this.restoredNanoTime = restoredNanoTime;
     }
 
+    ConnectionPartitions.Partition getPartition() {
+        return partition;
+    }
+
+    void setPartition(ConnectionPartitions.Partition partition) {
+        this.partition = partition;
+    }
+
+    boolean isUnused() {
+        return unused;
+    }
+
+    void setUnused(boolean unused) {
+        this.unused = unused;
+    }
+
+    /** Marks this connection as idle, i.e., as restored in the pool. */
+    void markIdle() {
+        idleState.set(IDLE);
+    }
+
+    /**
+     * Marks this connection as taken from the pool. If the connection is being validated by the background
+     * validator, does not wait for the validation to complete but marks the connection as skipped instead.
+     * The pool takes such a connection only if it has no other available connection, as the
+     * {@link ValidationSkippingCollection} passes over it.
+     *
+     * @return false if the background validation of the connection has failed or is in progress, true otherwise
+     */
+    boolean markTaken() {
+        for (;;) {
+            int state = idleState.get();
+            if (state == VALIDATING) {
+                if (idleState.compareAndSet(VALIDATING, SKIPPED))
+                    return false;
+            }
+            else if (idleState.compareAndSet(state, NOT_IDLE))
+                return state != INVALID;
+        }
+    }
+
+    /**
+     * Marks this connection for a validation when it is next restored in or taken from the pool, if it is
+     * currently taken, i.e., if the rolling drainer cannot validate it while idle.
+     *
+     * @return true if the connection has been marked
+     */
+    boolean markForRecheckIfTaken() {
+        if (idleState.get() != NOT_IDLE)
+            return false;
+        recheck = true;
+        return true;
+    }
+
+    /**
+     * Clears the mark set by {@link #markForRecheckIfTaken}.
+     *
+     * @return true if the connection was marked, i.e., has to be validated now
+     */
+    boolean clearRecheck() {
+        if (!recheck)
+            return false;
+        recheck = false;
+        return true;
+    }
+
+    /** Returns true if this connection is currently being validated in the background. */
+    boolean isValidating() {
+        return idleState.get() == VALIDATING;
+    }
+
+    /** Claims this connection for a background validation; succeeds only if the connection is idle. */
+    boolean claimForValidation() {
+        return idleState.compareAndSet(IDLE, VALIDATING);
+    }
+
+    /**
+     * Completes the background validation claimed via {@link #claimForValidation}.
+     *
+     * @return true if the pool has tried to destroy the connection while it was being validated, in which case
+     *         the caller has to complete the connection destruction; false otherwise
+     */
+    boolean validated(boolean valid) {
+        return !idleState.compareAndSet(VALIDATING, valid ? IDLE : INVALID)
+                && !idleState.compareAndSet(SKIPPED, NOT_IDLE);
+    }
+
+    /**
+     * Defers the destruction of this connection to the background validator if the connection is still being
+     * validated after it was skipped by {@link #markTaken}.
+     *
+     * @return true if the destruction was deferred, false if the connection can be destroyed right away
+     */
+    boolean deferDestroy() {
+        return idleState.compareAndSet(SKIPPED, DESTROY_DEFERRED);
+    }
+
     @Override
     public void setLastAccessNanoTime(long lastAccessNanoTime) {
         super.setLastAccessNanoTime(lastAccessNanoTime);
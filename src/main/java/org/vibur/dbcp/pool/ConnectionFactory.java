@@ -21,14 +21,25 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vibur.dbcp.ViburConfig;
 import org.vibur.dbcp.ViburDBCPException;
+import org.vibur.dbcp.ViburMetrics;
 import org.vibur.dbcp.pool.HookHolder.ConnHooksAccessor;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_INTERRUPTED_ERROR;
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_TIMEOUT_ERROR;
 import static org.vibur.dbcp.util.JdbcUtils.*;
 
 /**
@@ -51,7 +62,15 @@ public class ConnectionFactory implements ViburObjectFactory {
 
     private final ViburConfig config;
     private final ConnHooksAccessor connHooksAccessor;
+    private final ViburMetrics metrics;
     private final AtomicInteger version = new AtomicInteger(1);
+    private final Set<ConnHolder> connHolders; // all created connections, non-null only if the background validation or the rolling drain is enabled
+    private volatile AsyncConnectionCreator asyncConnectionCreator = null;
+
+    private final Semaphore createPermits; // non-null only if the connectionCreateMaxConcurrency is limited
+    private final AtomicLong createdCount = new AtomicLong(0);
+    private final AtomicLong createdTotalNanos = new AtomicLong(0);
+    private final AtomicLong createdMaxNanos = new AtomicLong(0);
 
     /**
      * Instantiates this object factory.
@@ -62,34 +81,105 @@ public class ConnectionFactory implements ViburObjectFactory {
     public ConnectionFactory(ViburConfig config) throws ViburDBCPException {
         this.config = config;
         this.connHooksAccessor = (ConnHooksAccessor) config.getConnHooks();
+        this.metrics = config.getMetrics();
+        this.connHolders = config.getIdleValidationIntervalInSeconds() > 0 || config.isRollingDrainOnCriticalSQLState() ?
+                Collections.newSetFromMap(new ConcurrentHashMap<ConnHolder, Boolean>()) : null;
+        this.createPermits = config.getConnectionCreateMaxConcurrency() > 0 ?
+                new Semaphore(config.getConnectionCreateMaxConcurrency(), true) : null;
         initLoginTimeout(config);
     }
 
     @Override
     public ConnHolder create() throws ViburDBCPException {
-        return create(config.getConnector());
+        ConnHolder connHolder = null;
+        AsyncConnectionCreator asyncConnectionCreator = this.asyncConnectionCreator;
+        if (asyncConnectionCreator != null)
+            connHolder = asyncConnectionCreator.takeSpare();
+        if (connHolder == null)
+            connHolder = createUntracked(config.getConnector());
+
+        if (connHolders != null && config.getPool() == null)
+            connHolder.markIdle(); // an initial connection of the pool which is being constructed
+        return prepareTracking(connHolder);
     }
 
     @Override
     public ConnHolder create(Connector connector) throws ViburDBCPException {
-        Connection rawConnection = null;
-        SQLException sqlException = null;
-        long startNanoTime = System.nanoTime();
+        return prepareTracking(createUntracked(connector));
+    }
 
+    /**
+     * Creates a new connection without preparing its tracking information, i.e., the connection is not yet
+     * associated with the thread that will take it.
+     */
+    ConnHolder createUntracked(Connector connector) throws ViburDBCPException {
+        acquireCreatePermit();
         try {
-            rawConnection = requireNonNull(connector.connect());
+            Connection rawConnection = null;
+            SQLException sqlException = null;
+            long startNanoTime = System.nanoTime();
+
+            try {
+                rawConnection = requireNonNull(connector.connect());
+
+            } catch (SQLException e) {
+                sqlException = e;
+                logger.debug("Couldn't create rawConnection", e);
+            }
 
-        } catch (SQLException e) {
-            sqlException = e;
-            logger.debug("Couldn't create rawConnection", e);
+            ConnHolder connHolder;
+            try {
+                connHolder = postCreate(rawConnection, sqlException, startNanoTime);
+            } catch (ViburDBCPException e) {
+                if (metrics != null)
+                    metrics.connectionCreateFailed();
+                throw e;
+            }
+
+            long createNanos = System.nanoTime() - startNanoTime;
+            recordCreateTime(createNanos);
+            if (metrics != null)
+                metrics.connectionCreated(createNanos);
+            return connHolder;
+        } finally {
+            if (createPermits != null)
+                createPermits.release();
+        }
+    }
+
+    private void acquireCreatePermit() throws ViburDBCPException {
+        if (createPermits == null)
+            return;
+
+        long timeoutMs = config.getConnectionTimeoutInMs();
+        try {
+            if (timeoutMs > 0) {
+                if (!createPermits.tryAcquire(timeoutMs, MILLISECONDS))
+                    throw new ViburDBCPException(new SQLException(String.format(
+                            "Couldn't start the creation of a new connection within %d ms, %d threads are waiting.",
+                            timeoutMs, createPermits.getQueueLength()), SQLSTATE_TIMEOUT_ERROR));
+            }
+            else
+                createPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // ensure the interrupt flag is preserved
+            throw new ViburDBCPException(new SQLException(
+                    "Interrupted while waiting to create a new connection.", SQLSTATE_INTERRUPTED_ERROR, e));
         }
+    }
 
-        return postCreate(rawConnection, sqlException, startNanoTime);
+    private void recordCreateTime(long createNanos) {
+        createdCount.incrementAndGet();
+        createdTotalNanos.addAndGet(createNanos);
+        long maxNanos;
+        do {
+            maxNanos = createdMaxNanos.get();
+        } while (createNanos > maxNanos && !createdMaxNanos.compareAndSet(maxNanos, createNanos));
     }
 
     private ConnHolder postCreate(Connection rawConnection, SQLException sqlException, long startNanoTime) throws ViburDBCPException {
         Hook.InitConnection[] onInit = connHooksAccessor.onInit();
-        long currentNanoTime = onInit.length > 0 || config.getConnectionIdleLimitInSeconds() >= 0 ? System.nanoTime() : 0;
+        long currentNanoTime = onInit.length > 0 || isIdleTimeTracked() ? System.nanoTime() : 0;
 
         if (onInit.length > 0) {
             try {
@@ -107,33 +197,70 @@ public class ConnectionFactory implements ViburObjectFactory {
             throw new ViburDBCPException(sqlException);
 
         logger.debug("Created rawConnection {}", rawConnection);
-        return prepareTracking(new ConnHolder(rawConnection, version(),
-                config.getConnectionIdleLimitInSeconds() >= 0 ? currentNanoTime : 0));
+        ConnHolder connHolder = new ConnHolder(rawConnection, version(), isIdleTimeTracked() ? currentNanoTime : 0);
+        if (connHolders != null)
+            connHolders.add(connHolder);
+        return connHolder;
+    }
+
+    private boolean isIdleTimeTracked() {
+        return config.getConnectionIdleLimitInSeconds() >= 0 || connHolders != null;
     }
 
     @Override
     public boolean readyToTake(ConnHolder connHolder) {
+        if (connHolders != null && !connHolder.markTaken()) {
+            logger.debug("Background validation failed or in progress for rawConnection {}", connHolder.rawConnection());
+            return false;
+        }
+        if (!isValidToTake(connHolder))
+            return false;
+
+        prepareTracking(connHolder);
+        return true;
+    }
+
+    /**
+     * Checks whether the given connection is of the current version and, if it has been idle for at least
+     * the {@code connectionIdleLimitInSeconds} or has been marked for a recheck by the {@link RollingDrainer},
+     * validates it.
+     */
+    boolean isValidToTake(ConnHolder connHolder) {
         if (connHolder.version() != version())
             return false;
+        if (!isRechecked(connHolder))
+            return false;
 
         int idleLimit = config.getConnectionIdleLimitInSeconds();
         if (idleLimit >= 0) {
             long idleNanos = System.nanoTime() - connHolder.getRestoredNanoTime();
-            if (NANOSECONDS.toSeconds(idleNanos) >= idleLimit
-                    && !validateOrInitialize(connHolder.rawConnection(), config.getTestConnectionQuery(), config)) {
-                logger.debug("Couldn't validate rawConnection {}", connHolder.rawConnection());
-                return false;
+            if (NANOSECONDS.toSeconds(idleNanos) >= idleLimit) {
+                boolean valid = validateOrInitialize(connHolder.rawConnection(), config.getTestConnectionQuery(), config);
+                if (metrics != null)
+                    metrics.connectionValidated(valid);
+                if (!valid) {
+                    logger.debug("Couldn't validate rawConnection {}", connHolder.rawConnection());
+                    return false;
+                }
             }
         }
-
-        prepareTracking(connHolder);
         return true;
     }
 
     @Override
     public boolean readyToRestore(ConnHolder connHolder) {
+        if (connHolder.isUnused()) { // was never handed over to the application, see AsyncConnectionRequests
+            connHolder.setUnused(false);
+            clearTracking(connHolder);
+            if (!isRechecked(connHolder))
+                return false;
+            if (connHolders != null)
+                connHolder.markIdle();
+            return true; // the idle time of the connection is not reset, and the close hooks are not called
+        }
+
         Hook.CloseConnection[] onClose = connHooksAccessor.onClose();
-        long currentNanoTime = onClose.length > 0 || config.getConnectionIdleLimitInSeconds() >= 0 ? System.nanoTime() : 0;
+        long currentNanoTime = onClose.length > 0 || isIdleTimeTracked() ? System.nanoTime() : 0;
 
         long startNanoTime = connHolder.getTakenNanoTime();
         clearTracking(connHolder); // we don't want to keep the tracking objects references
@@ -150,17 +277,101 @@ public class ConnectionFactory implements ViburObjectFactory {
                 return false;
             }
         }
+        if (!isRechecked(connHolder))
+            return false;
 
-        if (config.getConnectionIdleLimitInSeconds() >= 0)
+        if (isIdleTimeTracked())
             connHolder.setRestoredNanoTime(currentNanoTime);
+        if (connHolders != null)
+            connHolder.markIdle();
         return true;
     }
 
+    /**
+     * Validates the given connection if it has been marked for a recheck by the {@link RollingDrainer}.
+     *
+     * @return false if the connection has been marked and has failed the validation, true otherwise
+     */
+    private boolean isRechecked(ConnHolder connHolder) {
+        if (!connHolder.clearRecheck())
+            return true;
+
+        boolean valid = validateOrInitialize(connHolder.rawConnection(), config.getTestConnectionQuery(), config);
+        if (metrics != null)
+            metrics.connectionValidated(valid);
+        if (!valid)
+            logger.debug("Couldn't recheck rawConnection {}", connHolder.rawConnection());
+        return valid;
+    }
+
+    /**
+     * Validates all connections which have been idle in the pool for at least {@code idleNanos}, and marks them
+     * as freshly restored if the validation succeeds. The connections which fail the validation are destroyed
+     * by the pool when next taken. A connection which is being validated is passed over by the pool, see
+     * {@link ValidationSkippingCollection}; if the pool still takes it and destroys it meanwhile, the destruction is completed here once the
+     * validation is over. Used by the {@link IdleConnectionValidator} and the {@link RollingDrainer}.
+     *
+     * <p>If {@code recheckTaken} is set, the connections which are taken when the validation starts, or when
+     * the validation reaches them, are marked to be validated when they are next restored or taken instead.
+     *
+     * @param idleNanos the minimum idle time of the connections to validate
+     * @param pauseNanos the time to pause for after each validation, in order to limit the validations rate
+     * @param recheckTaken whether to mark the taken connections for a recheck
+     * @return the number of validated connections
+     */
+    int validateIdle(long idleNanos, long pauseNanos, boolean recheckTaken) {
+        if (connHolders == null)
+            return 0;
+
+        if (recheckTaken) {
+            int marked = 0;
+            for (ConnHolder connHolder : connHolders) {
+                if (connHolder.markForRecheckIfTaken())
+                    marked++;
+            }
+            logger.debug("Marked {} taken connections for a recheck", marked);
+        }
+
+        int validated = 0;
+        for (ConnHolder connHolder : connHolders) {
+            if (Thread.currentThread().isInterrupted())
+                break;
+            if (connHolder.version() != version()
+                    || System.nanoTime() - connHolder.getRestoredNanoTime() < idleNanos)
+                continue;
+            if (!connHolder.claimForValidation()) {
+                if (recheckTaken) // taken since the validation started
+                    connHolder.markForRecheckIfTaken();
+                continue;
+            }
+
+            boolean valid = false;
+            try {
+                valid = validateOrInitialize(connHolder.rawConnection(), config.getTestConnectionQuery(), config);
+                if (valid)
+                    connHolder.setRestoredNanoTime(System.nanoTime());
+                else
+                    logger.debug("Couldn't validate rawConnection {}", connHolder.rawConnection());
+            } finally {
+                if (connHolder.validated(valid))
+                    destroyRaw(connHolder);
+            }
+            if (metrics != null)
+                metrics.connectionValidated(valid);
+            validated++;
+            if (pauseNanos > 0)
+                LockSupport.parkNanos(pauseNanos);
+        }
+        return validated;
+    }
+
     private ConnHolder prepareTracking(ConnHolder connHolder) {
         if (config.isPoolEnableConnectionTracking()) {
             connHolder.setTakenNanoTime(System.nanoTime());
             connHolder.setThread(Thread.currentThread());
-            connHolder.setLocation(new Throwable());
+            int sampleRate = config.getPoolConnectionTrackingSampleRate();
+            if (sampleRate == 1 || sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0)
+                connHolder.setLocation(new Throwable());
         }
         else if (connHooksAccessor.onGet().length > 0 || connHooksAccessor.onClose().length > 0)
             connHolder.setTakenNanoTime(System.nanoTime());
@@ -180,8 +391,19 @@ public class ConnectionFactory implements ViburObjectFactory {
 
     @Override
     public void destroy(ConnHolder connHolder) {
+        if (connHolders != null && connHolder.deferDestroy()) {
+            logger.debug("Deferring the destruction of rawConnection {} until its validation completes",
+                    connHolder.rawConnection());
+            return;
+        }
+        destroyRaw(connHolder);
+    }
+
+    private void destroyRaw(ConnHolder connHolder) {
         Connection rawConnection = connHolder.rawConnection();
         logger.debug("Destroying rawConnection {}", rawConnection);
+        if (connHolders != null)
+            connHolders.remove(connHolder);
         closeStatements(rawConnection);
 
         Hook.DestroyConnection[] onDestroy = connHooksAccessor.onDestroy();
@@ -191,6 +413,8 @@ public class ConnectionFactory implements ViburObjectFactory {
         long takenNanos = onDestroy.length == 0 ? 0 : System.nanoTime() - startTime;
         for (Hook.DestroyConnection hook : onDestroy)
             hook.on(rawConnection, takenNanos);
+        if (metrics != null)
+            metrics.connectionDestroyed();
     }
 
     private void closeStatements(Connection rawConnection) {
@@ -198,6 +422,31 @@ public class ConnectionFactory implements ViburObjectFactory {
             config.getStatementCache().removeAll(rawConnection);
     }
 
+    /** Returns the number of threads which are waiting to start the creation of a new connection. */
+    public int getCreateWaiters() {
+        return createPermits != null ? createPermits.getQueueLength() : 0;
+    }
+
+    /** Returns the number of connections successfully created by this factory. */
+    public long getCreatedCount() {
+        return createdCount.get();
+    }
+
+    /** Returns the average time taken to create a connection, including its init hooks, in nanoseconds. */
+    public long getCreateAvgNanos() {
+        long count = createdCount.get();
+        return count > 0 ? createdTotalNanos.get() / count : 0;
+    }
+
+    /** Returns the maximum time taken to create a connection, including its init hooks, in nanoseconds. */
+    public long getCreateMaxNanos() {
+        return createdMaxNanos.get();
+    }
+
+    void setAsyncConnectionCreator(AsyncConnectionCreator asyncConnectionCreator) {
+        this.asyncConnectionCreator = asyncConnectionCreator;
+    }
+
     @Override
     public int version() {
         return version.get();
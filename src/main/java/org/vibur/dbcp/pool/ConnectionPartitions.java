@@ -0,0 +1,271 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.vibur.dbcp.ViburConfig;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static java.lang.Integer.parseInt;
+
+/**
+ * Bulkheads the workloads which share the pool into named partitions, as configured via
+ * {@link ViburConfig#getPoolPartitions() poolPartitions}. Each partition has a min-reserved count, i.e. the number of
+ * the pool connections which only this partition can take, and a max-borrowable count, i.e. the max number of
+ * the connections which this partition can hold taken at the same time. A connection can be taken by a partition
+ * only if the partition holds less than its max-borrowable connections, and if taking it still leaves enough
+ * capacity in the pool for the unused reserves of all other partitions.
+ *
+ * <p>The calls of {@code getConnection()} without a partition are served by the partition named
+ * {@value #DEFAULT_PARTITION}; if it is not configured, it has no reserve and can borrow up to the pool max size.
+ *
+ * <p>The admission to a partition precedes the taking of a connection from the pool, and is released when
+ * the connection is restored. The admission is lock-free: a partition below its reserve takes a connection
+ * by a CAS on its own counter only, and a partition above its reserve also takes a permit from the shared
+ * borrowable capacity, i.e. the pool max size less the sum of all reserves. Only the threads which cannot be
+ * admitted park, each on the condition of its own partition, and a release signals a single waiter of
+ * the partition which can proceed.
+ */
+public class ConnectionPartitions {
+
+    public static final String DEFAULT_PARTITION = "default";
+
+    private final Map<String, Partition> partitions;
+    private final Partition[] partitionsArray;
+
+    /** The connections which can still be taken above the reserves of the partitions. */
+    private final AtomicInteger borrowable;
+    private final AtomicInteger nextSignalled = new AtomicInteger(0);
+
+    /**
+     * Creates the partitions from the given specification.
+     *
+     * @param specification a comma separated list of {@code name:minReserved:maxBorrowable}
+     * @param poolMaxSize the pool max size
+     * @throws IllegalArgumentException if the specification is malformed or cannot be satisfied by the pool max size
+     */
+    public ConnectionPartitions(String specification, int poolMaxSize) {
+        Map<String, Partition> partitions = new LinkedHashMap<>();
+        int reserves = 0;
+        for (String entry : specification.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 3 || parts[0].trim().isEmpty())
+                throw new IllegalArgumentException("Malformed partition " + entry + " in " + specification);
+
+            Partition partition = new Partition(parts[0].trim(), parseInt(parts[1].trim()), parseInt(parts[2].trim()));
+            if (partition.minReserved < 0 || partition.maxBorrowable <= 0 || partition.minReserved > partition.maxBorrowable
+                    || partition.maxBorrowable > poolMaxSize || partitions.put(partition.name, partition) != null)
+                throw new IllegalArgumentException("Illegal partition " + entry + " in " + specification);
+            reserves += partition.minReserved;
+        }
+        if (reserves > poolMaxSize)
+            throw new IllegalArgumentException("The partitions reserves exceed the poolMaxSize " + poolMaxSize);
+
+        if (!partitions.containsKey(DEFAULT_PARTITION))
+            partitions.put(DEFAULT_PARTITION, new Partition(DEFAULT_PARTITION, 0, poolMaxSize));
+        this.partitions = Collections.unmodifiableMap(partitions);
+        this.partitionsArray = partitions.values().toArray(new Partition[partitions.size()]);
+        this.borrowable = new AtomicInteger(poolMaxSize - reserves);
+    }
+
+    /**
+     * Returns the partition with the given name.
+     *
+     * @throws IllegalArgumentException if there is no such partition
+     */
+    public Partition getPartition(String name) {
+        Partition partition = partitions.get(name);
+        if (partition == null)
+            throw new IllegalArgumentException("Unknown partition " + name);
+        return partition;
+    }
+
+    public Collection<Partition> getPartitions() {
+        return partitions.values();
+    }
+
+    /**
+     * Admits the given partition to take a connection, waiting for up to the given timeout if needed.
+     *
+     * @param partition the partition
+     * @param timeoutNanos the timeout, {@code 0} means no timeout
+     * @return {@code true} if admitted, {@code false} on a timeout
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean acquire(Partition partition, long timeoutNanos) throws InterruptedException {
+        if (tryAcquire(partition))
+            return true;
+
+        boolean admitted = false;
+        partition.lock.lock();
+        partition.waiting.incrementAndGet(); // before the retry below, so that a concurrent release will signal us
+        try {
+            long remainingNanos = timeoutNanos;
+            while (!(admitted = tryAcquire(partition))) {
+                if (timeoutNanos == 0)
+                    partition.released.await();
+                else if (remainingNanos <= 0)
+                    return false;
+                else
+                    remainingNanos = partition.released.awaitNanos(remainingNanos);
+            }
+            return true;
+        } finally {
+            partition.waiting.decrementAndGet();
+            partition.lock.unlock();
+            if (!admitted) // we might have consumed a signal which another waiter can use
+                signal(partition);
+        }
+    }
+
+    /**
+     * Admits the given partition to take a connection if possible without waiting.
+     *
+     * @return {@code true} if admitted
+     */
+    boolean tryAcquire(Partition partition) {
+        boolean permitted = false; // whether we hold a permit from the borrowable capacity
+        for (;;) {
+            int taken = partition.taken.get();
+            if (taken >= partition.maxBorrowable)
+                break;
+
+            if (taken >= partition.minReserved && !permitted) {
+                if (!(permitted = tryTakePermit()))
+                    return false;
+            }
+            else if (taken < partition.minReserved && permitted) { // a connection of the reserve was released meanwhile
+                releasePermit();
+                permitted = false;
+            }
+
+            if (partition.taken.compareAndSet(taken, taken + 1))
+                return true;
+        }
+
+        if (permitted)
+            releasePermit();
+        return false;
+    }
+
+    /**
+     * Releases an admission of the given partition, when its connection has been restored or could not be taken.
+     */
+    void release(Partition partition) {
+        boolean borrowed = partition.taken.getAndDecrement() > partition.minReserved;
+        if (borrowed)
+            borrowable.incrementAndGet();
+
+        if (partition.waiting.get() > 0)
+            signal(partition);
+        else if (borrowed)
+            signalBorrower();
+    }
+
+    private boolean tryTakePermit() {
+        int permits;
+        do {
+            if ((permits = borrowable.get()) <= 0)
+                return false;
+        } while (!borrowable.compareAndSet(permits, permits - 1));
+        return true;
+    }
+
+    private void releasePermit() {
+        borrowable.incrementAndGet();
+        signalBorrower();
+    }
+
+    /**
+     * Signals a waiter of a partition which waits for a permit from the borrowable capacity, i.e. which holds
+     * its whole reserve but less than its max-borrowable connections. The partitions are scanned starting from
+     * a rotating index, so that none of them is starved.
+     */
+    private void signalBorrower() {
+        int start = nextSignalled.getAndIncrement() & Integer.MAX_VALUE;
+        for (int i = 0; i < partitionsArray.length; i++) {
+            Partition partition = partitionsArray[(start + i) % partitionsArray.length];
+            int taken = partition.taken.get();
+            if (partition.waiting.get() > 0 && taken >= partition.minReserved && taken < partition.maxBorrowable) {
+                signal(partition);
+                return;
+            }
+        }
+    }
+
+    private static void signal(Partition partition) {
+        if (partition.waiting.get() == 0)
+            return;
+        partition.lock.lock();
+        try {
+            partition.released.signal();
+        } finally {
+            partition.lock.unlock();
+        }
+    }
+
+    /** A named partition of the pool. */
+    public static final class Partition {
+        private final String name;
+        private final int minReserved;
+        private final int maxBorrowable;
+        private final AtomicInteger taken = new AtomicInteger(0);
+        private final AtomicInteger waiting = new AtomicInteger(0);
+
+        private final ReentrantLock lock = new ReentrantLock(); // guards only the parking of the waiters
+        private final Condition released = lock.newCondition();
+
+        private Partition(String name, int minReserved, int maxBorrowable) {
+            this.name = name;
+            this.minReserved = minReserved;
+            this.maxBorrowable = maxBorrowable;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getMinReserved() {
+            return minReserved;
+        }
+
+        public int getMaxBorrowable() {
+            return maxBorrowable;
+        }
+
+        /** Returns the number of the connections currently taken by this partition. */
+        public int getTaken() {
+            return taken.get();
+        }
+
+        /** Returns the number of the threads currently waiting to be admitted to this partition. */
+        public int getWaiting() {
+            return waiting.get();
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -19,6 +19,7 @@ package org.vibur.dbcp.pool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.util.LatencyHistogram;
 
 import java.lang.reflect.Method;
 import java.sql.Connection;
@@ -109,6 +110,26 @@ public abstract class DefaultHook {
         }
     }
 
+    public static final class GetConnectionLatency extends DefaultHook implements Hook.GetConnection {
+        private final LatencyHistogram histogram;
+
+        public GetConnectionLatency(ViburConfig config, LatencyHistogram histogram) {
+            super(config);
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void on(Connection rawConnection, long takenNanos) {
+            if (rawConnection != null)
+                histogram.record(takenNanos);
+        }
+
+        @Override
+        boolean isEnabled() {
+            return config.isEnableLatencyHistograms();
+        }
+    }
+
     public static final class CloseConnection extends DefaultHook implements Hook.CloseConnection {
         public CloseConnection(ViburConfig config) {
             super(config);
@@ -128,6 +149,25 @@ public abstract class DefaultHook {
         }
     }
 
+    public static final class ConnectionHoldLatency extends DefaultHook implements Hook.CloseConnection {
+        private final LatencyHistogram histogram;
+
+        public ConnectionHoldLatency(ViburConfig config, LatencyHistogram histogram) {
+            super(config);
+            this.histogram = histogram;
+        }
+
+        @Override
+        public void on(Connection rawConnection, long takenNanos) {
+            histogram.record(takenNanos);
+        }
+
+        @Override
+        boolean isEnabled() {
+            return config.isEnableLatencyHistograms();
+        }
+    }
+
     public static final class GetConnectionTimeout extends DefaultHook implements Hook.GetConnectionTimeout {
         public GetConnectionTimeout(ViburConfig config) {
             super(config);
@@ -200,6 +240,61 @@ public abstract class DefaultHook {
         }
     }
 
+    public static final class QueryLatency extends DefaultHook implements Hook.StatementExecution {
+        private final LatencyHistogram histogram;
+
+        public QueryLatency(ViburConfig config, LatencyHistogram histogram) {
+            super(config);
+            this.histogram = histogram;
+        }
+
+        @Override
+        public Object on(Statement proxy, Method method, Object[] args, String sqlQuery, List<Object[]> sqlQueryParams,
+                         StatementProceedingPoint proceed) throws SQLException {
+
+            long startNanoTime = System.nanoTime();
+            try {
+                return proceed.on(proxy, method, args, sqlQuery, sqlQueryParams, proceed);
+            } finally {
+                histogram.record(System.nanoTime() - startNanoTime);
+            }
+        }
+
+        @Override
+        boolean isEnabled() {
+            return config.isEnableLatencyHistograms();
+        }
+    }
+
+    public static final class QueryStatistics extends DefaultHook implements Hook.StatementExecution {
+        private final SqlStatistics statistics;
+
+        public QueryStatistics(ViburConfig config, SqlStatistics statistics) {
+            super(config);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public Object on(Statement proxy, Method method, Object[] args, String sqlQuery, List<Object[]> sqlQueryParams,
+                         StatementProceedingPoint proceed) throws SQLException {
+
+            long startNanoTime = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = proceed.on(proxy, method, args, sqlQuery, sqlQueryParams, proceed);
+                failed = false;
+                return result;
+            } finally {
+                statistics.recordExecution(sqlQuery, System.nanoTime() - startNanoTime, failed);
+            }
+        }
+
+        @Override
+        boolean isEnabled() {
+            return config.getSqlStatisticsMaxSize() > 0;
+        }
+    }
+
     public static final class ResultSetSize extends DefaultHook implements Hook.ResultSetRetrieval {
         public ResultSetSize(ViburConfig config) {
             super(config);
@@ -226,6 +321,25 @@ public abstract class DefaultHook {
         }
     }
 
+    public static final class ResultSetStatistics extends DefaultHook implements Hook.ResultSetRetrieval {
+        private final SqlStatistics statistics;
+
+        public ResultSetStatistics(ViburConfig config, SqlStatistics statistics) {
+            super(config);
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void on(String sqlQuery, List<Object[]> sqlQueryParams, long resultSetSize, long resultSetNanoTime) {
+            statistics.recordRows(sqlQuery, resultSetSize);
+        }
+
+        @Override
+        boolean isEnabled() {
+            return config.getSqlStatisticsMaxSize() > 0;
+        }
+    }
+
     ///////////////////////////////////////////////////////////////////////////////////////////////
     // Hooks utils:
 
@@ -0,0 +1,80 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ViburConfig;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.vibur.dbcp.util.ViburUtils.getPoolName;
+
+/**
+ * A background thread which periodically validates the idle connections in the pool (keepalive), so that
+ * the application threads rarely need to validate a connection when taking it from the pool. Each
+ * {@link ViburConfig#getIdleValidationIntervalInSeconds() idleValidationIntervalInSeconds}, the connections
+ * which have been idle for at least that long are validated via the {@link ViburConfig#getTestConnectionQuery()
+ * testConnectionQuery} and marked as freshly restored in the pool; the connections which fail the validation are
+ * destroyed when next taken.
+ *
+ * @see ConnectionFactory
+ */
+public class IdleConnectionValidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdleConnectionValidator.class);
+
+    private final ViburConfig config;
+    private final ConnectionFactory connectionFactory;
+    private final Thread validatorThread;
+
+    public IdleConnectionValidator(ViburConfig config, ConnectionFactory connectionFactory) {
+        this.config = config;
+        this.connectionFactory = connectionFactory;
+        this.validatorThread = new Thread(new Validator(), getClass().getSimpleName() + " for pool " + config.getName());
+        this.validatorThread.setDaemon(true);
+    }
+
+    public void start() {
+        validatorThread.start();
+    }
+
+    public void terminate() {
+        validatorThread.interrupt();
+    }
+
+    private class Validator implements Runnable {
+        @Override
+        public void run() {
+            long intervalNanos = SECONDS.toNanos(config.getIdleValidationIntervalInSeconds());
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    SECONDS.sleep(config.getIdleValidationIntervalInSeconds());
+                } catch (InterruptedException e) {
+                    break; // terminated
+                }
+
+                try {
+                    int validated = connectionFactory.validateIdle(intervalNanos, 0, false);
+                    if (logger.isDebugEnabled())
+                        logger.debug("Pool {}, validated {} idle connections.", getPoolName(config), validated);
+                } catch (RuntimeException e) {
+                    logger.warn("While validating the idle connections of pool {}", getPoolName(config), e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.ViburDBCPDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.vibur.dbcp.util.ViburUtils.getPoolName;
+import static org.vibur.dbcp.util.ViburUtils.getStackTraceAsString;
+
+/**
+ * A background thread which periodically scans the taken connections of the pool, and reports at WARN level
+ * the connections which have been held by the application for longer than the
+ * {@link ViburConfig#getLeakDetectionThresholdInSeconds() leakDetectionThresholdInSeconds}; each such connection
+ * is reported once. If the {@link ViburConfig#getLeakReclaimThresholdInSeconds() leakReclaimThresholdInSeconds}
+ * is enabled, the connections which have been held for longer than it are considered abandoned and are forcibly
+ * closed and destroyed via {@link ViburDBCPDataSource#severConnection}, so that a leaking code path cannot exhaust
+ * the pool; the subsequent operations of the application on such connections will fail.
+ *
+ * <p>The scan interval is half of the smaller enabled threshold, but not less than 1 second. The taken connections
+ * are known only if the {@link ViburConfig#isPoolEnableConnectionTracking() poolEnableConnectionTracking} is enabled.
+ */
+public class LeakDetector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeakDetector.class);
+
+    private final ViburDBCPDataSource dataSource;
+    private final Thread detectorThread;
+
+    private final Set<Connection> reported = Collections.newSetFromMap(new IdentityHashMap<Connection, Boolean>()); // accessed only by the detectorThread
+    private final AtomicLong detectedCount = new AtomicLong(0);
+    private final AtomicLong reclaimedCount = new AtomicLong(0);
+
+    public LeakDetector(ViburDBCPDataSource dataSource) {
+        this.dataSource = dataSource;
+        this.detectorThread = new Thread(new Detector(), getClass().getSimpleName() + " for pool " + dataSource.getName());
+        this.detectorThread.setDaemon(true);
+    }
+
+    public void start() {
+        detectorThread.start();
+    }
+
+    public void terminate() {
+        detectorThread.interrupt();
+    }
+
+    /** Returns the number of the taken connections which have been reported as possibly leaked. */
+    public long getDetectedCount() {
+        return detectedCount.get();
+    }
+
+    /** Returns the number of the abandoned connections which have been forcibly reclaimed. */
+    public long getReclaimedCount() {
+        return reclaimedCount.get();
+    }
+
+    /**
+     * Scans the currently taken connections once.
+     */
+    void scan() {
+        long detectionNanos = SECONDS.toNanos(dataSource.getLeakDetectionThresholdInSeconds());
+        long reclaimNanos = SECONDS.toNanos(dataSource.getLeakReclaimThresholdInSeconds());
+
+        TakenConnection[] takenConnections = dataSource.getTakenConnections();
+        Set<Connection> stillTaken = Collections.newSetFromMap(new IdentityHashMap<Connection, Boolean>());
+        long currentNanoTime = System.nanoTime();
+        for (TakenConnection takenConnection : takenConnections) {
+            Connection proxy = takenConnection.getProxyConnection();
+            if (proxy == null)
+                continue;
+            long heldNanos = currentNanoTime - takenConnection.getTakenNanoTime();
+
+            if (reclaimNanos > 0 && heldNanos >= reclaimNanos) {
+                reclaim(takenConnection, proxy, heldNanos);
+                continue;
+            }
+            if (detectionNanos > 0 && heldNanos >= detectionNanos) {
+                stillTaken.add(proxy);
+                if (reported.add(proxy))
+                    report(takenConnection, proxy, heldNanos);
+            }
+        }
+        reported.retainAll(stillTaken); // forgets the connections which have been closed in the meantime
+    }
+
+    private void report(TakenConnection takenConnection, Connection proxy, long heldNanos) {
+        detectedCount.incrementAndGet();
+        if (logger.isWarnEnabled())
+            logger.warn(describe("Possible leak in pool %s, %s has been held for %d ms by thread %s",
+                    takenConnection, proxy, heldNanos));
+    }
+
+    private void reclaim(TakenConnection takenConnection, Connection proxy, long heldNanos) {
+        try {
+            dataSource.severConnection(proxy);
+            reclaimedCount.incrementAndGet();
+            logger.error(describe("Reclaimed abandoned connection in pool %s, %s had been held for %d ms by thread %s",
+                    takenConnection, proxy, heldNanos));
+        } catch (SQLException e) {
+            logger.warn("Couldn't reclaim abandoned connection {} in pool {}", proxy, getPoolName(dataSource), e);
+        }
+    }
+
+    private String describe(String format, TakenConnection takenConnection, Connection proxy, long heldNanos) {
+        Thread thread = takenConnection.getThread();
+        StringBuilder message = new StringBuilder(4096).append(String.format(format, getPoolName(dataSource), proxy,
+                NANOSECONDS.toMillis(heldNanos), thread != null ? thread.getName() : null));
+
+        Throwable location = takenConnection.getLocation();
+        if (location != null)
+            message.append(", taken at:\n")
+                    .append(getStackTraceAsString(dataSource.getLogLineRegex(), location.getStackTrace()));
+        return message.toString();
+    }
+
+    private class Detector implements Runnable {
+        @Override
+        public void run() {
+            int detection = dataSource.getLeakDetectionThresholdInSeconds();
+            int reclaim = dataSource.getLeakReclaimThresholdInSeconds();
+            int threshold = detection > 0 && reclaim > 0 ? Math.min(detection, reclaim) : Math.max(detection, reclaim);
+            long intervalMs = Math.max(SECONDS.toMillis(1), SECONDS.toMillis(threshold) / 2);
+
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Thread.sleep(intervalMs);
+                } catch (InterruptedException e) {
+                    break; // terminated
+                }
+
+                try {
+                    scan();
+                } catch (RuntimeException e) {
+                    logger.warn("While scanning the taken connections of pool {}", getPoolName(dataSource), e);
+                }
+            }
+        }
+    }
+}
@@ -18,9 +18,14 @@ package org.vibur.dbcp.pool;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ConnectionCallback;
 import org.vibur.dbcp.ViburDBCPDataSource;
 import org.vibur.dbcp.ViburDBCPException;
+import org.vibur.dbcp.ViburDataSource.Priority;
+import org.vibur.dbcp.ViburMetrics;
+import org.vibur.dbcp.pool.ConnectionPartitions.Partition;
 import org.vibur.dbcp.pool.HookHolder.ConnHooksAccessor;
+import org.vibur.dbcp.proxy.Proxy;
 import org.vibur.objectpool.PoolService;
 
 import java.sql.Connection;
@@ -29,13 +34,15 @@ import java.sql.SQLTimeoutException;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 import static java.lang.String.format;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static org.vibur.dbcp.ViburConfig.*;
-import static org.vibur.dbcp.proxy.Proxy.newProxyConnection;
+import static org.vibur.dbcp.pool.ConnectionPartitions.DEFAULT_PARTITION;
 import static org.vibur.dbcp.util.JdbcUtils.chainSQLException;
 import static org.vibur.dbcp.util.ViburUtils.getPoolName;
 
@@ -57,6 +64,10 @@ public class PoolOperations {
     private final long connectionTimeoutInNanos;
     private final ViburObjectFactory connectionFactory;
     private final PoolService<ConnHolder> poolService;
+    private final RollingDrainer rollingDrainer;
+    private final ViburMetrics metrics;
+    private final AsyncConnectionRequests asyncRequests;
+    private final ConnectionPartitions partitions;
 
     private final Set<String> criticalSQLStates;
 
@@ -68,17 +79,107 @@ public class PoolOperations {
      * @param poolService the Vibur pool service
      */
     public PoolOperations(ViburDBCPDataSource dataSource, ViburObjectFactory connectionFactory, PoolService<ConnHolder> poolService) {
+        this(dataSource, connectionFactory, poolService, null);
+    }
+
+    /**
+     * Instantiates the PoolOperations facade.
+     *
+     * @param dataSource the Vibur dataSource on which we will operate
+     * @param connectionFactory the Vibur connection factory
+     * @param poolService the Vibur pool service
+     * @param rollingDrainer the rolling drainer which is used when a critical SQL exception occurs; if {@code null},
+     *                       all connections in the pool are destroyed instead
+     */
+    public PoolOperations(ViburDBCPDataSource dataSource, ViburObjectFactory connectionFactory, PoolService<ConnHolder> poolService,
+                          RollingDrainer rollingDrainer) {
         this.dataSource = dataSource;
         this.connectionTimeoutInNanos = MILLISECONDS.toNanos(dataSource.getConnectionTimeoutInMs());
         this.connectionFactory = connectionFactory;
         this.poolService = poolService;
+        this.rollingDrainer = rollingDrainer;
+        this.metrics = dataSource.getMetrics();
+        this.partitions = dataSource.getConnectionPartitions();
         this.criticalSQLStates = new HashSet<>(Arrays.asList(
                 whitespaces.matcher(dataSource.getCriticalSQLStates()).replaceAll("").split(",")));
+        this.asyncRequests = new AsyncConnectionRequests(dataSource, this, poolService);
     }
 
     ////////////// getProxyConnection(...) //////////////
 
+    /**
+     * Gets a proxy connection from the pool. If a partition is given, the call first waits to be admitted to it,
+     * see {@link ConnectionPartitions}. If the priority lanes are enabled and the connection cannot be taken
+     * immediately, the call is queued in the lane of the given priority, see {@link AsyncConnectionRequests};
+     * in this case the {@code acquireRetryAttempts} are not applied.
+     *
+     * @param timeoutMs the timeout, {@code 0} means no timeout
+     * @param priority the priority of the call
+     * @param partition the partition of the call, {@code null} if the partitions are not configured
+     * @return the proxy connection
+     * @throws SQLException if the connection cannot be obtained
+     */
+    public Connection getProxyConnection(long timeoutMs, Priority priority, Partition partition) throws SQLException {
+        if (partition == null)
+            return takeProxyConnection(timeoutMs, priority, null, 0);
+
+        long startNanoTime = System.nanoTime();
+        try {
+            if (!partitions.acquire(partition, MILLISECONDS.toNanos(timeoutMs)))
+                throw notAdmitted(System.nanoTime() - startNanoTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw notAdmitted(System.nanoTime() - startNanoTime);
+        }
+
+        Connection proxy = null;
+        try {
+            return proxy = takeProxyConnection(timeoutMs, priority, partition, startNanoTime);
+        } finally {
+            if (proxy == null)
+                partitions.release(partition);
+        }
+    }
+
+    /**
+     * Creates the exception for a call which was not admitted to its partition, and reports the failure to take
+     * a connection the same way as a timeout of the pool.
+     */
+    private SQLException notAdmitted(long waitedNanos) {
+        SQLException sqlException = createSQLException(waitedNanos);
+        SQLException e = onGetConnection(null, waitedNanos);
+        return e != null ? chainSQLException(sqlException, e) : sqlException;
+    }
+
+    private Connection takeProxyConnection(long timeoutMs, Priority priority, Partition partition, long startNanoTime)
+            throws SQLException {
+        if (timeoutMs > 0 && startNanoTime != 0) // the remaining timeout after the admission to the partition
+            timeoutMs = Math.max(1, timeoutMs - NANOSECONDS.toMillis(System.nanoTime() - startNanoTime));
+        if (!dataSource.isPoolEnablePriorityLanes())
+            return getProxyConnection(timeoutMs, partition);
+
+        Connection proxy = asyncRequests.takeIfNoneQueued(priority, partition);
+        if (proxy != null)
+            return proxy;
+
+        startNanoTime = System.nanoTime();
+        Future<Connection> request = asyncRequests.request(timeoutMs, priority, partition, true, null);
+        try {
+            return request.get();
+        } catch (ExecutionException e) {
+            throw (SQLException) e.getCause(); // the requests are failed only with SQLExceptions
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            asyncRequests.abandon(request);
+            throw createSQLException(System.nanoTime() - startNanoTime);
+        }
+    }
+
     public Connection getProxyConnection(long timeoutMs) throws SQLException {
+        return getProxyConnection(timeoutMs, null);
+    }
+
+    private Connection getProxyConnection(long timeoutMs, Partition partition) throws SQLException {
         int attempt = 1;
         ConnHolder connHolder = null;
         SQLException sqlException = null;
@@ -109,10 +210,31 @@ public class PoolOperations {
             }
         }
 
+        return newProxyConnection(connHolder, partition);
+    }
+
+    /**
+     * Requests a connection from the pool without blocking the calling thread. The returned future is completed
+     * when a connection becomes available, or when the request times out or otherwise fails, see
+     * {@link AsyncConnectionRequests}.
+     *
+     * @param timeoutMs the timeout of the request, {@code 0} means no timeout
+     * @param priority the priority of the request
+     * @param callback the callback to notify on completion, can be {@code null}
+     * @return the future of the request
+     */
+    public Future<Connection> getProxyConnectionAsync(long timeoutMs, Priority priority, ConnectionCallback callback) {
+        Partition partition = partitions != null ? partitions.getPartition(DEFAULT_PARTITION) : null;
+        return asyncRequests.request(timeoutMs, priority, partition, false, callback);
+    }
+
+    Connection newProxyConnection(ConnHolder connHolder, Partition partition) {
         if (logger.isTraceEnabled())
             logger.trace("Taking rawConnection {}", connHolder.rawConnection());
 
-        Connection proxy = newProxyConnection(connHolder, this, dataSource);
+        connHolder.setPartition(partition); // released when the connection is restored
+
+        Connection proxy = Proxy.newProxyConnection(connHolder, this, dataSource);
         if (dataSource.isPoolEnableConnectionTracking())
             connHolder.setProxyConnection(proxy);
         return proxy;
@@ -134,8 +256,10 @@ public class PoolOperations {
         SQLException sqlException = null;
         ViburDBCPException viburException = null;
 
+        boolean timed = onGet.length > 0 || metrics != null;
+
         try {
-            if (onGet.length > 0) {
+            if (timed) {
                 waitedNanos = new long[1];
                 connHolder = timeoutMs > 0 ? poolService.tryTake(timeoutMs, MILLISECONDS, waitedNanos) : poolService.take(waitedNanos);
             }
@@ -143,21 +267,16 @@ public class PoolOperations {
                 connHolder = timeoutMs > 0 ? poolService.tryTake(timeoutMs, MILLISECONDS) : poolService.take();
 
             if (connHolder == null) // we were *not* able to obtain a connection from the pool
-                sqlException = createSQLException(onGet.length > 0 ? waitedNanos[0] : MILLISECONDS.toNanos(timeoutMs));
+                sqlException = createSQLException(timed ? waitedNanos[0] : MILLISECONDS.toNanos(timeoutMs));
 
         } catch (ViburDBCPException e) { // thrown (indirectly) by the ConnectionFactory.create() methods
             viburException = e;
             sqlException = e.unwrapSQLException(); // currently all such errors are treated as recoverable, i.e., can be retried
 
         } finally {
-            Connection rawConnection = connHolder != null ? connHolder.rawConnection() : null;
-            try {
-                for (Hook.GetConnection hook : onGet)
-                    hook.on(rawConnection, waitedNanos[0]);
-
-            } catch (SQLException e) {
+            SQLException e = onGetConnection(connHolder, timed ? waitedNanos[0] : 0);
+            if (e != null)
                 sqlException = chainSQLException(sqlException, e);
-            }
         }
 
         if (viburException != null)
@@ -168,7 +287,29 @@ public class PoolOperations {
         return connHolder; // never null if we reach this point
     }
 
-    private SQLException createSQLException(long takenNanos) {
+    /**
+     * Reports the taking of the given connection, or the failure to take a connection, to the metrics and to the
+     * {@link Hook.GetConnection} hooks.
+     *
+     * @param connHolder the taken connection, {@code null} if no connection was taken
+     * @param waitedNanos the time for which the caller waited to take the connection
+     * @return the exception thrown by the hooks, or {@code null}
+     */
+    SQLException onGetConnection(ConnHolder connHolder, long waitedNanos) {
+        if (connHolder != null && metrics != null)
+            metrics.connectionAcquired(waitedNanos);
+
+        Connection rawConnection = connHolder != null ? connHolder.rawConnection() : null;
+        try {
+            for (Hook.GetConnection hook : ((ConnHooksAccessor) dataSource.getConnHooks()).onGet())
+                hook.on(rawConnection, waitedNanos);
+            return null;
+        } catch (SQLException e) {
+            return e;
+        }
+    }
+
+    SQLException createSQLException(long takenNanos) {
         String poolName = getPoolName(dataSource);
         if (poolService.isTerminated())
             return new SQLException(format("Pool %s, the poolService is terminated.", poolName),
@@ -182,6 +323,9 @@ public class PoolOperations {
                 hook.on(takenConnections, takenNanos);
         }
 
+        if (!isInterrupted && metrics != null)
+            metrics.connectionTimedOut(takenNanos);
+
         double takenMs = takenNanos * 0.000_001;
         int intTakenMs = (int) Math.round(takenMs);
         return !isInterrupted ?
@@ -197,10 +341,26 @@ public class PoolOperations {
         if (logger.isTraceEnabled())
             logger.trace("Restoring rawConnection {}", connHolder.rawConnection());
         boolean reusable = valid && exceptions.length == 0 && connHolder.version() == connectionFactory.version();
+        Partition partition = connHolder.getPartition();
+        connHolder.setPartition(null);
         poolService.restore(connHolder, reusable);
+        if (partition != null)
+            partitions.release(partition);
+        asyncRequests.dispatch(); // a connection is available, or a new one can be created
         processSQLExceptions(connHolder, exceptions);
     }
 
+    /**
+     * Fails the pending asynchronous connection requests; called when the pool is terminated.
+     */
+    public void terminate() {
+        asyncRequests.terminate();
+    }
+
+    public AsyncConnectionRequests getAsyncConnectionRequests() {
+        return asyncRequests;
+    }
+
     /**
      * Processes SQL exceptions that have occurred on the given JDBC Connection (wrapped in a {@code ConnHolder}).
      *
@@ -210,8 +370,21 @@ public class PoolOperations {
     private void processSQLExceptions(ConnHolder connHolder, SQLException[] exceptions) {
         int connVersion = connHolder.version();
         SQLException criticalException = getCriticalSQLException(exceptions);
-        if (criticalException != null && connectionFactory.compareAndSetVersion(connVersion, connVersion + 1)) {
+        if (criticalException == null)
+            return;
+
+        if (rollingDrainer != null) { // the connection itself has been already destroyed as it is not reusable
+            if (rollingDrainer.drain()) {
+                if (metrics != null)
+                    metrics.criticalSQLStateDrain();
+                logger.error("Critical SQLState {} occurred, validating the idle connections of pool {} in the background.",
+                        criticalException.getSQLState(), getPoolName(dataSource), criticalException);
+            }
+        }
+        else if (connectionFactory.compareAndSetVersion(connVersion, connVersion + 1)) {
             int destroyed = poolService.drainCreated(); // destroys all connections in the pool
+            if (metrics != null)
+                metrics.criticalSQLStateDrain();
             logger.error("Critical SQLState {} occurred, destroyed {} connections from pool {}, current connection version is {}.",
                     criticalException.getSQLState(), destroyed, getPoolName(dataSource), connectionFactory.version(), criticalException);
         }
@@ -0,0 +1,100 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ViburConfig;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.vibur.dbcp.util.ViburUtils.getPoolName;
+
+/**
+ * A background thread which, when requested after a critical SQL exception has occurred, validates the idle
+ * connections in the pool at a rate of up to {@link ViburConfig#getRollingDrainValidationsPerSecond()
+ * rollingDrainValidationsPerSecond}. The connections which fail the validation are destroyed when next taken
+ * and are replaced on demand, while the valid connections stay in the pool; this is an alternative to destroying all
+ * connections in the pool at once. The connections which are taken while the drain runs cannot be validated by it,
+ * and are validated instead when they are next restored or taken. The drain requests which arrive while a drain is
+ * in progress are coalesced into one subsequent drain.
+ *
+ * @see ViburConfig#isRollingDrainOnCriticalSQLState()
+ * @see ConnectionFactory
+ */
+public class RollingDrainer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingDrainer.class);
+
+    private final ViburConfig config;
+    private final ConnectionFactory connectionFactory;
+    private final Thread drainerThread;
+
+    private final Semaphore requests = new Semaphore(0);
+    private final AtomicBoolean requested = new AtomicBoolean(false);
+
+    public RollingDrainer(ViburConfig config, ConnectionFactory connectionFactory) {
+        this.config = config;
+        this.connectionFactory = connectionFactory;
+        this.drainerThread = new Thread(new Drainer(), getClass().getSimpleName() + " for pool " + config.getName());
+        this.drainerThread.setDaemon(true);
+    }
+
+    public void start() {
+        drainerThread.start();
+    }
+
+    public void terminate() {
+        drainerThread.interrupt();
+    }
+
+    /**
+     * Requests a rolling drain of the idle connections in the pool.
+     *
+     * @return true if a new drain has been requested, false if a drain was already pending
+     */
+    public boolean drain() {
+        if (requested.getAndSet(true))
+            return false;
+        requests.release();
+        return true;
+    }
+
+    private class Drainer implements Runnable {
+        @Override
+        public void run() {
+            long pauseNanos = SECONDS.toNanos(1) / config.getRollingDrainValidationsPerSecond();
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    requests.acquire();
+                } catch (InterruptedException e) {
+                    break; // terminated
+                }
+                requested.set(false);
+
+                try {
+                    int validated = connectionFactory.validateIdle(0, pauseNanos, true);
+                    logger.info("Pool {}, rolling drain validated {} idle connections.", getPoolName(config), validated);
+                } catch (RuntimeException e) {
+                    logger.warn("While draining the idle connections of pool {}", getPoolName(config), e);
+                }
+            }
+        }
+    }
+}
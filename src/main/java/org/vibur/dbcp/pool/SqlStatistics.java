@@ -0,0 +1,243 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Aggregates the execution statistics of the SQL queries per normalized SQL query, similarly to the PostgreSQL
+ * {@code pg_stat_statements}: the number of calls, the total and the max execution time, the number of the retrieved
+ * rows, and the number of the failed executions. The SQL queries are normalized by replacing their string and numeric
+ * literals with {@code ?} and by collapsing their whitespaces, so that the SQL queries which differ only by their
+ * literals are aggregated together.
+ *
+ * <p>The number of the tracked SQL queries is bounded by the {@code maxSize}; when it is exceeded, the entries with
+ * the least total execution time, at least one tenth of the entries, are evicted. The statistics are populated by the
+ * {@link DefaultHook.QueryStatistics} and {@link DefaultHook.ResultSetStatistics} hooks.
+ */
+public final class SqlStatistics {
+
+    private static final int MAX_SQL_LENGTH = 4096;
+
+    private static final Comparator<Ranked> BY_TOTAL_TIME_DESC = new Comparator<Ranked>() {
+        @Override
+        public int compare(Ranked r1, Ranked r2) {
+            return r1.totalNanos > r2.totalNanos ? -1 : r1.totalNanos == r2.totalNanos ? 0 : 1;
+        }
+    };
+
+    private final int maxSize;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    public SqlStatistics(int maxSize) {
+        if (maxSize <= 0)
+            throw new IllegalArgumentException();
+        this.maxSize = maxSize;
+    }
+
+    void recordExecution(String sqlQuery, long nanos, boolean failed) {
+        if (sqlQuery == null)
+            return;
+
+        Entry entry = entries.get(sqlQuery); // the prepared SQL queries are usually already normalized
+        boolean added = false;
+        if (entry == null) {
+            String sql = normalize(sqlQuery);
+            entry = entries.get(sql);
+            if (entry == null) {
+                Entry newEntry = new Entry(sql);
+                entry = entries.putIfAbsent(sql, newEntry);
+                if (entry == null) {
+                    entry = newEntry;
+                    added = true;
+                }
+            }
+        }
+
+        entry.calls.incrementAndGet();
+        entry.totalNanos.addAndGet(nanos);
+        long maxNanos;
+        do {
+            maxNanos = entry.maxNanos.get();
+        } while (nanos > maxNanos && !entry.maxNanos.compareAndSet(maxNanos, nanos));
+        if (failed)
+            entry.errors.incrementAndGet();
+
+        if (added && entries.size() > maxSize)
+            evict();
+    }
+
+    void recordRows(String sqlQuery, long rows) {
+        if (sqlQuery == null)
+            return;
+
+        Entry entry = entries.get(sqlQuery);
+        if (entry == null)
+            entry = entries.get(normalize(sqlQuery));
+        if (entry != null) // i.e., not evicted
+            entry.rows.addAndGet(rows);
+    }
+
+    private void evict() {
+        if (!evictionLock.tryLock()) // another thread is evicting
+            return;
+        try {
+            int excess = entries.size() - maxSize;
+            if (excess <= 0)
+                return;
+
+            List<Ranked> ranked = rankByTotalTime();
+            int evict = Math.max(excess, maxSize / 10);
+            for (int i = ranked.size() - 1; i >= 0 && evict > 0; i--, evict--) {
+                Entry entry = ranked.get(i).entry;
+                entries.remove(entry.sql, entry);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the (up to) {@code n} SQL queries with the highest total execution time, in descending order.
+     */
+    public List<Entry> getTopByTotalTime(int n) {
+        List<Ranked> ranked = rankByTotalTime();
+        List<Entry> top = new ArrayList<>(Math.min(n, ranked.size()));
+        for (int i = 0; i < n && i < ranked.size(); i++)
+            top.add(ranked.get(i).entry);
+        return top;
+    }
+
+    private List<Ranked> rankByTotalTime() {
+        List<Ranked> ranked = new ArrayList<>(entries.size());
+        for (Entry entry : entries.values())
+            ranked.add(new Ranked(entry)); // the total times are snapshotted as they can change while sorting
+        Collections.sort(ranked, BY_TOTAL_TIME_DESC);
+        return ranked;
+    }
+
+    /** Returns the number of the currently tracked SQL queries. */
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Normalizes the given SQL query by replacing its string and numeric literals with {@code ?}, and by replacing
+     * each sequence of whitespaces with a single space. The result is truncated to {@value #MAX_SQL_LENGTH} characters.
+     */
+    static String normalize(String sqlQuery) {
+        int length = sqlQuery.length();
+        StringBuilder sql = new StringBuilder(Math.min(length, MAX_SQL_LENGTH));
+        for (int i = 0; i < length && sql.length() < MAX_SQL_LENGTH; i++) {
+            char c = sqlQuery.charAt(i);
+            if (c == '\'') { // a string literal, '' is an escaped quote
+                for (i++; i < length; i++) {
+                    if (sqlQuery.charAt(i) == '\'') {
+                        if (i + 1 < length && sqlQuery.charAt(i + 1) == '\'')
+                            i++;
+                        else
+                            break;
+                    }
+                }
+                sql.append('?');
+            }
+            else if (Character.isDigit(c) && !isIdentifierPart(sql)) { // a numeric literal
+                while (i + 1 < length && (Character.isLetterOrDigit(sqlQuery.charAt(i + 1)) || sqlQuery.charAt(i + 1) == '.'))
+                    i++;
+                sql.append('?');
+            }
+            else if (Character.isWhitespace(c)) {
+                if (sql.length() > 0 && sql.charAt(sql.length() - 1) != ' ')
+                    sql.append(' ');
+            }
+            else
+                sql.append(c);
+        }
+
+        int end = sql.length();
+        if (end > 0 && sql.charAt(end - 1) == ' ')
+            sql.setLength(end - 1);
+        return sql.toString();
+    }
+
+    private static boolean isIdentifierPart(StringBuilder sql) {
+        if (sql.length() == 0)
+            return false;
+        char last = sql.charAt(sql.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+    private static final class Ranked {
+        private final Entry entry;
+        private final long totalNanos;
+
+        private Ranked(Entry entry) {
+            this.entry = entry;
+            this.totalNanos = entry.getTotalNanos();
+        }
+    }
+
+    /** The execution statistics of one normalized SQL query. */
+    public static final class Entry {
+        private final String sql;
+        private final AtomicLong calls = new AtomicLong(0);
+        private final AtomicLong totalNanos = new AtomicLong(0);
+        private final AtomicLong maxNanos = new AtomicLong(0);
+        private final AtomicLong rows = new AtomicLong(0);
+        private final AtomicLong errors = new AtomicLong(0);
+
+        private Entry(String sql) {
+            this.sql = sql;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCalls() {
+            return calls.get();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.get();
+        }
+
+        public long getMaxNanos() {
+            return maxNanos.get();
+        }
+
+        public long getRows() {
+            return rows.get();
+        }
+
+        public long getErrors() {
+            return errors.get();
+        }
+    }
+}
@@ -101,7 +101,8 @@ public abstract class TakenConnection {
 
 
     /**
-     * Returns the stack trace at the moment when the connection was taken.
+     * Returns the stack trace at the moment when the connection was taken, or {@code null} if it was not captured,
+     * see {@link org.vibur.dbcp.ViburConfig#poolConnectionTrackingSampleRate poolConnectionTrackingSampleRate}.
      */
     public Throwable getLocation() {
         return location;
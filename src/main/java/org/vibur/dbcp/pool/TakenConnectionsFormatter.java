@@ -73,16 +73,22 @@ public interface TakenConnectionsFormatter {
                         .append(takenConns[i].getProxyConnection())
                         .append(", held for ").append(NANOSECONDS.toMillis(currentNanoTime - takenConns[i].getTakenNanoTime()));
 
-                if (takenConns[i].getLastAccessNanoTime() == 0)
+                if (!config.isPoolConnectionTrackingLastAccess())
+                    builder.append(" ms");
+                else if (takenConns[i].getLastAccessNanoTime() == 0)
                     builder.append(" ms, has not been accessed");
                 else
                     builder.append(" ms, last accessed before ").append(
                             NANOSECONDS.toMillis(currentNanoTime - takenConns[i].getLastAccessNanoTime())).append(" ms");
 
                 builder.append(", taken by thread ").append(holdingThread.getName())
-                        .append(", current thread state ").append(holdingThread.getState())
-                        .append("\n\nThread stack trace at the moment when getting the Connection:\n")
-                        .append(getStackTraceAsString(config.getLogLineRegex(), takenConns[i].getLocation().getStackTrace()));
+                        .append(", current thread state ").append(holdingThread.getState());
+                Throwable location = takenConns[i].getLocation();
+                if (location != null)
+                    builder.append("\n\nThread stack trace at the moment when getting the Connection:\n")
+                            .append(getStackTraceAsString(config.getLogLineRegex(), location.getStackTrace()));
+                else
+                    builder.append("\n\nThread stack trace at the moment when getting the Connection was not sampled.\n");
 
                 StackTraceElement[] currentStackTrace = currentStackTraces.remove(holdingThread);
                 if (currentStackTrace != null && currentStackTrace.length > 0) {
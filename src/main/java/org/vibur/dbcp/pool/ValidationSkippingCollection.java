@@ -0,0 +1,77 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.pool;
+
+import org.vibur.objectpool.util.ConcurrentCollection;
+
+/**
+ * Wraps the collection of the available connections of the pool so that the pool passes over a connection which
+ * is being validated in the background, see {@link IdleConnectionValidator} and {@link RollingDrainer}. Such
+ * a connection is put back where it was polled from and the next available connection is taken instead; thus,
+ * the pool neither waits for the validation nor destroys a connection which is likely valid. Only if there is no
+ * other available connection, the validated connection is returned and {@link ConnHolder#markTaken} skips it.
+ */
+public class ValidationSkippingCollection implements ConcurrentCollection<ConnHolder> {
+
+    private final ConcurrentCollection<ConnHolder> available;
+
+    public ValidationSkippingCollection(ConcurrentCollection<ConnHolder> available) {
+        this.available = available;
+    }
+
+    @Override
+    public void offerFirst(ConnHolder connHolder) {
+        available.offerFirst(connHolder);
+    }
+
+    @Override
+    public void offerLast(ConnHolder connHolder) {
+        available.offerLast(connHolder);
+    }
+
+    @Override
+    public ConnHolder pollFirst() {
+        ConnHolder connHolder = available.pollFirst();
+        if (connHolder == null || !connHolder.isValidating())
+            return connHolder;
+
+        ConnHolder next = available.pollFirst();
+        available.offerFirst(connHolder);
+        return next != null ? next : available.pollFirst();
+    }
+
+    @Override
+    public ConnHolder pollLast() {
+        ConnHolder connHolder = available.pollLast();
+        if (connHolder == null || !connHolder.isValidating())
+            return connHolder;
+
+        ConnHolder next = available.pollLast();
+        available.offerLast(connHolder);
+        return next != null ? next : available.pollLast();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return available.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return available.size();
+    }
+}
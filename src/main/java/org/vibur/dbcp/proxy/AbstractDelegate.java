@@ -0,0 +1,179 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.proxy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.ViburDBCPException;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.Wrapper;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_OBJECT_CLOSED_ERROR;
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_WRAPPER_ERROR;
+import static org.vibur.dbcp.util.ViburUtils.getPoolName;
+
+/**
+ * The base class of all delegating JDBC proxies, used when {@link ViburConfig#useDelegatingProxies} is enabled.
+ * Unlike the {@link AbstractInvocationHandler} based dynamic proxies, the delegating proxies are concrete classes
+ * that implement the proxied JDBC interface and call the methods of the underlying (raw) JDBC object directly,
+ * i.e., without reflection, without an {@code Object[]} args allocation, and without boxing of the primitive
+ * arguments and results.
+ *
+ * <p>The closed state checks, the SQL exceptions collection and the unwrapping semantics are the same as
+ * for the dynamic proxies. The {@link org.vibur.dbcp.pool.Hook.MethodInvocation MethodInvocation} hooks are not
+ * supported by the delegating proxies.
+ * @param <T> the type of the object that we are delegating to
+ */
+abstract class AbstractDelegate<T extends Wrapper> extends ExceptionCollector implements Wrapper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AbstractDelegate.class);
+
+    /** The real (raw) object to which we are delegating.
+     *  For example, the underlying JDBC Connection, the underlying JDBC Statement, etc. */
+    final T target;
+
+    private final ViburConfig config;
+
+    private final ExceptionCollector exceptionCollector;
+
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    AbstractDelegate(T target, ViburConfig config, ExceptionCollector exceptionCollector) {
+        assert target != null;
+        assert config != null;
+        this.target = target;
+        this.config = config;
+        // not every AbstractDelegate (this) is an ExceptionCollector
+        this.exceptionCollector = exceptionCollector == null ? this : exceptionCollector;
+    }
+
+    /**
+     * The equivalent of {@link AbstractInvocationHandler}'s restricted access entry. Must be called
+     * at the beginning of each restricted method, i.e., of each method that cannot be called on a closed
+     * JDBC object.
+     *
+     * @throws SQLException if this delegate is closed
+     */
+    void checkOpen() throws SQLException {
+        if (closed.get())
+            throw new SQLException(target.getClass().getName() + " is closed.", SQLSTATE_OBJECT_CLOSED_ERROR);
+    }
+
+    /**
+     * Must be called when a method invoked on the underlying JDBC object has thrown an SQLException.
+     *
+     * @param e the thrown SQLException
+     * @return the same SQLException, which is to be rethrown by the caller
+     */
+    final <E extends SQLException> E targetException(E e) {
+        if (logger.isDebugEnabled())
+            logger.debug("Pool {}, the invocation on {} threw:", getPoolName(config), target, e);
+        exceptionCollector.addException(e);
+        return e;
+    }
+
+    /**
+     * Reflectively invokes the given {@code method} on the underlying JDBC object. Used only on the JDBC execution
+     * paths that need a {@code Method} object, such as the Statement execution hooks and the statement cache.
+     */
+    final Object targetInvoke(Method method, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);  // the real method call on the real underlying object
+
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause == null)
+                cause = e;
+
+            if (logger.isDebugEnabled())
+                logger.debug("Pool {}, the invocation of {} with args {} on {} threw:",
+                        getPoolName(config), method, Arrays.toString(args), target, cause);
+
+            if (cause instanceof SQLException) {
+                SQLException sqlException = (SQLException) cause;
+                exceptionCollector.addException(sqlException);
+                throw sqlException;
+            }
+            else if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            else if (cause instanceof Error)
+                throw (Error) cause;
+
+            throw unexpectedException(e);
+        } catch (IllegalAccessException e) {
+            throw unexpectedException(e);
+        }
+    }
+
+    private static ViburDBCPException unexpectedException(ReflectiveOperationException e) {
+        logger.error("Unexpected exception cause", e);
+        return new ViburDBCPException(e); // not expected to happen
+    }
+
+    /**
+     * Logically closes this delegate. Returns true only once when the delegate state changes
+     * from opened to closed.
+     */
+    final boolean closeDelegate() {
+        return !closed.getAndSet(true);
+    }
+
+    final boolean isDelegateClosed() {
+        return closed.get();
+    }
+
+    final ExceptionCollector exceptionCollector() {
+        return exceptionCollector;
+    }
+
+    final ViburConfig config() {
+        return config;
+    }
+
+    static Method getMethod(Class<?> cl, String name, Class<?>... parameterTypes) {
+        try {
+            return cl.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new Error(e);
+        }
+    }
+
+    //////// The Wrapper and the Object methods: ////////
+
+    @Override
+    public final <W> W unwrap(Class<W> iface) throws SQLException {
+        if (isWrapperFor(iface))
+            return iface.cast(target);
+        throw new SQLException("Not a wrapper or unwrapping is disabled for " + iface, SQLSTATE_WRAPPER_ERROR);
+    }
+
+    @Override
+    public final boolean isWrapperFor(Class<?> iface) {
+        return config.isAllowUnwrapping() && iface.isInstance(target);
+    }
+
+    @Override
+    public final String toString() {
+        return "Vibur proxy for: " + target;
+    }
+}
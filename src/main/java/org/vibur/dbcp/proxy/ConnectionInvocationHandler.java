@@ -40,7 +40,7 @@ class ConnectionInvocationHandler extends AbstractInvocationHandler<Connection>
     private final ConnHolder connHolder;
     private final PoolOperations poolOperations;
     private final ViburConfig config;
-    private final boolean poolEnableConnectionTracking;
+    private final boolean trackLastAccess;
 
     private final StatementCache statementCache;
 
@@ -49,7 +49,7 @@ class ConnectionInvocationHandler extends AbstractInvocationHandler<Connection>
         this.connHolder = connHolder;
         this.poolOperations = poolOperations;
         this.config = config;
-        this.poolEnableConnectionTracking = config.isPoolEnableConnectionTracking();
+        this.trackLastAccess = config.isPoolEnableConnectionTracking() && config.isPoolConnectionTrackingLastAccess();
         this.statementCache = config.getStatementCache();
     }
 
@@ -71,7 +71,7 @@ class ConnectionInvocationHandler extends AbstractInvocationHandler<Connection>
 
     @Override
     Object restrictedInvoke(Connection proxy, Method method, Object[] args) throws SQLException {
-        if (poolEnableConnectionTracking)
+        if (trackLastAccess)
             connHolder.setLastAccessNanoTime(System.nanoTime());
 
         String methodName = method.getName();
@@ -108,8 +108,14 @@ class ConnectionInvocationHandler extends AbstractInvocationHandler<Connection>
      * @throws SQLException if the invoked underlying "prepare..." method throws an exception
      */
     private StatementHolder getCachedStatement(Method method, Object[] args) throws SQLException {
-        if (statementCache != null)
-            return statementCache.take(new StatementMethod(getTarget(), this, method, args));
+        if (statementCache != null) {
+            StatementMethod statementMethod = StatementMethod.probe(getTarget(), this, method, args);
+            try {
+                return statementCache.take(statementMethod);
+            } finally {
+                statementMethod.clear();
+            }
+        }
 
         return getUncachedStatement(method, args, (String) args[0]);
     }
@@ -0,0 +1,1261 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vibur.dbcp.proxy;
+
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementHolder;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.Map;
+
+/**
+ * The delegating proxy for the JDBC CallableStatement.
+ */
+class DelegatingCallableStatement extends DelegatingPreparedStatement<CallableStatement>
+        implements CallableStatement {
+
+    DelegatingCallableStatement(CallableStatement rawCStatement, StatementHolder cStatement, StatementCache statementCache,
+                                Connection connProxy, ViburConfig config, ExceptionCollector exceptionCollector) {
+        super(rawCStatement, cStatement, statementCache, connProxy, config, exceptionCollector);
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, int sqlType) throws SQLException {
+        checkOpen();
+        try {
+            target.registerOutParameter(parameterIndex, sqlType);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, int sqlType, int scale) throws SQLException {
+        checkOpen();
+        try {
+            target.registerOutParameter(parameterIndex, sqlType, scale);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        checkOpen();
+        try {
+            return target.wasNull();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getString(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getString(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBoolean(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte getByte(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getByte(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public short getShort(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getShort(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getInt(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getInt(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public long getLong(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getLong(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public float getFloat(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getFloat(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public double getDouble(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDouble(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int parameterIndex, int scale) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBigDecimal(parameterIndex, scale);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBytes(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBigDecimal(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(int parameterIndex, Map<String, Class<?>> map) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(parameterIndex, map);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Ref getRef(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRef(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Blob getBlob(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBlob(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Clob getClob(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getClob(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Array getArray(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getArray(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(int parameterIndex, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(parameterIndex, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(int parameterIndex, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(parameterIndex, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(int parameterIndex, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(parameterIndex, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void registerOutParameter(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        checkOpen();
+        try {
+            target.registerOutParameter(parameterIndex, sqlType, typeName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, int sqlType) throws SQLException {
+        checkOpen();
+        try {
+            target.registerOutParameter(parameterName, sqlType);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, int sqlType, int scale) throws SQLException {
+        checkOpen();
+        try {
+            target.registerOutParameter(parameterName, sqlType, scale);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void registerOutParameter(String parameterName, int sqlType, String typeName) throws SQLException {
+        checkOpen();
+        try {
+            target.registerOutParameter(parameterName, sqlType, typeName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public URL getURL(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getURL(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setURL(String parameterName, URL val) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("URL", parameterName, val);
+        try {
+            target.setURL(parameterName, val);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNull(String parameterName, int sqlType) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Null", parameterName, sqlType);
+        try {
+            target.setNull(parameterName, sqlType);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(String parameterName, boolean x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Boolean", parameterName, x);
+        try {
+            target.setBoolean(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setByte(String parameterName, byte x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Byte", parameterName, x);
+        try {
+            target.setByte(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setShort(String parameterName, short x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Short", parameterName, x);
+        try {
+            target.setShort(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setInt(String parameterName, int x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Int", parameterName, x);
+        try {
+            target.setInt(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setLong(String parameterName, long x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Long", parameterName, x);
+        try {
+            target.setLong(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setFloat(String parameterName, float x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Float", parameterName, x);
+        try {
+            target.setFloat(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setDouble(String parameterName, double x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Double", parameterName, x);
+        try {
+            target.setDouble(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBigDecimal(String parameterName, BigDecimal x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BigDecimal", parameterName, x);
+        try {
+            target.setBigDecimal(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setString(String parameterName, String x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("String", parameterName, x);
+        try {
+            target.setString(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBytes(String parameterName, byte[] x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Bytes", parameterName, x);
+        try {
+            target.setBytes(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setDate(String parameterName, Date x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Date", parameterName, x);
+        try {
+            target.setDate(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTime(String parameterName, Time x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Time", parameterName, x);
+        try {
+            target.setTime(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTimestamp(String parameterName, Timestamp x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Timestamp", parameterName, x);
+        try {
+            target.setTimestamp(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setAsciiStream(String parameterName, InputStream x, int length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("AsciiStream", parameterName, x, length);
+        try {
+            target.setAsciiStream(parameterName, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBinaryStream(String parameterName, InputStream x, int length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BinaryStream", parameterName, x, length);
+        try {
+            target.setBinaryStream(parameterName, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x, int targetSqlType, int scale) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Object", parameterName, x, targetSqlType, scale);
+        try {
+            target.setObject(parameterName, x, targetSqlType, scale);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x, int targetSqlType) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Object", parameterName, x, targetSqlType);
+        try {
+            target.setObject(parameterName, x, targetSqlType);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setObject(String parameterName, Object x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Object", parameterName, x);
+        try {
+            target.setObject(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCharacterStream(String parameterName, Reader reader, int length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("CharacterStream", parameterName, reader, length);
+        try {
+            target.setCharacterStream(parameterName, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setDate(String parameterName, Date x, Calendar cal) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Date", parameterName, x, cal);
+        try {
+            target.setDate(parameterName, x, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTime(String parameterName, Time x, Calendar cal) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Time", parameterName, x, cal);
+        try {
+            target.setTime(parameterName, x, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTimestamp(String parameterName, Timestamp x, Calendar cal) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Timestamp", parameterName, x, cal);
+        try {
+            target.setTimestamp(parameterName, x, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNull(String parameterName, int sqlType, String typeName) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Null", parameterName, sqlType, typeName);
+        try {
+            target.setNull(parameterName, sqlType, typeName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getString(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getString(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBoolean(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte getByte(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getByte(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public short getShort(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getShort(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getInt(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getInt(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public long getLong(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getLong(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public float getFloat(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getFloat(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public double getDouble(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDouble(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBytes(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBigDecimal(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(String parameterName, Map<String, Class<?>> map) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(parameterName, map);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Ref getRef(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRef(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Blob getBlob(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBlob(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Clob getClob(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getClob(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Array getArray(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getArray(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(String parameterName, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(parameterName, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(String parameterName, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(parameterName, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String parameterName, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(parameterName, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public URL getURL(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getURL(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public RowId getRowId(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRowId(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public RowId getRowId(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRowId(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setRowId(String parameterName, RowId x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("RowId", parameterName, x);
+        try {
+            target.setRowId(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNString(String parameterName, String value) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NString", parameterName, value);
+        try {
+            target.setNString(parameterName, value);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(String parameterName, Reader value, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NCharacterStream", parameterName, value, length);
+        try {
+            target.setNCharacterStream(parameterName, value, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNClob(String parameterName, NClob value) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NClob", parameterName, value);
+        try {
+            target.setNClob(parameterName, value);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setClob(String parameterName, Reader reader, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Clob", parameterName, reader, length);
+        try {
+            target.setClob(parameterName, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBlob(String parameterName, InputStream inputStream, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Blob", parameterName, inputStream, length);
+        try {
+            target.setBlob(parameterName, inputStream, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNClob(String parameterName, Reader reader, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NClob", parameterName, reader, length);
+        try {
+            target.setNClob(parameterName, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public NClob getNClob(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNClob(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public NClob getNClob(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNClob(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setSQLXML(String parameterName, SQLXML xmlObject) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("SQLXML", parameterName, xmlObject);
+        try {
+            target.setSQLXML(parameterName, xmlObject);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getSQLXML(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getSQLXML(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getNString(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNString(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getNString(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNString(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNCharacterStream(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNCharacterStream(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(int parameterIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getCharacterStream(parameterIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(String parameterName) throws SQLException {
+        checkOpen();
+        try {
+            return target.getCharacterStream(parameterName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBlob(String parameterName, Blob x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Blob", parameterName, x);
+        try {
+            target.setBlob(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setClob(String parameterName, Clob x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Clob", parameterName, x);
+        try {
+            target.setClob(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setAsciiStream(String parameterName, InputStream x, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("AsciiStream", parameterName, x, length);
+        try {
+            target.setAsciiStream(parameterName, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBinaryStream(String parameterName, InputStream x, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BinaryStream", parameterName, x, length);
+        try {
+            target.setBinaryStream(parameterName, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCharacterStream(String parameterName, Reader reader, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("CharacterStream", parameterName, reader, length);
+        try {
+            target.setCharacterStream(parameterName, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setAsciiStream(String parameterName, InputStream x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("AsciiStream", parameterName, x);
+        try {
+            target.setAsciiStream(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBinaryStream(String parameterName, InputStream x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BinaryStream", parameterName, x);
+        try {
+            target.setBinaryStream(parameterName, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCharacterStream(String parameterName, Reader reader) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("CharacterStream", parameterName, reader);
+        try {
+            target.setCharacterStream(parameterName, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(String parameterName, Reader value) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NCharacterStream", parameterName, value);
+        try {
+            target.setNCharacterStream(parameterName, value);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setClob(String parameterName, Reader reader) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Clob", parameterName, reader);
+        try {
+            target.setClob(parameterName, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBlob(String parameterName, InputStream inputStream) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Blob", parameterName, inputStream);
+        try {
+            target.setBlob(parameterName, inputStream);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNClob(String parameterName, Reader reader) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NClob", parameterName, reader);
+        try {
+            target.setNClob(parameterName, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public <T> T getObject(int parameterIndex, Class<T> type) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(parameterIndex, type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public <T> T getObject(String parameterName, Class<T> type) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(parameterName, type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+}
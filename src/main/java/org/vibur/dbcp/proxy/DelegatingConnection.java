@@ -0,0 +1,643 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.proxy;
+
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.ViburDBCPDataSource.ConnectionInvalidator;
+import org.vibur.dbcp.ViburDBCPException;
+import org.vibur.dbcp.pool.ConnHolder;
+import org.vibur.dbcp.pool.PoolOperations;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementHolder;
+import org.vibur.dbcp.stcache.StatementMethod;
+import org.vibur.dbcp.stcache.StatementMethod.StatementCreator;
+
+import java.lang.reflect.Method;
+import java.sql.*;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Executor;
+
+/**
+ * The delegating proxy equivalent of {@link ConnectionInvocationHandler}.
+ */
+class DelegatingConnection extends AbstractDelegate<Connection>
+        implements Connection, ConnectionInvalidator, StatementCreator {
+
+    private static final Method PREPARE_STATEMENT = getMethod(Connection.class, "prepareStatement", String.class);
+    private static final Method PREPARE_STATEMENT_AUTO_KEYS = getMethod(Connection.class, "prepareStatement", String.class, int.class);
+    private static final Method PREPARE_STATEMENT_INDEXES = getMethod(Connection.class, "prepareStatement", String.class, int[].class);
+    private static final Method PREPARE_STATEMENT_NAMES = getMethod(Connection.class, "prepareStatement", String.class, String[].class);
+    private static final Method PREPARE_STATEMENT_TYPE = getMethod(Connection.class, "prepareStatement", String.class, int.class, int.class);
+    private static final Method PREPARE_STATEMENT_HOLD = getMethod(Connection.class, "prepareStatement", String.class, int.class, int.class, int.class);
+    private static final Method PREPARE_CALL = getMethod(Connection.class, "prepareCall", String.class);
+    private static final Method PREPARE_CALL_TYPE = getMethod(Connection.class, "prepareCall", String.class, int.class, int.class);
+    private static final Method PREPARE_CALL_HOLD = getMethod(Connection.class, "prepareCall", String.class, int.class, int.class, int.class);
+
+    private final ConnHolder connHolder;
+    private final PoolOperations poolOperations;
+    private final ViburConfig config;
+    private final boolean trackLastAccess;
+
+    private final StatementCache statementCache;
+
+    DelegatingConnection(ConnHolder connHolder, PoolOperations poolOperations, ViburConfig config) {
+        super(connHolder.rawConnection(), config, null /* becomes a new ExceptionCollector */);
+        this.connHolder = connHolder;
+        this.poolOperations = poolOperations;
+        this.config = config;
+        this.trackLastAccess = config.isPoolEnableConnectionTracking() && config.isPoolConnectionTrackingLastAccess();
+        this.statementCache = config.getStatementCache();
+    }
+
+    @Override
+    void checkOpen() throws SQLException {
+        super.checkOpen();
+        if (trackLastAccess)
+            connHolder.setLastAccessNanoTime(System.nanoTime());
+    }
+
+    //////// The unrestricted methods: ////////
+
+    @Override
+    public void close() {
+        if (closeDelegate())
+            poolOperations.restore(connHolder, true, getExceptions());
+    }
+
+    @Override
+    public boolean isClosed() {
+        return isDelegateClosed();
+    }
+
+    @Override
+    public boolean isValid(int timeout) throws SQLException {
+        if (isDelegateClosed())
+            return false;
+        try {
+            return target.isValid(timeout);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void abort(Executor executor) throws SQLException {
+        if (!closeDelegate())
+            return;
+        try {
+            target.abort(executor);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            poolOperations.restore(connHolder, false, getExceptions());
+        }
+    }
+
+    //////// The methods which results have to be proxied: ////////
+
+    @Override
+    public Statement createStatement() throws SQLException {
+        checkOpen();
+        try {
+            return newStatement(target.createStatement());
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        try {
+            return newStatement(target.createStatement(resultSetType, resultSetConcurrency));
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Statement createStatement(int resultSetType, int resultSetConcurrency, int resultSetHoldability) throws SQLException {
+        checkOpen();
+        try {
+            return newStatement(target.createStatement(resultSetType, resultSetConcurrency, resultSetHoldability));
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql) throws SQLException {
+        checkOpen();
+        return newPreparedStatement(getCachedStatement(PREPARE_STATEMENT, sql));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int autoGeneratedKeys) throws SQLException {
+        checkOpen();
+        return newPreparedStatement(getCachedStatement(PREPARE_STATEMENT_AUTO_KEYS, sql, autoGeneratedKeys));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int[] columnIndexes) throws SQLException {
+        checkOpen();
+        return newPreparedStatement(getCachedStatement(PREPARE_STATEMENT_INDEXES, sql, columnIndexes));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, String[] columnNames) throws SQLException {
+        checkOpen();
+        return newPreparedStatement(getCachedStatement(PREPARE_STATEMENT_NAMES, sql, columnNames));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        return newPreparedStatement(getCachedStatement(PREPARE_STATEMENT_TYPE, sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public PreparedStatement prepareStatement(String sql, int resultSetType, int resultSetConcurrency,
+                                              int resultSetHoldability) throws SQLException {
+        checkOpen();
+        return newPreparedStatement(getCachedStatement(PREPARE_STATEMENT_HOLD,
+                sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql) throws SQLException {
+        checkOpen();
+        return newCallableStatement(getCachedStatement(PREPARE_CALL, sql));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+        checkOpen();
+        return newCallableStatement(getCachedStatement(PREPARE_CALL_TYPE, sql, resultSetType, resultSetConcurrency));
+    }
+
+    @Override
+    public CallableStatement prepareCall(String sql, int resultSetType, int resultSetConcurrency,
+                                         int resultSetHoldability) throws SQLException {
+        checkOpen();
+        return newCallableStatement(getCachedStatement(PREPARE_CALL_HOLD,
+                sql, resultSetType, resultSetConcurrency, resultSetHoldability));
+    }
+
+    @Override
+    public DatabaseMetaData getMetaData() throws SQLException {
+        checkOpen();
+        try {
+            DatabaseMetaData rawDatabaseMetaData = target.getMetaData();
+            return rawDatabaseMetaData == null ? null :
+                    new DelegatingDatabaseMetaData(rawDatabaseMetaData, this, config, this);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    /**
+     * Returns <i>a possibly</i> cached StatementHolder object for the given "prepare..." Method with the given args.
+     *
+     * @param method the invoked method
+     * @param args the invoked method arguments
+     * @return a retrieved from the cache or newly created StatementHolder object wrapping the raw JDBC Statement object
+     * @throws SQLException if the invoked underlying "prepare..." method throws an exception
+     */
+    private StatementHolder getCachedStatement(Method method, Object... args) throws SQLException {
+        if (statementCache != null)
+            return takeCachedStatement(StatementMethod.probe(target, this, method, args));
+
+        return new StatementHolder(newStatement(method, args), null, (String) args[0]);
+    }
+
+    /**
+     * The same as {@link #getCachedStatement(Method, Object...)} for the methods accepting a single {@code sql}
+     * argument. Does not allocate on a statement cache hit.
+     */
+    private StatementHolder getCachedStatement(Method method, String sql) throws SQLException {
+        if (statementCache != null)
+            return takeCachedStatement(StatementMethod.probe(target, this, method, sql));
+
+        return new StatementHolder(newStatement(method, new Object[] {sql}), null, sql);
+    }
+
+    private StatementHolder takeCachedStatement(StatementMethod statementMethod) throws SQLException {
+        try {
+            return statementCache.take(statementMethod);
+        } finally {
+            statementMethod.clear();
+        }
+    }
+
+    private Statement newStatement(Statement rawStatement) {
+        if (rawStatement == null)
+            return null;
+        return new DelegatingStatement<>(rawStatement, new StatementHolder(rawStatement, null, null),
+                null /* turns off the statement cache */, this, config, this);
+    }
+
+    private PreparedStatement newPreparedStatement(StatementHolder pStatement) {
+        return new DelegatingPreparedStatement<>((PreparedStatement) pStatement.rawStatement(), pStatement,
+                statementCache, this, config, this);
+    }
+
+    private CallableStatement newCallableStatement(StatementHolder cStatement) {
+        return new DelegatingCallableStatement((CallableStatement) cStatement.rawStatement(), cStatement,
+                statementCache, this, config, this);
+    }
+
+    //////// The client info methods, which throw SQLClientInfoException: ////////
+
+    @Override
+    public void setClientInfo(String name, String value) throws SQLClientInfoException {
+        checkOpenForClientInfo();
+        try {
+            target.setClientInfo(name, value);
+        } catch (SQLClientInfoException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setClientInfo(Properties properties) throws SQLClientInfoException {
+        checkOpenForClientInfo();
+        try {
+            target.setClientInfo(properties);
+        } catch (SQLClientInfoException e) {
+            throw targetException(e);
+        }
+    }
+
+    private void checkOpenForClientInfo() throws SQLClientInfoException {
+        try {
+            checkOpen();
+        } catch (SQLException e) {
+            throw new SQLClientInfoException(e.getMessage(), e.getSQLState(), null, e);
+        }
+    }
+
+    //////// The StatementCreator implementation: ////////
+
+    @Override
+    public PreparedStatement newStatement(Method method, Object[] args) throws SQLException {
+        String methodName = method.getName();
+        if (methodName != "prepareStatement" && methodName != "prepareCall")
+            throw new ViburDBCPException("Unexpected method passed to newStatement() " + method);
+        return (PreparedStatement) targetInvoke(method, args);
+    }
+
+    //////// The ConnectionInvalidator implementation: ////////
+
+    @Override
+    public void invalidate() {
+        if (closeDelegate())
+            poolOperations.restore(connHolder, false, getExceptions());
+    }
+
+    //////// All other (restricted) methods: ////////
+
+    @Override
+    public String nativeSQL(String sql) throws SQLException {
+        checkOpen();
+        try {
+            return target.nativeSQL(sql);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setAutoCommit(boolean autoCommit) throws SQLException {
+        checkOpen();
+        try {
+            target.setAutoCommit(autoCommit);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean getAutoCommit() throws SQLException {
+        checkOpen();
+        try {
+            return target.getAutoCommit();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void commit() throws SQLException {
+        checkOpen();
+        try {
+            target.commit();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void rollback() throws SQLException {
+        checkOpen();
+        try {
+            target.rollback();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setReadOnly(boolean readOnly) throws SQLException {
+        checkOpen();
+        try {
+            target.setReadOnly(readOnly);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        checkOpen();
+        try {
+            return target.isReadOnly();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCatalog(String catalog) throws SQLException {
+        checkOpen();
+        try {
+            target.setCatalog(catalog);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getCatalog() throws SQLException {
+        checkOpen();
+        try {
+            return target.getCatalog();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTransactionIsolation(int level) throws SQLException {
+        checkOpen();
+        try {
+            target.setTransactionIsolation(level);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getTransactionIsolation() throws SQLException {
+        checkOpen();
+        try {
+            return target.getTransactionIsolation();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        checkOpen();
+        try {
+            return target.getWarnings();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        checkOpen();
+        try {
+            target.clearWarnings();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Map<String, Class<?>> getTypeMap() throws SQLException {
+        checkOpen();
+        try {
+            return target.getTypeMap();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTypeMap(Map<String, Class<?>> map) throws SQLException {
+        checkOpen();
+        try {
+            target.setTypeMap(map);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setHoldability(int holdability) throws SQLException {
+        checkOpen();
+        try {
+            target.setHoldability(holdability);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        checkOpen();
+        try {
+            return target.getHoldability();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Savepoint setSavepoint() throws SQLException {
+        checkOpen();
+        try {
+            return target.setSavepoint();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Savepoint setSavepoint(String name) throws SQLException {
+        checkOpen();
+        try {
+            return target.setSavepoint(name);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void rollback(Savepoint savepoint) throws SQLException {
+        checkOpen();
+        try {
+            target.rollback(savepoint);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void releaseSavepoint(Savepoint savepoint) throws SQLException {
+        checkOpen();
+        try {
+            target.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Clob createClob() throws SQLException {
+        checkOpen();
+        try {
+            return target.createClob();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Blob createBlob() throws SQLException {
+        checkOpen();
+        try {
+            return target.createBlob();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public NClob createNClob() throws SQLException {
+        checkOpen();
+        try {
+            return target.createNClob();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLXML createSQLXML() throws SQLException {
+        checkOpen();
+        try {
+            return target.createSQLXML();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getClientInfo(String name) throws SQLException {
+        checkOpen();
+        try {
+            return target.getClientInfo(name);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Properties getClientInfo() throws SQLException {
+        checkOpen();
+        try {
+            return target.getClientInfo();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Array createArrayOf(String typeName, Object[] elements) throws SQLException {
+        checkOpen();
+        try {
+            return target.createArrayOf(typeName, elements);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Struct createStruct(String typeName, Object[] attributes) throws SQLException {
+        checkOpen();
+        try {
+            return target.createStruct(typeName, attributes);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setSchema(String schema) throws SQLException {
+        checkOpen();
+        try {
+            target.setSchema(schema);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getSchema() throws SQLException {
+        checkOpen();
+        try {
+            return target.getSchema();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNetworkTimeout(Executor executor, int milliseconds) throws SQLException {
+        checkOpen();
+        try {
+            target.setNetworkTimeout(executor, milliseconds);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getNetworkTimeout() throws SQLException {
+        checkOpen();
+        try {
+            return target.getNetworkTimeout();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+}
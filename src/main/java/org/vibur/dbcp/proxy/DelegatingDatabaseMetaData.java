@@ -0,0 +1,1761 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vibur.dbcp.proxy;
+
+import org.vibur.dbcp.ViburConfig;
+
+import java.sql.*;
+
+/**
+ * The delegating proxy for the JDBC DatabaseMetaData.
+ */
+class DelegatingDatabaseMetaData extends AbstractDelegate<DatabaseMetaData> implements DatabaseMetaData {
+
+    private final Connection connProxy;
+
+    DelegatingDatabaseMetaData(DatabaseMetaData rawMetaData, Connection connProxy,
+                               ViburConfig config, ExceptionCollector exceptionCollector) {
+        super(rawMetaData, config, exceptionCollector);
+        assert connProxy != null;
+        this.connProxy = connProxy;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkOpen();
+        return connProxy;
+    }
+
+    @Override
+    public boolean allProceduresAreCallable() throws SQLException {
+        checkOpen();
+        try {
+            return target.allProceduresAreCallable();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean allTablesAreSelectable() throws SQLException {
+        checkOpen();
+        try {
+            return target.allTablesAreSelectable();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getURL() throws SQLException {
+        checkOpen();
+        try {
+            return target.getURL();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getUserName() throws SQLException {
+        checkOpen();
+        try {
+            return target.getUserName();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isReadOnly() throws SQLException {
+        checkOpen();
+        try {
+            return target.isReadOnly();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean nullsAreSortedHigh() throws SQLException {
+        checkOpen();
+        try {
+            return target.nullsAreSortedHigh();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean nullsAreSortedLow() throws SQLException {
+        checkOpen();
+        try {
+            return target.nullsAreSortedLow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean nullsAreSortedAtStart() throws SQLException {
+        checkOpen();
+        try {
+            return target.nullsAreSortedAtStart();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean nullsAreSortedAtEnd() throws SQLException {
+        checkOpen();
+        try {
+            return target.nullsAreSortedAtEnd();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getDatabaseProductName() throws SQLException {
+        checkOpen();
+        try {
+            return target.getDatabaseProductName();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getDatabaseProductVersion() throws SQLException {
+        checkOpen();
+        try {
+            return target.getDatabaseProductVersion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getDriverName() throws SQLException {
+        checkOpen();
+        try {
+            return target.getDriverName();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getDriverVersion() throws SQLException {
+        checkOpen();
+        try {
+            return target.getDriverVersion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getDriverMajorVersion() {
+        return target.getDriverMajorVersion();
+    }
+
+    @Override
+    public int getDriverMinorVersion() {
+        return target.getDriverMinorVersion();
+    }
+
+    @Override
+    public boolean usesLocalFiles() throws SQLException {
+        checkOpen();
+        try {
+            return target.usesLocalFiles();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean usesLocalFilePerTable() throws SQLException {
+        checkOpen();
+        try {
+            return target.usesLocalFilePerTable();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsMixedCaseIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsMixedCaseIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean storesUpperCaseIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.storesUpperCaseIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean storesLowerCaseIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.storesLowerCaseIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean storesMixedCaseIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.storesMixedCaseIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsMixedCaseQuotedIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsMixedCaseQuotedIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean storesUpperCaseQuotedIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.storesUpperCaseQuotedIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean storesLowerCaseQuotedIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.storesLowerCaseQuotedIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean storesMixedCaseQuotedIdentifiers() throws SQLException {
+        checkOpen();
+        try {
+            return target.storesMixedCaseQuotedIdentifiers();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getIdentifierQuoteString() throws SQLException {
+        checkOpen();
+        try {
+            return target.getIdentifierQuoteString();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getSQLKeywords() throws SQLException {
+        checkOpen();
+        try {
+            return target.getSQLKeywords();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getNumericFunctions() throws SQLException {
+        checkOpen();
+        try {
+            return target.getNumericFunctions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getStringFunctions() throws SQLException {
+        checkOpen();
+        try {
+            return target.getStringFunctions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getSystemFunctions() throws SQLException {
+        checkOpen();
+        try {
+            return target.getSystemFunctions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getTimeDateFunctions() throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimeDateFunctions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getSearchStringEscape() throws SQLException {
+        checkOpen();
+        try {
+            return target.getSearchStringEscape();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getExtraNameCharacters() throws SQLException {
+        checkOpen();
+        try {
+            return target.getExtraNameCharacters();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsAlterTableWithAddColumn() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsAlterTableWithAddColumn();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsAlterTableWithDropColumn() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsAlterTableWithDropColumn();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsColumnAliasing() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsColumnAliasing();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean nullPlusNonNullIsNull() throws SQLException {
+        checkOpen();
+        try {
+            return target.nullPlusNonNullIsNull();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsConvert() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsConvert();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsConvert(int fromType, int toType) throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsConvert(fromType, toType);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsTableCorrelationNames() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsTableCorrelationNames();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsDifferentTableCorrelationNames() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsDifferentTableCorrelationNames();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsExpressionsInOrderBy() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsExpressionsInOrderBy();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsOrderByUnrelated() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsOrderByUnrelated();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsGroupBy() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsGroupBy();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsGroupByUnrelated() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsGroupByUnrelated();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsGroupByBeyondSelect() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsGroupByBeyondSelect();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsLikeEscapeClause() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsLikeEscapeClause();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsMultipleResultSets() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsMultipleResultSets();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsMultipleTransactions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsMultipleTransactions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsNonNullableColumns() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsNonNullableColumns();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsMinimumSQLGrammar() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsMinimumSQLGrammar();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsCoreSQLGrammar() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsCoreSQLGrammar();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsExtendedSQLGrammar() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsExtendedSQLGrammar();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsANSI92EntryLevelSQL() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsANSI92EntryLevelSQL();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsANSI92IntermediateSQL() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsANSI92IntermediateSQL();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsANSI92FullSQL() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsANSI92FullSQL();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsIntegrityEnhancementFacility() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsIntegrityEnhancementFacility();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsOuterJoins() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsOuterJoins();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsFullOuterJoins() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsFullOuterJoins();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsLimitedOuterJoins() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsLimitedOuterJoins();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getSchemaTerm() throws SQLException {
+        checkOpen();
+        try {
+            return target.getSchemaTerm();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getProcedureTerm() throws SQLException {
+        checkOpen();
+        try {
+            return target.getProcedureTerm();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getCatalogTerm() throws SQLException {
+        checkOpen();
+        try {
+            return target.getCatalogTerm();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isCatalogAtStart() throws SQLException {
+        checkOpen();
+        try {
+            return target.isCatalogAtStart();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getCatalogSeparator() throws SQLException {
+        checkOpen();
+        try {
+            return target.getCatalogSeparator();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSchemasInDataManipulation() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSchemasInDataManipulation();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSchemasInProcedureCalls() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSchemasInProcedureCalls();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSchemasInTableDefinitions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSchemasInTableDefinitions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSchemasInIndexDefinitions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSchemasInIndexDefinitions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSchemasInPrivilegeDefinitions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSchemasInPrivilegeDefinitions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsCatalogsInDataManipulation() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsCatalogsInDataManipulation();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsCatalogsInProcedureCalls() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsCatalogsInProcedureCalls();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsCatalogsInTableDefinitions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsCatalogsInTableDefinitions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsCatalogsInIndexDefinitions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsCatalogsInIndexDefinitions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsCatalogsInPrivilegeDefinitions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsCatalogsInPrivilegeDefinitions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsPositionedDelete() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsPositionedDelete();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsPositionedUpdate() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsPositionedUpdate();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSelectForUpdate() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSelectForUpdate();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsStoredProcedures() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsStoredProcedures();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSubqueriesInComparisons() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSubqueriesInComparisons();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSubqueriesInExists() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSubqueriesInExists();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSubqueriesInIns() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSubqueriesInIns();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSubqueriesInQuantifieds() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSubqueriesInQuantifieds();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsCorrelatedSubqueries() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsCorrelatedSubqueries();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsUnion() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsUnion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsUnionAll() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsUnionAll();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsOpenCursorsAcrossCommit() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsOpenCursorsAcrossCommit();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsOpenCursorsAcrossRollback() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsOpenCursorsAcrossRollback();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsOpenStatementsAcrossCommit() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsOpenStatementsAcrossCommit();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsOpenStatementsAcrossRollback() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsOpenStatementsAcrossRollback();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxBinaryLiteralLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxBinaryLiteralLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxCharLiteralLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxCharLiteralLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxColumnNameLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxColumnNameLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxColumnsInGroupBy() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxColumnsInGroupBy();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxColumnsInIndex() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxColumnsInIndex();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxColumnsInOrderBy() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxColumnsInOrderBy();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxColumnsInSelect() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxColumnsInSelect();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxColumnsInTable() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxColumnsInTable();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxConnections() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxConnections();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxCursorNameLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxCursorNameLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxIndexLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxIndexLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxSchemaNameLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxSchemaNameLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxProcedureNameLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxProcedureNameLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxCatalogNameLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxCatalogNameLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxRowSize() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxRowSize();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean doesMaxRowSizeIncludeBlobs() throws SQLException {
+        checkOpen();
+        try {
+            return target.doesMaxRowSizeIncludeBlobs();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxStatementLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxStatementLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxStatements() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxStatements();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxTableNameLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxTableNameLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxTablesInSelect() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxTablesInSelect();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxUserNameLength() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxUserNameLength();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getDefaultTransactionIsolation() throws SQLException {
+        checkOpen();
+        try {
+            return target.getDefaultTransactionIsolation();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsTransactions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsTransactions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsTransactionIsolationLevel(int level) throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsTransactionIsolationLevel(level);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsDataDefinitionAndDataManipulationTransactions() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsDataDefinitionAndDataManipulationTransactions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsDataManipulationTransactionsOnly() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsDataManipulationTransactionsOnly();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean dataDefinitionCausesTransactionCommit() throws SQLException {
+        checkOpen();
+        try {
+            return target.dataDefinitionCausesTransactionCommit();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean dataDefinitionIgnoredInTransactions() throws SQLException {
+        checkOpen();
+        try {
+            return target.dataDefinitionIgnoredInTransactions();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getProcedures(String catalog, String schemaPattern, String procedureNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getProcedures(catalog, schemaPattern, procedureNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getProcedureColumns(String catalog, String schemaPattern, String procedureNamePattern, String columnNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getProcedureColumns(catalog, schemaPattern, procedureNamePattern, columnNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getTables(String catalog, String schemaPattern, String tableNamePattern, String[] types) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTables(catalog, schemaPattern, tableNamePattern, types);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getSchemas() throws SQLException {
+        checkOpen();
+        try {
+            return target.getSchemas();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getCatalogs() throws SQLException {
+        checkOpen();
+        try {
+            return target.getCatalogs();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getTableTypes() throws SQLException {
+        checkOpen();
+        try {
+            return target.getTableTypes();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getColumnPrivileges(String catalog, String schema, String table, String columnNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getColumnPrivileges(catalog, schema, table, columnNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getTablePrivileges(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTablePrivileges(catalog, schemaPattern, tableNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getBestRowIdentifier(String catalog, String schema, String table, int scope, boolean nullable) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBestRowIdentifier(catalog, schema, table, scope, nullable);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getVersionColumns(String catalog, String schema, String table) throws SQLException {
+        checkOpen();
+        try {
+            return target.getVersionColumns(catalog, schema, table);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getPrimaryKeys(String catalog, String schema, String table) throws SQLException {
+        checkOpen();
+        try {
+            return target.getPrimaryKeys(catalog, schema, table);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getImportedKeys(String catalog, String schema, String table) throws SQLException {
+        checkOpen();
+        try {
+            return target.getImportedKeys(catalog, schema, table);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getExportedKeys(String catalog, String schema, String table) throws SQLException {
+        checkOpen();
+        try {
+            return target.getExportedKeys(catalog, schema, table);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getCrossReference(String parentCatalog, String parentSchema, String parentTable, String foreignCatalog, String foreignSchema, String foreignTable) throws SQLException {
+        checkOpen();
+        try {
+            return target.getCrossReference(parentCatalog, parentSchema, parentTable, foreignCatalog, foreignSchema, foreignTable);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getTypeInfo() throws SQLException {
+        checkOpen();
+        try {
+            return target.getTypeInfo();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getIndexInfo(String catalog, String schema, String table, boolean unique, boolean approximate) throws SQLException {
+        checkOpen();
+        try {
+            return target.getIndexInfo(catalog, schema, table, unique, approximate);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsResultSetType(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsResultSetType(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsResultSetConcurrency(int type, int concurrency) throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsResultSetConcurrency(type, concurrency);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean ownUpdatesAreVisible(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.ownUpdatesAreVisible(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean ownDeletesAreVisible(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.ownDeletesAreVisible(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean ownInsertsAreVisible(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.ownInsertsAreVisible(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean othersUpdatesAreVisible(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.othersUpdatesAreVisible(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean othersDeletesAreVisible(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.othersDeletesAreVisible(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean othersInsertsAreVisible(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.othersInsertsAreVisible(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean updatesAreDetected(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.updatesAreDetected(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean deletesAreDetected(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.deletesAreDetected(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean insertsAreDetected(int type) throws SQLException {
+        checkOpen();
+        try {
+            return target.insertsAreDetected(type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsBatchUpdates() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsBatchUpdates();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getUDTs(String catalog, String schemaPattern, String typeNamePattern, int[] types) throws SQLException {
+        checkOpen();
+        try {
+            return target.getUDTs(catalog, schemaPattern, typeNamePattern, types);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsSavepoints() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsSavepoints();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsNamedParameters() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsNamedParameters();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsMultipleOpenResults() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsMultipleOpenResults();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsGetGeneratedKeys() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsGetGeneratedKeys();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getSuperTypes(String catalog, String schemaPattern, String typeNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getSuperTypes(catalog, schemaPattern, typeNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getSuperTables(String catalog, String schemaPattern, String tableNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getSuperTables(catalog, schemaPattern, tableNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getAttributes(String catalog, String schemaPattern, String typeNamePattern, String attributeNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getAttributes(catalog, schemaPattern, typeNamePattern, attributeNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsResultSetHoldability(int holdability) throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsResultSetHoldability(holdability);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        checkOpen();
+        try {
+            return target.getResultSetHoldability();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getDatabaseMajorVersion() throws SQLException {
+        checkOpen();
+        try {
+            return target.getDatabaseMajorVersion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getDatabaseMinorVersion() throws SQLException {
+        checkOpen();
+        try {
+            return target.getDatabaseMinorVersion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getJDBCMajorVersion() throws SQLException {
+        checkOpen();
+        try {
+            return target.getJDBCMajorVersion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getJDBCMinorVersion() throws SQLException {
+        checkOpen();
+        try {
+            return target.getJDBCMinorVersion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getSQLStateType() throws SQLException {
+        checkOpen();
+        try {
+            return target.getSQLStateType();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean locatorsUpdateCopy() throws SQLException {
+        checkOpen();
+        try {
+            return target.locatorsUpdateCopy();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsStatementPooling() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsStatementPooling();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public RowIdLifetime getRowIdLifetime() throws SQLException {
+        checkOpen();
+        try {
+            return target.getRowIdLifetime();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getSchemas(String catalog, String schemaPattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getSchemas(catalog, schemaPattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean supportsStoredFunctionsUsingCallSyntax() throws SQLException {
+        checkOpen();
+        try {
+            return target.supportsStoredFunctionsUsingCallSyntax();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean autoCommitFailureClosesAllResultSets() throws SQLException {
+        checkOpen();
+        try {
+            return target.autoCommitFailureClosesAllResultSets();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getClientInfoProperties() throws SQLException {
+        checkOpen();
+        try {
+            return target.getClientInfoProperties();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getFunctions(String catalog, String schemaPattern, String functionNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getFunctions(catalog, schemaPattern, functionNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getFunctionColumns(String catalog, String schemaPattern, String functionNamePattern, String columnNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getFunctionColumns(catalog, schemaPattern, functionNamePattern, columnNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getPseudoColumns(String catalog, String schemaPattern, String tableNamePattern, String columnNamePattern) throws SQLException {
+        checkOpen();
+        try {
+            return target.getPseudoColumns(catalog, schemaPattern, tableNamePattern, columnNamePattern);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean generatedKeyAlwaysReturned() throws SQLException {
+        checkOpen();
+        try {
+            return target.generatedKeyAlwaysReturned();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+}
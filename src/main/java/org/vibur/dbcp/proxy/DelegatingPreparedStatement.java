@@ -0,0 +1,708 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vibur.dbcp.proxy;
+
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementHolder;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+
+/**
+ * The delegating proxy for the JDBC PreparedStatement.
+ * @param <T> the type of the underlying JDBC PreparedStatement
+ */
+class DelegatingPreparedStatement<T extends PreparedStatement> extends DelegatingStatement<T>
+        implements PreparedStatement {
+
+    private static final Method EXECUTE_QUERY = getMethod(PreparedStatement.class, "executeQuery");
+    private static final Method EXECUTE_UPDATE = getMethod(PreparedStatement.class, "executeUpdate");
+    private static final Method EXECUTE = getMethod(PreparedStatement.class, "execute");
+
+    DelegatingPreparedStatement(T rawPStatement, StatementHolder pStatement, StatementCache statementCache,
+                                Connection connProxy, ViburConfig config, ExceptionCollector exceptionCollector) {
+        super(rawPStatement, pStatement, statementCache, connProxy, config, exceptionCollector);
+    }
+
+    //////// The "execute..." methods: ////////
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        beforeExecute(null);
+        if (hasExecutionHooks())
+            return (ResultSet) hookedExecute(EXECUTE_QUERY, (Object[]) null);
+        try {
+            return newResultSet(target.executeQuery());
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        beforeExecute(null);
+        if (hasExecutionHooks())
+            return (Integer) hookedExecute(EXECUTE_UPDATE, (Object[]) null);
+        try {
+            return target.executeUpdate();
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        beforeExecute(null);
+        if (hasExecutionHooks())
+            return (Boolean) hookedExecute(EXECUTE, (Object[]) null);
+        try {
+            return target.execute();
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    //////// All other (restricted) methods: ////////
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Null", parameterIndex, sqlType);
+        try {
+            target.setNull(parameterIndex, sqlType);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Boolean", parameterIndex, x);
+        try {
+            target.setBoolean(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Byte", parameterIndex, x);
+        try {
+            target.setByte(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Short", parameterIndex, x);
+        try {
+            target.setShort(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Int", parameterIndex, x);
+        try {
+            target.setInt(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Long", parameterIndex, x);
+        try {
+            target.setLong(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Float", parameterIndex, x);
+        try {
+            target.setFloat(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Double", parameterIndex, x);
+        try {
+            target.setDouble(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BigDecimal", parameterIndex, x);
+        try {
+            target.setBigDecimal(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("String", parameterIndex, x);
+        try {
+            target.setString(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Bytes", parameterIndex, x);
+        try {
+            target.setBytes(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Date", parameterIndex, x);
+        try {
+            target.setDate(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Time", parameterIndex, x);
+        try {
+            target.setTime(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Timestamp", parameterIndex, x);
+        try {
+            target.setTimestamp(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("AsciiStream", parameterIndex, x, length);
+        try {
+            target.setAsciiStream(parameterIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Deprecated
+    @Override
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("UnicodeStream", parameterIndex, x, length);
+        try {
+            target.setUnicodeStream(parameterIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BinaryStream", parameterIndex, x, length);
+        try {
+            target.setBinaryStream(parameterIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void clearParameters() throws SQLException {
+        checkOpen();
+        try {
+            target.clearParameters();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Object", parameterIndex, x, targetSqlType);
+        try {
+            target.setObject(parameterIndex, x, targetSqlType);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Object", parameterIndex, x);
+        try {
+            target.setObject(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void addBatch() throws SQLException {
+        checkOpen();
+        try {
+            target.addBatch();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("CharacterStream", parameterIndex, reader, length);
+        try {
+            target.setCharacterStream(parameterIndex, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Ref", parameterIndex, x);
+        try {
+            target.setRef(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Blob", parameterIndex, x);
+        try {
+            target.setBlob(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Clob", parameterIndex, x);
+        try {
+            target.setClob(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Array", parameterIndex, x);
+        try {
+            target.setArray(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMetaData();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Date", parameterIndex, x, cal);
+        try {
+            target.setDate(parameterIndex, x, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Time", parameterIndex, x, cal);
+        try {
+            target.setTime(parameterIndex, x, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Timestamp", parameterIndex, x, cal);
+        try {
+            target.setTimestamp(parameterIndex, x, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Null", parameterIndex, sqlType, typeName);
+        try {
+            target.setNull(parameterIndex, sqlType, typeName);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("URL", parameterIndex, x);
+        try {
+            target.setURL(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ParameterMetaData getParameterMetaData() throws SQLException {
+        checkOpen();
+        try {
+            return target.getParameterMetaData();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("RowId", parameterIndex, x);
+        try {
+            target.setRowId(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String value) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NString", parameterIndex, value);
+        try {
+            target.setNString(parameterIndex, value);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NCharacterStream", parameterIndex, value, length);
+        try {
+            target.setNCharacterStream(parameterIndex, value, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NClob", parameterIndex, value);
+        try {
+            target.setNClob(parameterIndex, value);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Clob", parameterIndex, reader, length);
+        try {
+            target.setClob(parameterIndex, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Blob", parameterIndex, inputStream, length);
+        try {
+            target.setBlob(parameterIndex, inputStream, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NClob", parameterIndex, reader, length);
+        try {
+            target.setNClob(parameterIndex, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("SQLXML", parameterIndex, xmlObject);
+        try {
+            target.setSQLXML(parameterIndex, xmlObject);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Object", parameterIndex, x, targetSqlType, scaleOrLength);
+        try {
+            target.setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("AsciiStream", parameterIndex, x, length);
+        try {
+            target.setAsciiStream(parameterIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BinaryStream", parameterIndex, x, length);
+        try {
+            target.setBinaryStream(parameterIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("CharacterStream", parameterIndex, reader, length);
+        try {
+            target.setCharacterStream(parameterIndex, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("AsciiStream", parameterIndex, x);
+        try {
+            target.setAsciiStream(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("BinaryStream", parameterIndex, x);
+        try {
+            target.setBinaryStream(parameterIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("CharacterStream", parameterIndex, reader);
+        try {
+            target.setCharacterStream(parameterIndex, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NCharacterStream", parameterIndex, value);
+        try {
+            target.setNCharacterStream(parameterIndex, value);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Clob", parameterIndex, reader);
+        try {
+            target.setClob(parameterIndex, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("Blob", parameterIndex, inputStream);
+        try {
+            target.setBlob(parameterIndex, inputStream);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        checkOpen();
+        if (logSqlQueryParams)
+            addSqlQueryParams("NClob", parameterIndex, reader);
+        try {
+            target.setNClob(parameterIndex, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+}
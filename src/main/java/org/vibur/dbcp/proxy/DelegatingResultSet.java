@@ -0,0 +1,1970 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.vibur.dbcp.proxy;
+
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.pool.Hook;
+import org.vibur.dbcp.pool.HookHolder.InvocationHooksAccessor;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.*;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The delegating proxy equivalent of {@link ResultSetInvocationHandler}. The {@link #next()} and all
+ * {@code getXxx} methods of this proxy are allocation-free, i.e., they neither box their primitive
+ * arguments or results nor allocate an {@code Object[]} args array.
+ */
+class DelegatingResultSet extends AbstractDelegate<ResultSet> implements ResultSet {
+
+    private final Statement statementProxy;
+    private final String sqlQuery;
+    private final List<Object[]> sqlQueryParams;
+    private final Hook.ResultSetRetrieval[] executionHooks;
+
+    private long resultSetSize = 0;
+    private boolean firstResultSetRetrieved = false;
+    private long firstResultSetNanoTime;
+    private long lastResultSetNanoTime;
+
+    DelegatingResultSet(ResultSet rawResultSet, Statement statementProxy,
+                        String sqlQuery, List<Object[]> sqlQueryParams,
+                        ViburConfig config, ExceptionCollector exceptionCollector) {
+        super(rawResultSet, config, exceptionCollector);
+        assert statementProxy != null;
+        this.statementProxy = statementProxy;
+        this.sqlQuery = sqlQuery;
+        this.sqlQueryParams = sqlQueryParams;
+        this.executionHooks = ((InvocationHooksAccessor) config.getInvocationHooks()).onResultSetRetrieval();
+    }
+
+    //////// The unrestricted methods: ////////
+
+    @Override
+    public void close() throws SQLException {
+        if (!closeDelegate())
+            return;
+
+        if (executionHooks.length > 0) {
+            long takenNanoTime = firstResultSetRetrieved ? lastResultSetNanoTime - firstResultSetNanoTime : 0;
+            for (Hook.ResultSetRetrieval hook : executionHooks)
+                hook.on(sqlQuery, sqlQueryParams, resultSetSize, takenNanoTime);
+        }
+
+        try {
+            target.close();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return isDelegateClosed();
+    }
+
+    //////// The methods which need special handling: ////////
+
+    @Override
+    public boolean next() throws SQLException {
+        checkOpen();
+        if (executionHooks.length > 0) {
+            if (!firstResultSetRetrieved) {
+                firstResultSetRetrieved = true;
+                firstResultSetNanoTime = lastResultSetNanoTime = System.nanoTime();
+            } else
+                lastResultSetNanoTime = System.nanoTime();
+            resultSetSize++;
+        }
+
+        boolean next = false;
+        try {
+            return next = target.next();
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            if (!next && executionHooks.length > 0)
+                resultSetSize--;
+        }
+    }
+
+    @Override
+    public Statement getStatement() throws SQLException {
+        checkOpen();
+        return statementProxy;
+    }
+
+    //////// All other (restricted) methods: ////////
+
+    @Override
+    public boolean wasNull() throws SQLException {
+        checkOpen();
+        try {
+            return target.wasNull();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getString(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getString(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBoolean(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte getByte(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getByte(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public short getShort(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getShort(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getInt(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getInt(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public long getLong(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getLong(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public float getFloat(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getFloat(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public double getDouble(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDouble(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBigDecimal(columnIndex, scale);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBytes(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public InputStream getAsciiStream(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getAsciiStream(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getUnicodeStream(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public InputStream getBinaryStream(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBinaryStream(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getString(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getString(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean getBoolean(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBoolean(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte getByte(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getByte(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public short getShort(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getShort(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getInt(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getInt(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public long getLong(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getLong(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public float getFloat(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getFloat(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public double getDouble(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDouble(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Deprecated
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel, int scale) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBigDecimal(columnLabel, scale);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public byte[] getBytes(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBytes(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public InputStream getAsciiStream(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getAsciiStream(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Deprecated
+    @Override
+    public InputStream getUnicodeStream(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getUnicodeStream(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public InputStream getBinaryStream(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBinaryStream(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        checkOpen();
+        try {
+            return target.getWarnings();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        checkOpen();
+        try {
+            target.clearWarnings();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getCursorName() throws SQLException {
+        checkOpen();
+        try {
+            return target.getCursorName();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSetMetaData getMetaData() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMetaData();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int findColumn(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.findColumn(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getCharacterStream(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getCharacterStream(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getCharacterStream(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBigDecimal(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBigDecimal(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBigDecimal(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isBeforeFirst() throws SQLException {
+        checkOpen();
+        try {
+            return target.isBeforeFirst();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isAfterLast() throws SQLException {
+        checkOpen();
+        try {
+            return target.isAfterLast();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isFirst() throws SQLException {
+        checkOpen();
+        try {
+            return target.isFirst();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        checkOpen();
+        try {
+            return target.isLast();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void beforeFirst() throws SQLException {
+        checkOpen();
+        try {
+            target.beforeFirst();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void afterLast() throws SQLException {
+        checkOpen();
+        try {
+            target.afterLast();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean first() throws SQLException {
+        checkOpen();
+        try {
+            return target.first();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean last() throws SQLException {
+        checkOpen();
+        try {
+            return target.last();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getRow() throws SQLException {
+        checkOpen();
+        try {
+            return target.getRow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean absolute(int row) throws SQLException {
+        checkOpen();
+        try {
+            return target.absolute(row);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean relative(int rows) throws SQLException {
+        checkOpen();
+        try {
+            return target.relative(rows);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean previous() throws SQLException {
+        checkOpen();
+        try {
+            return target.previous();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        checkOpen();
+        try {
+            target.setFetchDirection(direction);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        checkOpen();
+        try {
+            return target.getFetchDirection();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        checkOpen();
+        try {
+            target.setFetchSize(rows);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        checkOpen();
+        try {
+            return target.getFetchSize();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getType() throws SQLException {
+        checkOpen();
+        try {
+            return target.getType();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getConcurrency() throws SQLException {
+        checkOpen();
+        try {
+            return target.getConcurrency();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean rowUpdated() throws SQLException {
+        checkOpen();
+        try {
+            return target.rowUpdated();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean rowInserted() throws SQLException {
+        checkOpen();
+        try {
+            return target.rowInserted();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean rowDeleted() throws SQLException {
+        checkOpen();
+        try {
+            return target.rowDeleted();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNull(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNull(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBoolean(int columnIndex, boolean x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBoolean(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateByte(int columnIndex, byte x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateByte(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateShort(int columnIndex, short x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateShort(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateInt(int columnIndex, int x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateInt(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateLong(int columnIndex, long x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateLong(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateFloat(int columnIndex, float x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateFloat(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateDouble(int columnIndex, double x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateDouble(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBigDecimal(int columnIndex, BigDecimal x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBigDecimal(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateString(int columnIndex, String x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateString(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBytes(int columnIndex, byte[] x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBytes(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateDate(int columnIndex, Date x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateDate(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateTime(int columnIndex, Time x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateTime(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateTimestamp(int columnIndex, Timestamp x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateTimestamp(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, int length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateAsciiStream(columnIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, int length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBinaryStream(columnIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, int length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateCharacterStream(columnIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x, int scaleOrLength) throws SQLException {
+        checkOpen();
+        try {
+            target.updateObject(columnIndex, x, scaleOrLength);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateObject(int columnIndex, Object x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateObject(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNull(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNull(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBoolean(String columnLabel, boolean x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBoolean(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateByte(String columnLabel, byte x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateByte(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateShort(String columnLabel, short x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateShort(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateInt(String columnLabel, int x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateInt(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateLong(String columnLabel, long x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateLong(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateFloat(String columnLabel, float x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateFloat(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateDouble(String columnLabel, double x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateDouble(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBigDecimal(String columnLabel, BigDecimal x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBigDecimal(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateString(String columnLabel, String x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateString(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBytes(String columnLabel, byte[] x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBytes(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateDate(String columnLabel, Date x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateDate(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateTime(String columnLabel, Time x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateTime(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateTimestamp(String columnLabel, Timestamp x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateTimestamp(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, int length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateAsciiStream(columnLabel, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, int length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBinaryStream(columnLabel, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, int length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateCharacterStream(columnLabel, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x, int scaleOrLength) throws SQLException {
+        checkOpen();
+        try {
+            target.updateObject(columnLabel, x, scaleOrLength);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateObject(String columnLabel, Object x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateObject(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void insertRow() throws SQLException {
+        checkOpen();
+        try {
+            target.insertRow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateRow() throws SQLException {
+        checkOpen();
+        try {
+            target.updateRow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void deleteRow() throws SQLException {
+        checkOpen();
+        try {
+            target.deleteRow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void refreshRow() throws SQLException {
+        checkOpen();
+        try {
+            target.refreshRow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void cancelRowUpdates() throws SQLException {
+        checkOpen();
+        try {
+            target.cancelRowUpdates();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void moveToInsertRow() throws SQLException {
+        checkOpen();
+        try {
+            target.moveToInsertRow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void moveToCurrentRow() throws SQLException {
+        checkOpen();
+        try {
+            target.moveToCurrentRow();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(int columnIndex, Map<String, Class<?>> map) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(columnIndex, map);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Ref getRef(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRef(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Blob getBlob(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBlob(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Clob getClob(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getClob(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Array getArray(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getArray(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Object getObject(String columnLabel, Map<String, Class<?>> map) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(columnLabel, map);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Ref getRef(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRef(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Blob getBlob(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getBlob(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Clob getClob(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getClob(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Array getArray(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getArray(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(int columnIndex, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(columnIndex, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Date getDate(String columnLabel, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getDate(columnLabel, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(int columnIndex, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(columnIndex, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Time getTime(String columnLabel, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTime(columnLabel, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(columnIndex, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Timestamp getTimestamp(String columnLabel, Calendar cal) throws SQLException {
+        checkOpen();
+        try {
+            return target.getTimestamp(columnLabel, cal);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public URL getURL(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getURL(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public URL getURL(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getURL(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateRef(int columnIndex, Ref x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateRef(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateRef(String columnLabel, Ref x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateRef(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, Blob x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBlob(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, Blob x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBlob(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Clob x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateClob(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Clob x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateClob(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateArray(int columnIndex, Array x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateArray(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateArray(String columnLabel, Array x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateArray(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public RowId getRowId(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRowId(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public RowId getRowId(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getRowId(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateRowId(int columnIndex, RowId x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateRowId(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateRowId(String columnLabel, RowId x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateRowId(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getHoldability() throws SQLException {
+        checkOpen();
+        try {
+            return target.getHoldability();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNString(int columnIndex, String nString) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNString(columnIndex, nString);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNString(String columnLabel, String nString) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNString(columnLabel, nString);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, NClob nClob) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNClob(columnIndex, nClob);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, NClob nClob) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNClob(columnLabel, nClob);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public NClob getNClob(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNClob(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public NClob getNClob(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNClob(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getSQLXML(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLXML getSQLXML(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getSQLXML(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateSQLXML(int columnIndex, SQLXML xmlObject) throws SQLException {
+        checkOpen();
+        try {
+            target.updateSQLXML(columnIndex, xmlObject);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateSQLXML(String columnLabel, SQLXML xmlObject) throws SQLException {
+        checkOpen();
+        try {
+            target.updateSQLXML(columnLabel, xmlObject);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getNString(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNString(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public String getNString(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNString(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(int columnIndex) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNCharacterStream(columnIndex);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Reader getNCharacterStream(String columnLabel) throws SQLException {
+        checkOpen();
+        try {
+            return target.getNCharacterStream(columnLabel);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNCharacterStream(columnIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNCharacterStream(columnLabel, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateAsciiStream(columnIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBinaryStream(columnIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateCharacterStream(columnIndex, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateAsciiStream(columnLabel, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBinaryStream(columnLabel, x, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateCharacterStream(columnLabel, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBlob(columnIndex, inputStream, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBlob(columnLabel, inputStream, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateClob(columnIndex, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateClob(columnLabel, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNClob(columnIndex, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader, long length) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNClob(columnLabel, reader, length);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(int columnIndex, Reader x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNCharacterStream(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNCharacterStream(columnLabel, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(int columnIndex, InputStream x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateAsciiStream(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(int columnIndex, InputStream x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBinaryStream(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(int columnIndex, Reader x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateCharacterStream(columnIndex, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateAsciiStream(String columnLabel, InputStream x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateAsciiStream(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBinaryStream(String columnLabel, InputStream x) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBinaryStream(columnLabel, x);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateCharacterStream(String columnLabel, Reader reader) throws SQLException {
+        checkOpen();
+        try {
+            target.updateCharacterStream(columnLabel, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBlob(int columnIndex, InputStream inputStream) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBlob(columnIndex, inputStream);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateBlob(String columnLabel, InputStream inputStream) throws SQLException {
+        checkOpen();
+        try {
+            target.updateBlob(columnLabel, inputStream);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateClob(int columnIndex, Reader reader) throws SQLException {
+        checkOpen();
+        try {
+            target.updateClob(columnIndex, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateClob(String columnLabel, Reader reader) throws SQLException {
+        checkOpen();
+        try {
+            target.updateClob(columnLabel, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNClob(int columnIndex, Reader reader) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNClob(columnIndex, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void updateNClob(String columnLabel, Reader reader) throws SQLException {
+        checkOpen();
+        try {
+            target.updateNClob(columnLabel, reader);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(columnIndex, type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public <T> T getObject(String columnLabel, Class<T> type) throws SQLException {
+        checkOpen();
+        try {
+            return target.getObject(columnLabel, type);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+}
@@ -0,0 +1,635 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.proxy;
+
+import org.vibur.dbcp.ViburConfig;
+import org.vibur.dbcp.pool.Hook;
+import org.vibur.dbcp.pool.HookHolder.InvocationHooksAccessor;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementHolder;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.vibur.dbcp.util.JdbcUtils.quietClose;
+
+/**
+ * The delegating proxy equivalent of {@link StatementInvocationHandler}. The "execute..." methods call the
+ * underlying JDBC Statement directly when there are no {@link Hook.StatementExecution} hooks registered,
+ * and go through the hooks chain (which requires a {@code Method} object and the invocation {@code args})
+ * otherwise.
+ * @param <T> the type of the underlying JDBC Statement
+ */
+class DelegatingStatement<T extends Statement> extends AbstractDelegate<T>
+        implements Statement, Hook.StatementProceedingPoint {
+
+    private static final Method EXECUTE_QUERY = getMethod(Statement.class, "executeQuery", String.class);
+    private static final Method EXECUTE_UPDATE = getMethod(Statement.class, "executeUpdate", String.class);
+    private static final Method EXECUTE_UPDATE_AUTO_KEYS = getMethod(Statement.class, "executeUpdate", String.class, int.class);
+    private static final Method EXECUTE_UPDATE_INDEXES = getMethod(Statement.class, "executeUpdate", String.class, int[].class);
+    private static final Method EXECUTE_UPDATE_NAMES = getMethod(Statement.class, "executeUpdate", String.class, String[].class);
+    private static final Method EXECUTE = getMethod(Statement.class, "execute", String.class);
+    private static final Method EXECUTE_AUTO_KEYS = getMethod(Statement.class, "execute", String.class, int.class);
+    private static final Method EXECUTE_INDEXES = getMethod(Statement.class, "execute", String.class, int[].class);
+    private static final Method EXECUTE_NAMES = getMethod(Statement.class, "execute", String.class, String[].class);
+    private static final Method EXECUTE_BATCH = getMethod(Statement.class, "executeBatch");
+
+    private final StatementHolder statement;
+    private final StatementCache statementCache; // always "null" (i.e. turned off) for simple JDBC Statements
+    private final Connection connProxy;
+    private final Deque<ResultSet> currentResultSets = new ArrayDeque<>();
+
+    private final Hook.StatementExecution[] executionHooks;
+    private final Hook.StatementExecution firstHook;
+    private int hookIdx = 0;
+
+    final boolean logSqlQueryParams;
+    private final List<Object[]> sqlQueryParams;
+
+    DelegatingStatement(T rawStatement, StatementHolder statement, StatementCache statementCache, Connection connProxy,
+                        ViburConfig config, ExceptionCollector exceptionCollector) {
+        super(rawStatement, config, exceptionCollector);
+        assert connProxy != null;
+        this.statement = statement;
+        this.statementCache = statementCache;
+        this.connProxy = connProxy;
+
+        InvocationHooksAccessor invocationHooksAccessor = (InvocationHooksAccessor) config.getInvocationHooks();
+        this.executionHooks = invocationHooksAccessor.onStatementExecution();
+        this.firstHook = executionHooks.length > 0 ? executionHooks[0] : this;
+
+        this.logSqlQueryParams = config.isIncludeQueryParameters() &&
+                (executionHooks.length > 0 || invocationHooksAccessor.onResultSetRetrieval().length > 0);
+        this.sqlQueryParams = logSqlQueryParams ? new ArrayList<Object[]>() : null;
+    }
+
+    //////// The unrestricted methods: ////////
+
+    @Override
+    public void close() throws SQLException {
+        if (!closeDelegate())
+            return;
+
+        closeAllResultSets();
+
+        if (statementCache != null && statementCache.restore(statement, config().isClearSQLWarnings()))
+            return; // calls to close() are not passed when the statement is restored successfully in the cache
+        try {
+            target.close();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return isDelegateClosed();
+    }
+
+    //////// The "execute..." methods: ////////
+
+    @Override
+    public ResultSet executeQuery(String sql) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (ResultSet) hookedExecute(EXECUTE_QUERY, sql);
+        try {
+            return newResultSet(target.executeQuery(sql));
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Integer) hookedExecute(EXECUTE_UPDATE, sql);
+        try {
+            return target.executeUpdate(sql);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Integer) hookedExecute(EXECUTE_UPDATE_AUTO_KEYS, sql, autoGeneratedKeys);
+        try {
+            return target.executeUpdate(sql, autoGeneratedKeys);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, int[] columnIndexes) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Integer) hookedExecute(EXECUTE_UPDATE_INDEXES, sql, columnIndexes);
+        try {
+            return target.executeUpdate(sql, columnIndexes);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public int executeUpdate(String sql, String[] columnNames) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Integer) hookedExecute(EXECUTE_UPDATE_NAMES, sql, columnNames);
+        try {
+            return target.executeUpdate(sql, columnNames);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public boolean execute(String sql) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Boolean) hookedExecute(EXECUTE, sql);
+        try {
+            return target.execute(sql);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int autoGeneratedKeys) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Boolean) hookedExecute(EXECUTE_AUTO_KEYS, sql, autoGeneratedKeys);
+        try {
+            return target.execute(sql, autoGeneratedKeys);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, int[] columnIndexes) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Boolean) hookedExecute(EXECUTE_INDEXES, sql, columnIndexes);
+        try {
+            return target.execute(sql, columnIndexes);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public boolean execute(String sql, String[] columnNames) throws SQLException {
+        beforeExecute(sql);
+        if (hasExecutionHooks())
+            return (Boolean) hookedExecute(EXECUTE_NAMES, sql, columnNames);
+        try {
+            return target.execute(sql, columnNames);
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        beforeExecute(null);
+        if (hasExecutionHooks())
+            return (int[]) hookedExecute(EXECUTE_BATCH, (Object[]) null);
+        try {
+            return target.executeBatch();
+        } catch (SQLException e) {
+            throw targetException(e);
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    //////// The methods which results have to be proxied or which need special handling: ////////
+
+    @Override
+    public boolean getMoreResults() throws SQLException {
+        checkOpen();
+        closeAllResultSets();
+        try {
+            return target.getMoreResults();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean getMoreResults(int current) throws SQLException {
+        checkOpen();
+        if (current == CLOSE_CURRENT_RESULT)
+            quietClose(currentResultSets.pollLast());
+        else if (current == CLOSE_ALL_RESULTS)
+            closeAllResultSets();
+
+        try {
+            return target.getMoreResults(current);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException {
+        checkOpen();
+        try {
+            return newResultSet(target.getResultSet());
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public ResultSet getGeneratedKeys() throws SQLException {
+        checkOpen();
+        try {
+            return newResultSet(target.getGeneratedKeys());
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void cancel() throws SQLException {
+        checkOpen();
+        if (statementCache != null)
+            statementCache.remove(statement); // because cancelled Statements are not longer valid
+        try {
+            target.cancel();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        checkOpen();
+        return connProxy;
+    }
+
+    /**
+     * The common "before execute" steps of all "execute..." methods.
+     *
+     * @param sql the executed SQL query, if any
+     * @throws SQLException if this Statement is closed
+     */
+    final void beforeExecute(String sql) throws SQLException {
+        checkOpen();
+        closeAllResultSets();
+
+        if (statement.getSqlQuery() == null && sql != null) // a simple Statement "execute..." call
+            statement.setSqlQuery(sql);
+    }
+
+    /**
+     * Executes the given "execute..." {@code method} through the chain of the {@link Hook.StatementExecution} hooks.
+     */
+    final Object hookedExecute(Method method, Object... args) throws SQLException {
+        try {
+            return firstHook.on(this, method, args, statement.getSqlQuery(), sqlQueryParams, this); // see the SPP implementation below
+        } finally {
+            prepareForNextExecution();
+        }
+    }
+
+    final boolean hasExecutionHooks() {
+        return executionHooks.length > 0;
+    }
+
+    final void prepareForNextExecution() {
+        if (sqlQueryParams != null)
+            sqlQueryParams.clear();
+        hookIdx = 0;
+    }
+
+    final ResultSet newResultSet(ResultSet rawResultSet) {
+        if (rawResultSet == null)
+            return null;
+
+        ResultSet resultSet = new DelegatingResultSet(
+                rawResultSet, this, statement.getSqlQuery(), sqlQueryParams, config(), this);
+        currentResultSets.addLast(resultSet);
+        return resultSet;
+    }
+
+    final void addSqlQueryParams(String setter, Object... args) {
+        Object[] params = new Object[args.length + 1];
+        params[0] = setter;
+        System.arraycopy(args, 0, params, 1, args.length);
+        sqlQueryParams.add(params);
+    }
+
+    private void closeAllResultSets() {
+        ResultSet next;
+        while ((next = currentResultSets.pollFirst()) != null)
+            quietClose(next);
+    }
+
+    //////// The StatementProceedingPoint implementation: ////////
+
+    @Override
+    public Object on(Statement proxy, Method method, Object[] args, String sqlQuery, List<Object[]> sqlQueryParams,
+                     StatementProceedingPoint proceed) throws SQLException {
+
+        if (++hookIdx < executionHooks.length) // invoke the next statement execution hook, if any
+            return executionHooks[hookIdx].on(proxy, method, args, sqlQuery, sqlQueryParams, this);
+
+        // executeQuery result has to be proxied so that when getStatement() is called
+        // on its result the return value to be the current JDBC Statement proxy.
+        if (method.getName() == "executeQuery") // *2
+            return newResultSet((ResultSet) targetInvoke(method, args));
+
+        return targetInvoke(method, args); // the real "execute..." call
+    }
+
+    //////// All other (restricted) methods: ////////
+
+    @Override
+    public int getMaxFieldSize() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxFieldSize();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setMaxFieldSize(int max) throws SQLException {
+        checkOpen();
+        try {
+            target.setMaxFieldSize(max);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getMaxRows() throws SQLException {
+        checkOpen();
+        try {
+            return target.getMaxRows();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setMaxRows(int max) throws SQLException {
+        checkOpen();
+        try {
+            target.setMaxRows(max);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setEscapeProcessing(boolean enable) throws SQLException {
+        checkOpen();
+        try {
+            target.setEscapeProcessing(enable);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getQueryTimeout() throws SQLException {
+        checkOpen();
+        try {
+            return target.getQueryTimeout();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setQueryTimeout(int seconds) throws SQLException {
+        checkOpen();
+        try {
+            target.setQueryTimeout(seconds);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public SQLWarning getWarnings() throws SQLException {
+        checkOpen();
+        try {
+            return target.getWarnings();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void clearWarnings() throws SQLException {
+        checkOpen();
+        try {
+            target.clearWarnings();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setCursorName(String name) throws SQLException {
+        checkOpen();
+        try {
+            target.setCursorName(name);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getUpdateCount() throws SQLException {
+        checkOpen();
+        try {
+            return target.getUpdateCount();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setFetchDirection(int direction) throws SQLException {
+        checkOpen();
+        try {
+            target.setFetchDirection(direction);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getFetchDirection() throws SQLException {
+        checkOpen();
+        try {
+            return target.getFetchDirection();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setFetchSize(int rows) throws SQLException {
+        checkOpen();
+        try {
+            target.setFetchSize(rows);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getFetchSize() throws SQLException {
+        checkOpen();
+        try {
+            return target.getFetchSize();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getResultSetConcurrency() throws SQLException {
+        checkOpen();
+        try {
+            return target.getResultSetConcurrency();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getResultSetType() throws SQLException {
+        checkOpen();
+        try {
+            return target.getResultSetType();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void addBatch(String sql) throws SQLException {
+        checkOpen();
+        try {
+            target.addBatch(sql);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void clearBatch() throws SQLException {
+        checkOpen();
+        try {
+            target.clearBatch();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public int getResultSetHoldability() throws SQLException {
+        checkOpen();
+        try {
+            return target.getResultSetHoldability();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void setPoolable(boolean poolable) throws SQLException {
+        checkOpen();
+        try {
+            target.setPoolable(poolable);
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isPoolable() throws SQLException {
+        checkOpen();
+        try {
+            return target.isPoolable();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public void closeOnCompletion() throws SQLException {
+        checkOpen();
+        try {
+            target.closeOnCompletion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+
+    @Override
+    public boolean isCloseOnCompletion() throws SQLException {
+        checkOpen();
+        try {
+            return target.isCloseOnCompletion();
+        } catch (SQLException e) {
+            throw targetException(e);
+        }
+    }
+}
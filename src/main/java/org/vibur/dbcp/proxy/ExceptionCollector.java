@@ -21,6 +21,7 @@ import java.sql.SQLTimeoutException;
 import java.sql.SQLTransactionRollbackException;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 /**
  * This exceptions collector will receive notifications for all SQL exceptions thrown by the operations invoked on
@@ -33,6 +34,10 @@ abstract class ExceptionCollector {
 
     private static final SQLException[] NO_EXCEPTIONS = {};
 
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ExceptionCollector, Queue> exceptionsUpdater =
+            AtomicReferenceFieldUpdater.newUpdater(ExceptionCollector.class, Queue.class, "exceptions");
+
     private volatile Queue<SQLException> exceptions = null; // will be lazily initialized if an SQLException occurs
 
     /**
@@ -46,14 +51,11 @@ abstract class ExceptionCollector {
             getOrInit().offer(exception); // SQLExceptions from the above two sub-types are not stored
     }
 
-    private Queue<SQLException> getOrInit() {
+    private Queue<SQLException> getOrInit() { // lock-free, so that it never pins the carrier of a virtual thread
         Queue<SQLException> ex = exceptions;
         if (ex == null) {
-            synchronized (this) {
-                ex = exceptions;
-                if (ex == null)
-                    exceptions = ex = new ConcurrentLinkedQueue<>();
-            }
+            exceptionsUpdater.compareAndSet(this, null, new ConcurrentLinkedQueue<SQLException>());
+            ex = exceptions;
         }
         return ex;
     }
@@ -36,6 +36,9 @@ public final class Proxy {
     private Proxy() { }
 
     public static Connection newProxyConnection(ConnHolder connHolder, PoolOperations poolOperations, ViburConfig config) {
+        if (config.isUseDelegatingProxies())
+            return new DelegatingConnection(connHolder, poolOperations, config); // connHolder is never null
+
         InvocationHandler handler = new ConnectionInvocationHandler(connHolder, poolOperations, config); // connHolder is never null
         return newProxy(connectionCtor, handler);
     }
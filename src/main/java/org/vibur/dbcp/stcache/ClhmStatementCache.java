@@ -41,15 +41,30 @@ import static org.vibur.objectpool.util.ArgumentValidation.forbidIllegalArgument
  *
  * @author Simeon Malchev
  */
-public class ClhmStatementCache implements StatementCache {
+public class ClhmStatementCache implements StatementCache, StatementCacheStatsSource {
 
     private static final Logger logger = LoggerFactory.getLogger(ClhmStatementCache.class);
 
+    private final int maxInstancesPerSql;
     private final ConcurrentMap<StatementMethod, StatementHolder> statementCache;
     private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final StatementCacheStats stats = new StatementCacheStats();
 
     public ClhmStatementCache(int maxSize) {
+        this(maxSize, 1);
+    }
+
+    /**
+     * Creates a new ClhmStatementCache.
+     *
+     * @param maxSize the maximum number of cached statements
+     * @param maxInstancesPerSql the maximum number of statements cached for the same prepare method, SQL query and
+     *                           Connection; a take that finds all of them in use returns an uncached statement
+     */
+    public ClhmStatementCache(int maxSize, int maxInstancesPerSql) {
         forbidIllegalArgument(maxSize <= 0);
+        forbidIllegalArgument(maxInstancesPerSql <= 0);
+        this.maxInstancesPerSql = maxInstancesPerSql;
         statementCache = requireNonNull(buildStatementCache(maxSize));
     }
 
@@ -69,10 +84,11 @@ public class ClhmStatementCache implements StatementCache {
      *
      * @return a new EvictionListener for the CLHM
      */
-    private static EvictionListener<StatementMethod, StatementHolder> getListener() {
+    private EvictionListener<StatementMethod, StatementHolder> getListener() {
         return new EvictionListener<StatementMethod, StatementHolder>() {
             @Override
             public void onEviction(StatementMethod statementMethod, StatementHolder statementHolder) {
+                stats.eviction();
                 if (statementHolder.state().getAndSet(EVICTED) == AVAILABLE)
                     quietClose(statementHolder.rawStatement());
                 if (logger.isTraceEnabled())
@@ -91,16 +107,22 @@ public class ClhmStatementCache implements StatementCache {
             if (statement.state().compareAndSet(AVAILABLE, IN_USE)) {
                 if (logger.isTraceEnabled())
                     logger.trace("Using cached statement for {}", statementMethod);
+                stats.hit();
                 return statement;
             }
+            if (statementMethod.instance() + 1 < maxInstancesPerSql) // tries the next cached statement for the same SQL
+                return take(statementMethod.nextInstance());
             // if the statement in the cache was not available we return an uncached StatementHolder
+            stats.inUse();
             return new StatementHolder(statementMethod.newStatement(), null, statementMethod.sqlQuery());
         }
 
         // there was no cache entry for the statementMethod, so we'll try to put a new one
+        stats.miss(statementMethod.sqlQuery());
         PreparedStatement rawStatement = statementMethod.newStatement();
-        statement = new StatementHolder(rawStatement, new AtomicReference<>(IN_USE), statementMethod.sqlQuery());
-        if (statementCache.putIfAbsent(statementMethod, statement) == null)
+        StatementMethod key = statementMethod.toKey(); // statementMethod may be a reusable probe
+        statement = new StatementHolder(rawStatement, new AtomicReference<>(IN_USE), key.sqlQuery(), key);
+        if (statementCache.putIfAbsent(key, statement) == null)
             return statement; // the new entry was successfully put in the cache, so we return it
         // if we couldn't put the statement in the cache we return an uncached StatementHolder
         return new StatementHolder(rawStatement, null, statementMethod.sqlQuery());
@@ -132,12 +154,10 @@ public class ClhmStatementCache implements StatementCache {
         if (statement.state() == null) // this statement is not in the cache
             return false;
 
-        for (Map.Entry<StatementMethod, StatementHolder> entry : statementCache.entrySet()) {
-            StatementHolder value = entry.getValue();
-            if (value == statement) // comparing with == as these JDBC Statements are cached objects
-                return statementCache.remove(entry.getKey(), value);
-        }
-        return false;
+        if (!statementCache.remove(statement.statementMethod(), statement))
+            return false;
+        statement.state().set(EVICTED); // so that the statement will not be restored in the cache when closed
+        return true;
     }
 
     @Override
@@ -154,6 +174,16 @@ public class ClhmStatementCache implements StatementCache {
         return removed;
     }
 
+    @Override
+    public int size() {
+        return statementCache.size();
+    }
+
+    @Override
+    public StatementCacheStats stats() {
+        return stats;
+    }
+
     /**
      * Closes this ClhmStatementCache and removes all entries from it.
      */
@@ -0,0 +1,321 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.stcache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.vibur.dbcp.stcache.StatementHolder.State.*;
+import static org.vibur.dbcp.util.JdbcUtils.clearWarnings;
+import static org.vibur.dbcp.util.JdbcUtils.quietClose;
+import static org.vibur.objectpool.util.ArgumentValidation.forbidIllegalArgument;
+
+/**
+ * A JDBC Statement cache which keeps a separate, small LRU map of the cached statements for each pooled JDBC
+ * Connection, instead of one map shared by all Connections. Because a pooled Connection is used by one thread
+ * at a time, the per-connection maps are accessed without contention and their LRU bookkeeping is a plain
+ * {@link LinkedHashMap} in access order; the only state shared between the Connections is the counter of
+ * the global size budget, which is updated only when a statement is added to or removed from the cache.
+ * Removing all statements of a destroyed Connection costs time proportional to the number of statements
+ * cached for that Connection only.
+ *
+ * <p>When the global size budget is exhausted, a Connection which has at least its fair share of the budget, i.e.
+ * {@code maxSize} divided by the number of the Connections, makes room by evicting its own least recently used
+ * statement. A Connection below its fair share, for example one with no cached statements, makes room by evicting
+ * the least recently used statement of the Connection with the most cached statements, so that it cannot be starved
+ * by the other Connections; the lock of that other Connection is only tried, and if it is not available, the
+ * Connection falls back to evicting its own statement, or does not cache the new statement if it has none.
+ * This cache does not depend on ConcurrentLinkedHashMap.
+ */
+public class ConnectionStatementCache implements StatementCache, StatementCacheStatsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionStatementCache.class);
+
+    private final int maxSize;
+    private final int maxInstancesPerSql;
+    private final AtomicInteger size = new AtomicInteger(0);
+    private final ConcurrentMap<Connection, ConnStatements> connStatements = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final StatementCacheStats stats = new StatementCacheStats();
+
+    public ConnectionStatementCache(int maxSize) {
+        this(maxSize, 1);
+    }
+
+    /**
+     * Creates a new ConnectionStatementCache.
+     *
+     * @param maxSize the maximum number of cached statements
+     * @param maxInstancesPerSql the maximum number of statements cached for the same prepare method, SQL query and
+     *                           Connection; a take that finds all of them in use returns an uncached statement
+     */
+    public ConnectionStatementCache(int maxSize, int maxInstancesPerSql) {
+        forbidIllegalArgument(maxSize <= 0);
+        forbidIllegalArgument(maxInstancesPerSql <= 0);
+        this.maxInstancesPerSql = maxInstancesPerSql;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * The LRU map of the statements cached for one JDBC Connection. It is accessed mostly by the thread which
+     * currently holds the Connection; the lock guards only against the rare accesses from other threads, such as
+     * {@code Statement.cancel()} or an eviction by a Connection below its fair share, and is therefore uncontended.
+     * The JDBC "prepare..." calls are never made while holding the lock. The lock is a {@code ReentrantLock} rather
+     * than a monitor, as the statements evicted or removed while holding it are closed, and a virtual thread blocked
+     * in I/O while holding a monitor would pin its carrier thread.
+     */
+    private static final class ConnStatements extends LinkedHashMap<StatementMethod, StatementHolder> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private boolean removed = false; // true when all statements of this Connection have been removed, guarded by lock
+
+        private ConnStatements() {
+            super(16, 0.75f, true); // access order, i.e. LRU
+        }
+    }
+
+    @Override
+    public StatementHolder take(StatementMethod statementMethod) throws SQLException {
+        if (isClosed())
+            return new StatementHolder(statementMethod.newStatement(), null, statementMethod.sqlQuery());
+
+        ConnStatements statements = getOrCreate(statementMethod.rawConnection());
+        StatementHolder statement;
+        statements.lock.lock();
+        try {
+            statement = statements.get(statementMethod);
+        } finally {
+            statements.lock.unlock();
+        }
+        if (statement != null) {
+            if (statement.state().compareAndSet(AVAILABLE, IN_USE)) {
+                if (logger.isTraceEnabled())
+                    logger.trace("Using cached statement for {}", statementMethod);
+                stats.hit();
+                return statement;
+            }
+            if (statementMethod.instance() + 1 < maxInstancesPerSql) // tries the next cached statement for the same SQL
+                return take(statementMethod.nextInstance());
+            // if the statement in the cache was not available we return an uncached StatementHolder
+            stats.inUse();
+            return new StatementHolder(statementMethod.newStatement(), null, statementMethod.sqlQuery());
+        }
+
+        // there was no cache entry for the statementMethod, so we'll try to put a new one
+        stats.miss(statementMethod.sqlQuery());
+        PreparedStatement rawStatement = statementMethod.newStatement();
+        StatementMethod key = statementMethod.toKey(); // statementMethod may be a reusable probe
+        statement = new StatementHolder(rawStatement, new AtomicReference<>(IN_USE), key.sqlQuery(), key);
+        statements.lock.lock();
+        try {
+            if (!statements.removed && !isClosed() && !statements.containsKey(key)
+                    && reserveSpace(statements)) {
+                statements.put(key, statement);
+                return statement; // the new entry was successfully put in the cache, so we return it
+            }
+        } finally {
+            statements.lock.unlock();
+        }
+        // if we couldn't put the statement in the cache we return an uncached StatementHolder
+        return new StatementHolder(rawStatement, null, statementMethod.sqlQuery());
+    }
+
+    private ConnStatements getOrCreate(Connection rawConnection) {
+        ConnStatements statements = connStatements.get(rawConnection);
+        if (statements == null) {
+            statements = new ConnStatements();
+            ConnStatements existing = connStatements.putIfAbsent(rawConnection, statements);
+            if (existing != null)
+                statements = existing;
+        }
+        return statements;
+    }
+
+    /**
+     * Reserves space for one more statement in the global size budget, evicting the least recently used statement
+     * of the given Connection or, if the Connection is below its fair share of the budget, of the Connection with
+     * the most cached statements, if needed. Must be called while holding the {@code statements} lock.
+     *
+     * @return true if the space was reserved, false otherwise
+     */
+    private boolean reserveSpace(ConnStatements statements) {
+        if (size.incrementAndGet() <= maxSize)
+            return true;
+
+        int fairShare = Math.max(1, maxSize / Math.max(1, connStatements.size()));
+        if ((statements.size() >= fairShare || !evictFromLargest(statements)) && !evictEldest(statements)) {
+            size.decrementAndGet();
+            return false;
+        }
+        return true; // we reuse the reserved space of the evicted statement
+    }
+
+    /**
+     * Evicts the least recently used statement of the Connection with the most cached statements, if it has more
+     * statements than the given Connection and its lock is available.
+     *
+     * @return true if a statement was evicted, false otherwise
+     */
+    private boolean evictFromLargest(ConnStatements statements) {
+        ConnStatements largest = null;
+        for (ConnStatements other : connStatements.values()) { // the sizes are read racily, as a heuristic only
+            if (other != statements && other.size() > statements.size()
+                    && (largest == null || other.size() > largest.size()))
+                largest = other;
+        }
+        if (largest == null || !largest.lock.tryLock()) // trying only, as we hold the lock of statements
+            return false;
+        try {
+            return !largest.removed && evictEldest(largest);
+        } finally {
+            largest.lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the least recently used statement of the given Connection, if any, and releases its space in the global
+     * size budget. Must be called while holding the {@code statements} lock.
+     *
+     * @return true if a statement was evicted, false otherwise
+     */
+    private boolean evictEldest(ConnStatements statements) {
+        Iterator<StatementHolder> eldest = statements.values().iterator();
+        if (!eldest.hasNext())
+            return false;
+
+        StatementHolder evicted = eldest.next();
+        eldest.remove();
+        size.decrementAndGet();
+        evict(evicted);
+        return true;
+    }
+
+    private void evict(StatementHolder statement) {
+        stats.eviction();
+        if (statement.state().getAndSet(EVICTED) == AVAILABLE)
+            quietClose(statement.rawStatement());
+        if (logger.isTraceEnabled())
+            logger.trace("Evicted {}", statement.rawStatement());
+    }
+
+    @Override
+    public boolean restore(StatementHolder statement, boolean clearWarnings) {
+        if (isClosed()) {
+            remove(statement);
+            return false;
+        }
+        if (statement.state() == null) // this statement is not in the cache
+            return false;
+
+        PreparedStatement rawStatement = (PreparedStatement) statement.rawStatement();
+        try {
+            if (clearWarnings)
+                clearWarnings(rawStatement);
+            return statement.state().compareAndSet(IN_USE, AVAILABLE); // we just mark it as AVAILABLE if it was IN_USE
+        } catch (SQLException e) {
+            logger.debug("Couldn't clear warnings on {}", rawStatement, e);
+            remove(statement);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean remove(StatementHolder statement) {
+        if (statement.state() == null) // this statement is not in the cache
+            return false;
+
+        StatementMethod statementMethod = statement.statementMethod();
+        ConnStatements statements = connStatements.get(statementMethod.rawConnection());
+        if (statements == null)
+            return false;
+        statements.lock.lock();
+        try {
+            if (statements.get(statementMethod) != statement) // comparing with == as these JDBC Statements are cached objects
+                return false;
+            statements.remove(statementMethod);
+        } finally {
+            statements.lock.unlock();
+        }
+        size.decrementAndGet();
+        statement.state().set(EVICTED); // so that the statement will not be restored in the cache when closed
+        return true;
+    }
+
+    @Override
+    public int removeAll(Connection rawConnection) {
+        ConnStatements statements = connStatements.remove(rawConnection);
+        return statements != null ? removeAll(statements) : 0;
+    }
+
+    private int removeAll(ConnStatements statements) {
+        statements.lock.lock();
+        try {
+            statements.removed = true;
+            int removed = statements.size();
+            for (StatementHolder statement : statements.values()) {
+                statement.state().set(EVICTED);
+                quietClose(statement.rawStatement());
+            }
+            statements.clear();
+            size.addAndGet(-removed);
+            return removed;
+        } finally {
+            statements.lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public StatementCacheStats stats() {
+        return stats;
+    }
+
+    /**
+     * Closes this ConnectionStatementCache and removes all entries from it.
+     */
+    @Override
+    public void close() {
+        if (closed.getAndSet(true))
+            return;
+
+        for (Map.Entry<Connection, ConnStatements> entry : connStatements.entrySet()) {
+            if (connStatements.remove(entry.getKey(), entry.getValue()))
+                removeAll(entry.getValue());
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+}
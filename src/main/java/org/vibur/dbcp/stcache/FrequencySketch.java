@@ -0,0 +1,111 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.stcache;
+
+/**
+ * A probabilistic estimate of the recent access frequency of the cache keys, used by the TinyLFU admission
+ * policy of {@link TinyLfuStatementCache}. The sketch is a Count-Min sketch with 4 hash functions and 4-bit counters,
+ * 16 counters packed per {@code long}, i.e. the maximum estimated frequency is {@code 15}. When the number of
+ * the recorded accesses reaches a sample size of {@code 10 * maxSize}, all counters are halved, so that the sketch
+ * reflects the recent history only.
+ *
+ * <p>This class is not thread-safe; its callers need to provide the necessary synchronization.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = { // taken from the FNV-1a and CityHash hashing schemes
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_FREQUENCY = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int size = 0;
+
+    FrequencySketch(int maxSize) {
+        assert maxSize > 0;
+        int capacity = Integer.highestOneBit(Math.max(maxSize, 8) - 1) << 1; // the next power of 2
+        table = new long[capacity];
+        tableMask = capacity - 1;
+        sampleSize = (int) Math.min(10L * maxSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of recent accesses of the given {@code key}, up to a maximum of {@code 15}.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int count = (int) ((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the given {@code key}, and ages all counters if the sample size has been reached.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++)
+            added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+
+        if (added && ++size >= sampleSize)
+            reset();
+    }
+
+    private boolean incrementAt(int index, int offset) {
+        long mask = 0xfL << offset;
+        if ((table[index] & mask) == mask) // the counter is saturated
+            return false;
+        table[index] += 1L << offset;
+        return true;
+    }
+
+    /** Halves all counters and the sample size. */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (odd >>> 2)) >>> 1;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & tableMask;
+    }
+
+    /** Returns the bit offset of one of the 16 counters of a table slot, using a different byte of the hash
+     * for each hash function. */
+    private static int offsetOf(int hash, int i) {
+        return ((hash >>> (i << 3)) & 0xf) << 2;
+    }
+
+    /** Applies a supplemental hash function, as the {@code StatementMethod} hash codes may be of low quality. */
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+}
@@ -47,7 +47,8 @@ public interface StatementCache {
 
     /**
      * Removes an entry from the cache (if such) for the given {@code statement}. Does <b>not</b> close
-     * the removed statement.
+     * the removed statement; however, a subsequent {@link #restore} of the removed statement will return
+     * {@code false}, i.e., the statement will be closed when the application closes it.
      *
      * @param statement the {@code StatementHolder} to be removed
      * @return true if success, false otherwise
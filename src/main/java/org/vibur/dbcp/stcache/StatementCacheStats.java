@@ -0,0 +1,177 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.stcache;
+
+import org.vibur.dbcp.ViburMetrics;
+import org.vibur.dbcp.util.StripedCounters;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The statistics of a {@link StatementCache}: the number of cache hits, misses, capacity evictions and {@code IN_USE}
+ * collisions, i.e. the takes which found the cached statement in use and had to fall back to an uncached statement.
+ *
+ * <p>The counters are striped by thread, see {@link StripedCounters}; the increments are hence cheap and scale with
+ * the number of threads, while the reads are only eventually consistent.
+ *
+ * <p>In addition, the SQL queries that most frequently miss the cache are tracked with the Space-Saving algorithm,
+ * within a bounded number of {@value #MISSES_TRACKED} queries. The estimated miss counts of the reported SQL queries
+ * may be overestimated by at most the count of the least frequent tracked query. The tracking never blocks the miss
+ * path: a miss which finds the tracking busy with another miss is not tracked, i.e. under contention the tracking
+ * samples the misses, and the reported counts are lower than the {@link #getMisses() misses}.
+ *
+ * <p>The hits, misses and evictions are also emitted to the {@link ViburMetrics}, if such are set.
+ */
+public class StatementCacheStats {
+
+    private static final int HITS = 0;
+    private static final int MISSES = 1;
+    private static final int EVICTIONS = 2;
+    private static final int IN_USE = 3;
+
+    private static final int MISSES_TRACKED = 100;
+
+    private final StripedCounters counters = new StripedCounters(IN_USE + 1);
+
+    private final Map<String, long[]> missedSql = new HashMap<>(); // guarded by missedSqlLock
+    private final ReentrantLock missedSqlLock = new ReentrantLock();
+
+    private volatile ViburMetrics metrics = null;
+
+    /**
+     * Creates a new StatementCacheStats. Custom {@link StatementCache} implementations which implement the
+     * {@link StatementCacheStatsSource} interface can use it to record their hits, misses, evictions, etc.
+     */
+    public StatementCacheStats() {
+    }
+
+    /** Sets the metrics to which the hits, misses and evictions are emitted; {@code null} means none. */
+    public void setMetrics(ViburMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /** Records a cache hit. */
+    public void hit() {
+        increment(HITS);
+        ViburMetrics metrics = this.metrics;
+        if (metrics != null)
+            metrics.statementCacheHit();
+    }
+
+    /** Records a cache miss for the given SQL query. */
+    public void miss(String sqlQuery) {
+        increment(MISSES);
+        trackMiss(sqlQuery);
+        ViburMetrics metrics = this.metrics;
+        if (metrics != null)
+            metrics.statementCacheMiss();
+    }
+
+    /** Records a capacity eviction. */
+    public void eviction() {
+        increment(EVICTIONS);
+        ViburMetrics metrics = this.metrics;
+        if (metrics != null)
+            metrics.statementCacheEviction();
+    }
+
+    /** Records a take which found the cached statement in use. */
+    public void inUse() {
+        increment(IN_USE);
+    }
+
+    private void increment(int counter) {
+        counters.increment(counter);
+    }
+
+    private long sum(int counter) {
+        return counters.sum(counter);
+    }
+
+    private void trackMiss(String sqlQuery) {
+        if (!missedSqlLock.tryLock())
+            return; // the sample is dropped
+        try {
+            long[] count = missedSql.get(sqlQuery);
+            if (count == null) {
+                long min = 0;
+                if (missedSql.size() >= MISSES_TRACKED) { // replaces the least frequent tracked query
+                    String minSql = null;
+                    for (Map.Entry<String, long[]> entry : missedSql.entrySet()) {
+                        if (minSql == null || entry.getValue()[0] < min) {
+                            min = entry.getValue()[0];
+                            minSql = entry.getKey();
+                        }
+                    }
+                    missedSql.remove(minSql);
+                }
+                count = new long[] {min};
+                missedSql.put(sqlQuery, count);
+            }
+            count[0]++;
+        } finally {
+            missedSqlLock.unlock();
+        }
+    }
+
+    public long getHits() {
+        return sum(HITS);
+    }
+
+    public long getMisses() {
+        return sum(MISSES);
+    }
+
+    public long getEvictions() {
+        return sum(EVICTIONS);
+    }
+
+    public long getInUseCollisions() {
+        return sum(IN_USE);
+    }
+
+    /**
+     * Returns the (up to) {@code n} SQL queries which have most frequently missed the cache, together with their
+     * estimated miss counts, in descending order of the counts.
+     */
+    public List<Map.Entry<String, Long>> getTopMisses(int n) {
+        List<Map.Entry<String, Long>> misses;
+        missedSqlLock.lock();
+        try {
+            misses = new ArrayList<>(missedSql.size());
+            for (Map.Entry<String, long[]> entry : missedSql.entrySet())
+                misses.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue()[0]));
+        } finally {
+            missedSqlLock.unlock();
+        }
+
+        Collections.sort(misses, new Comparator<Map.Entry<String, Long>>() {
+            @Override
+            public int compare(Map.Entry<String, Long> e1, Map.Entry<String, Long> e2) {
+                return e2.getValue().compareTo(e1.getValue());
+            }
+        });
+        return misses.subList(0, Math.min(n, misses.size()));
+    }
+}
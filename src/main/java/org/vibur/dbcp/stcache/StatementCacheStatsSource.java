@@ -0,0 +1,34 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.stcache;
+
+/**
+ * An optional interface which a {@link StatementCache} can implement in order to expose its current size and
+ * statistics via the JMX monitoring. All built-in StatementCache implementations implement it.
+ */
+public interface StatementCacheStatsSource {
+
+    /**
+     * Returns the current number of cached statements.
+     */
+    int size();
+
+    /**
+     * Returns the statistics of this StatementCache, i.e. its hits, misses, evictions, etc.
+     */
+    StatementCacheStats stats();
+}
@@ -43,14 +43,21 @@ public class StatementHolder {
 
     private final Statement rawStatement; // the underlying raw JDBC Statement
     private final AtomicReference<State> state; // a null value means that this StatementHolder instance is not included in the cache
+    private final StatementMethod statementMethod; // the cache key, non-null only for cached StatementHolder instances
 
     private String sqlQuery;
 
     public StatementHolder(Statement rawStatement, AtomicReference<State> state, String sqlQuery) {
+        this(rawStatement, state, sqlQuery, null);
+    }
+
+    StatementHolder(Statement rawStatement, AtomicReference<State> state, String sqlQuery,
+                    StatementMethod statementMethod) {
         assert rawStatement != null;
         this.rawStatement = rawStatement;
         this.state = state;
         this.sqlQuery = sqlQuery;
+        this.statementMethod = statementMethod;
     }
 
     public Statement rawStatement() {
@@ -61,6 +68,14 @@ public class StatementHolder {
         return state;
     }
 
+    /**
+     * Returns the cache key under which this StatementHolder has been put in the cache, which allows
+     * its removal from the cache in constant time.
+     */
+    StatementMethod statementMethod() {
+        return statementMethod;
+    }
+
     public String getSqlQuery() {
         return sqlQuery;
     }
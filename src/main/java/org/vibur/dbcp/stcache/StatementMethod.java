@@ -29,7 +29,11 @@ import static java.lang.String.format;
  * given JDBC Connection.
  *
  * <p>Used as a caching {@code key} for the above mentioned Connection method invocations in a {@code ConcurrentMap}
- * cache implementation.
+ * cache implementation. The key hash code is computed once, when the key is created.
+ *
+ * <p>In order to avoid allocating a new key on every cache lookup, the callers may use the reusable per-thread
+ * {@link #probe} instance. A probe must not be stored in a cache; the {@link StatementCache} implementations need to
+ * store the immutable key returned by {@link #toKey} instead.
  *
  * @see StatementHolder
  *
@@ -41,12 +45,44 @@ public class StatementMethod {
         PreparedStatement newStatement(Method method, Object[] args) throws SQLException;
     }
 
-    private final StatementCreator statementCreator;
-    private final Connection rawConnection; // the underlying raw JDBC Connection
-    private final Method method; // the invoked prepareStatement(...) or prepareCall(...) method
-    private final Object[] args; // the invoked method args
+    private static final int INSTANCE_HASH_INCREMENT = 0x61c88647; // the golden ratio, spreads the instances' hashes
+
+    private static final ThreadLocal<StatementMethod> probes = new ThreadLocal<StatementMethod>() {
+        @Override
+        protected StatementMethod initialValue() {
+            return new StatementMethod();
+        }
+    };
+
+    private StatementCreator statementCreator;
+    private Connection rawConnection; // the underlying raw JDBC Connection
+    private Method method; // the invoked prepareStatement(...) or prepareCall(...) method
+    private Object[] args; // the invoked method args
+    private int instance; // the index of the statement among the cached statements for the same method and args
+    private int hashCode;
+
+    private final boolean probe;
+    private final Object[] probeSqlArg; // the reusable args of a probe for the single sql argument methods
 
     public StatementMethod(Connection rawConnection, StatementCreator statementCreator, Method method, Object[] args) {
+        this(rawConnection, statementCreator, method, args, 0);
+    }
+
+    private StatementMethod(Connection rawConnection, StatementCreator statementCreator, Method method, Object[] args,
+                            int instance) {
+        this.probe = false;
+        this.probeSqlArg = null;
+        set(rawConnection, statementCreator, method, args);
+        this.instance = instance;
+        this.hashCode += instance * INSTANCE_HASH_INCREMENT;
+    }
+
+    private StatementMethod() {
+        this.probe = true;
+        this.probeSqlArg = new Object[1];
+    }
+
+    private void set(Connection rawConnection, StatementCreator statementCreator, Method method, Object[] args) {
         assert statementCreator != null;
         assert method != null;
         assert args != null && args.length >= 1;
@@ -54,6 +90,74 @@ public class StatementMethod {
         this.rawConnection = rawConnection;
         this.method = method;
         this.args = args;
+        this.instance = 0;
+        this.hashCode = hashCode(rawConnection, method, args);
+    }
+
+    /**
+     * Returns the current thread's reusable {@code StatementMethod} probe, set to the given values. The probe is valid
+     * only until the next call to this method from the same thread, and the given {@code args} must not be modified
+     * while the probe is in use.
+     */
+    public static StatementMethod probe(Connection rawConnection, StatementCreator statementCreator,
+                                        Method method, Object[] args) {
+        StatementMethod probe = probes.get();
+        probe.set(rawConnection, statementCreator, method, args);
+        return probe;
+    }
+
+    /**
+     * The same as {@link #probe(Connection, StatementCreator, Method, Object[])} but for the methods accepting
+     * a single {@code sql} argument; this variant does not allocate an {@code args} array.
+     */
+    public static StatementMethod probe(Connection rawConnection, StatementCreator statementCreator,
+                                        Method method, String sql) {
+        StatementMethod probe = probes.get();
+        probe.probeSqlArg[0] = sql;
+        probe.set(rawConnection, statementCreator, method, probe.probeSqlArg);
+        return probe;
+    }
+
+    /**
+     * Clears the references held by this probe, so that they are not retained by the thread.
+     */
+    public void clear() {
+        if (!probe)
+            return;
+        statementCreator = null;
+        rawConnection = null;
+        method = null;
+        args = null;
+        probeSqlArg[0] = null;
+    }
+
+    /**
+     * Returns this {@code StatementMethod} if it is not a probe, or an immutable copy of it otherwise.
+     * This is the key which the {@link StatementCache} implementations need to store.
+     */
+    public StatementMethod toKey() {
+        if (!probe)
+            return this;
+        StatementMethod key = new StatementMethod(rawConnection, statementCreator, method, args.clone(), instance);
+        assert key.hashCode == hashCode;
+        return key;
+    }
+
+    /**
+     * Returns the {@code StatementMethod} describing the next cached statement instance for the same method
+     * and args, which is used when the statement for this instance is already in use. A probe is moved to
+     * the next instance in place, i.e. this method returns the probe itself.
+     */
+    StatementMethod nextInstance() {
+        if (!probe)
+            return new StatementMethod(rawConnection, statementCreator, method, args, instance + 1);
+        instance++;
+        hashCode += INSTANCE_HASH_INCREMENT;
+        return this;
+    }
+
+    int instance() {
+        return instance;
     }
 
     Connection rawConnection() {
@@ -74,13 +178,19 @@ public class StatementMethod {
         if (o == null || getClass() != o.getClass()) return false;
 
         StatementMethod that = (StatementMethod) o;
-        return rawConnection == that.rawConnection // comparing with == as the JDBC Connections are pooled objects
+        return hashCode == that.hashCode
+            && instance == that.instance
+            && rawConnection == that.rawConnection // comparing with == as the JDBC Connections are pooled objects
             && method.equals(that.method)
             && Arrays.equals(args, that.args);
     }
 
     @Override
     public int hashCode() {
+        return hashCode;
+    }
+
+    private static int hashCode(Connection rawConnection, Method method, Object[] args) {
         int result = rawConnection.hashCode();
         result = 31 * result + method.hashCode();
         result = 31 * result + Arrays.hashCode(args);
@@ -89,6 +199,7 @@ public class StatementMethod {
 
     @Override
     public String toString() {
-        return format("rawConnection %s, method %s, args %s", rawConnection, method, Arrays.toString(args));
+        return format("rawConnection %s, method %s, args %s, instance %d",
+                rawConnection, method, Arrays.toString(args), instance);
     }
 }
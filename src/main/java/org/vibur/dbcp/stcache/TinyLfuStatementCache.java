@@ -0,0 +1,416 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.stcache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.vibur.dbcp.util.StripedCounters;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.vibur.dbcp.stcache.StatementHolder.State.*;
+import static org.vibur.dbcp.util.JdbcUtils.clearWarnings;
+import static org.vibur.dbcp.util.JdbcUtils.quietClose;
+import static org.vibur.objectpool.util.ArgumentValidation.forbidIllegalArgument;
+
+/**
+ * A JDBC Statement cache with a frequency-aware admission and eviction policy, based on the Window TinyLFU
+ * (W-TinyLFU) scheme. Unlike the pure LRU {@link ClhmStatementCache}, a burst of unique, one-off SQL queries
+ * cannot flush the frequently used statements out of this cache.
+ *
+ * <p>The cached statements are kept in three LRU segments: a small admission window (1% of the cache size),
+ * and a main space divided in a probation (20%) and a protected (80%) segment. A new statement always enters
+ * the window; when the window overflows, its least recently used statement becomes a candidate for the main
+ * space and is admitted there only if its estimated access frequency, as recorded by a {@link FrequencySketch},
+ * is higher than the frequency of the main space victim, i.e. of the least recently used probation statement.
+ * The statement that loses is evicted. A probation statement that is accessed again is promoted to the protected
+ * segment.
+ *
+ * <p>The cache lookups are done on a {@link ConcurrentHashMap} and do not take a lock. The policy bookkeeping is
+ * guarded by a single lock which is always taken when a new statement is put in the cache. The accesses of
+ * the already cached statements are not applied to the policy right away, but are recorded in striped, bounded
+ * read buffers, each of which is written by a subset of the threads; the buffers are drained and their accesses
+ * applied to the policy while holding the lock, either when a new statement is put in the cache, or when a buffer
+ * is full and the lock is not contended at that moment. An access which finds its buffer full or loses a race for
+ * a buffer slot is dropped, i.e. the policy may lose some access history under high contention. The JDBC
+ * "prepare..." and "close" calls are never made while holding the lock.
+ */
+public class TinyLfuStatementCache implements StatementCache, StatementCacheStatsSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(TinyLfuStatementCache.class);
+
+    private static final int READ_BUFFER_SIZE = 16; // the number of slots in a read buffer stripe, a power of 2
+    private static final int WRITE_COUNTER = 0;
+    private static final int READ_COUNTER = 8; // in another cache line than the write counter
+
+    private final int maxInstancesPerSql;
+    private final int windowMaxSize;
+    private final int mainMaxSize;
+    private final int protectedMaxSize;
+
+    private final ConcurrentMap<StatementMethod, Node> statementCache = new ConcurrentHashMap<>();
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final StatementCacheStats stats = new StatementCacheStats();
+
+    // the read buffers: each stripe has READ_BUFFER_SIZE slots and a write and a read counter; the write counter is
+    // advanced via CAS by the recording threads, and the read counter is advanced only while holding the lock
+    private final StripedCounters readBufferCounters = new StripedCounters(READ_COUNTER + 1);
+    private final AtomicReferenceArray<Node> readBuffers =
+            new AtomicReferenceArray<>(readBufferCounters.stripes() * READ_BUFFER_SIZE);
+
+    // all below fields are guarded by the lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final LinkedHashMap<StatementMethod, Node> window = newSegment();
+    private final LinkedHashMap<StatementMethod, Node> probation = newSegment();
+    private final LinkedHashMap<StatementMethod, Node> protectedSegment = newSegment();
+
+    public TinyLfuStatementCache(int maxSize) {
+        this(maxSize, 1);
+    }
+
+    /**
+     * Creates a new TinyLfuStatementCache.
+     *
+     * @param maxSize the maximum number of cached statements
+     * @param maxInstancesPerSql the maximum number of statements cached for the same prepare method, SQL query and
+     *                           Connection; a take that finds all of them in use returns an uncached statement
+     */
+    public TinyLfuStatementCache(int maxSize, int maxInstancesPerSql) {
+        forbidIllegalArgument(maxSize <= 0);
+        forbidIllegalArgument(maxInstancesPerSql <= 0);
+        this.maxInstancesPerSql = maxInstancesPerSql;
+        windowMaxSize = Math.max(1, maxSize / 100);
+        mainMaxSize = maxSize - windowMaxSize;
+        protectedMaxSize = mainMaxSize * 4 / 5;
+        sketch = new FrequencySketch(maxSize);
+    }
+
+    private static LinkedHashMap<StatementMethod, Node> newSegment() {
+        return new LinkedHashMap<>(16, 0.75f, true); // access order, i.e. LRU
+    }
+
+    private enum Segment {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+
+    /** A cached statement together with the policy segment in which it currently is. */
+    private static final class Node {
+        private final StatementMethod key;
+        private final StatementHolder statement;
+        private Segment segment; // null when the node has been removed from the policy; guarded by the lock
+
+        private Node(StatementMethod key, StatementHolder statement) {
+            this.key = key;
+            this.statement = statement;
+        }
+    }
+
+    @Override
+    public StatementHolder take(StatementMethod statementMethod) throws SQLException {
+        if (isClosed())
+            return new StatementHolder(statementMethod.newStatement(), null, statementMethod.sqlQuery());
+
+        Node node = statementCache.get(statementMethod);
+        if (node != null) {
+            recordAccess(node);
+            StatementHolder statement = node.statement;
+            if (statement.state().compareAndSet(AVAILABLE, IN_USE)) {
+                if (logger.isTraceEnabled())
+                    logger.trace("Using cached statement for {}", statementMethod);
+                stats.hit();
+                return statement;
+            }
+            if (statementMethod.instance() + 1 < maxInstancesPerSql) // tries the next cached statement for the same SQL
+                return take(statementMethod.nextInstance());
+            // if the statement in the cache was not available we return an uncached StatementHolder
+            stats.inUse();
+            return new StatementHolder(statementMethod.newStatement(), null, statementMethod.sqlQuery());
+        }
+
+        // there was no cache entry for the statementMethod, so we'll try to put a new one
+        stats.miss(statementMethod.sqlQuery());
+        PreparedStatement rawStatement = statementMethod.newStatement();
+        StatementMethod key = statementMethod.toKey(); // statementMethod may be a reusable probe
+        StatementHolder statement = new StatementHolder(rawStatement, new AtomicReference<>(IN_USE), key.sqlQuery(), key);
+        node = new Node(key, statement);
+        Node evicted = null;
+        boolean added = false;
+        lock.lock();
+        try {
+            drainReadBuffers();
+            sketch.increment(key);
+            if (!isClosed() && statementCache.putIfAbsent(key, node) == null) {
+                node.segment = Segment.WINDOW;
+                window.put(key, node);
+                evicted = evictFromWindow();
+                added = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (evicted != null)
+            evict(evicted.statement);
+
+        if (added)
+            return statement; // the new entry was successfully put in the cache, so we return it
+        // if we couldn't put the statement in the cache we return an uncached StatementHolder
+        return new StatementHolder(rawStatement, null, statementMethod.sqlQuery());
+    }
+
+    /**
+     * Records an access of an already cached statement in the read buffer stripe of the current thread. If the
+     * stripe is full, drains all read buffers if the lock is not contended, or drops the access otherwise.
+     */
+    private void recordAccess(Node node) {
+        int stripe = readBufferCounters.stripe();
+        long tail = readBufferCounters.get(stripe, WRITE_COUNTER);
+        if (tail - readBufferCounters.get(stripe, READ_COUNTER) < READ_BUFFER_SIZE) {
+            if (readBufferCounters.compareAndSet(stripe, WRITE_COUNTER, tail, tail + 1))
+                readBuffers.lazySet(stripe * READ_BUFFER_SIZE + (int) (tail & (READ_BUFFER_SIZE - 1)), node);
+            return; // an access which loses the race for the slot is dropped
+        }
+
+        if (!lock.tryLock())
+            return;
+        try {
+            drainReadBuffers();
+            applyAccess(node);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Applies the accesses recorded in the read buffers to the policy. Must be called while holding the lock.
+     */
+    private void drainReadBuffers() {
+        for (int stripe = 0; stripe < readBufferCounters.stripes(); stripe++) {
+            long head = readBufferCounters.get(stripe, READ_COUNTER);
+            long tail = readBufferCounters.get(stripe, WRITE_COUNTER);
+            for (; head < tail; head++) {
+                int slot = stripe * READ_BUFFER_SIZE + (int) (head & (READ_BUFFER_SIZE - 1));
+                Node node = readBuffers.get(slot);
+                if (node == null)
+                    break; // the recording thread has advanced the write counter but has not set the slot yet
+                readBuffers.lazySet(slot, null);
+                applyAccess(node);
+            }
+            readBufferCounters.lazySet(stripe, READ_COUNTER, head);
+        }
+    }
+
+    /**
+     * Applies an access of a cached statement to the policy. Must be called while holding the lock.
+     */
+    private void applyAccess(Node node) {
+        if (node.segment == null)
+            return; // the statement has been removed from the cache meanwhile
+        sketch.increment(node.key);
+        if (node.segment == Segment.WINDOW)
+            window.get(node.key);
+        else if (node.segment == Segment.PROTECTED)
+            protectedSegment.get(node.key);
+        else if (node.segment == Segment.PROBATION) {
+            probation.remove(node.key);
+            node.segment = Segment.PROTECTED;
+            protectedSegment.put(node.key, node);
+            if (protectedSegment.size() > protectedMaxSize) { // demotes the LRU protected statement to probation
+                Node demoted = removeEldest(protectedSegment);
+                demoted.segment = Segment.PROBATION;
+                probation.put(demoted.key, demoted);
+            }
+        }
+    }
+
+    /**
+     * Moves the LRU window statement, if the window has overflowed, to the main space, evicting either this
+     * candidate or the main space victim when the main space is full. Must be called while holding the lock,
+     * after exactly one statement has been added to the window.
+     *
+     * @return the evicted node, which has already been removed from the cache, or null if none
+     */
+    private Node evictFromWindow() {
+        if (window.size() <= windowMaxSize)
+            return null;
+
+        Node candidate = removeEldest(window);
+        if (probation.size() + protectedSegment.size() < mainMaxSize) {
+            candidate.segment = Segment.PROBATION;
+            probation.put(candidate.key, candidate);
+            return null;
+        }
+
+        Node victim = probation.isEmpty() ? null : probation.values().iterator().next();
+        Node evicted = candidate;
+        if (victim != null && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+            probation.remove(victim.key);
+            candidate.segment = Segment.PROBATION;
+            probation.put(candidate.key, candidate);
+            evicted = victim;
+        }
+        evicted.segment = null;
+        statementCache.remove(evicted.key, evicted);
+        return evicted;
+    }
+
+    private static Node removeEldest(LinkedHashMap<StatementMethod, Node> segment) {
+        Iterator<Node> eldest = segment.values().iterator();
+        Node node = eldest.next();
+        eldest.remove();
+        return node;
+    }
+
+    /** Removes the given node from the policy segment in which it is. Must be called while holding the lock. */
+    private void removeFromSegment(Node node) {
+        if (node.segment == Segment.WINDOW)
+            window.remove(node.key);
+        else if (node.segment == Segment.PROBATION)
+            probation.remove(node.key);
+        else if (node.segment == Segment.PROTECTED)
+            protectedSegment.remove(node.key);
+        node.segment = null;
+    }
+
+    private void evict(StatementHolder statement) {
+        stats.eviction();
+        if (statement.state().getAndSet(EVICTED) == AVAILABLE)
+            quietClose(statement.rawStatement());
+        if (logger.isTraceEnabled())
+            logger.trace("Evicted {}", statement.rawStatement());
+    }
+
+    @Override
+    public boolean restore(StatementHolder statement, boolean clearWarnings) {
+        if (isClosed()) {
+            remove(statement);
+            return false;
+        }
+        if (statement.state() == null) // this statement is not in the cache
+            return false;
+
+        PreparedStatement rawStatement = (PreparedStatement) statement.rawStatement();
+        try {
+            if (clearWarnings)
+                clearWarnings(rawStatement);
+            return statement.state().compareAndSet(IN_USE, AVAILABLE); // we just mark it as AVAILABLE if it was IN_USE
+        } catch (SQLException e) {
+            logger.debug("Couldn't clear warnings on {}", rawStatement, e);
+            remove(statement);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean remove(StatementHolder statement) {
+        if (statement.state() == null) // this statement is not in the cache
+            return false;
+
+        StatementMethod statementMethod = statement.statementMethod();
+        lock.lock();
+        try {
+            Node node = statementCache.get(statementMethod);
+            if (node == null || node.statement != statement) // comparing with == as these JDBC Statements are cached objects
+                return false;
+            statementCache.remove(statementMethod, node);
+            removeFromSegment(node);
+        } finally {
+            lock.unlock();
+        }
+        statement.state().set(EVICTED); // so that the statement will not be restored in the cache when closed
+        return true;
+    }
+
+    @Override
+    public int removeAll(Connection rawConnection) {
+        List<StatementHolder> removed = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Node node : statementCache.values()) {
+                if (node.key.rawConnection() == rawConnection && statementCache.remove(node.key, node)) {
+                    removeFromSegment(node);
+                    removed.add(node.statement);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        closeAll(removed);
+        return removed.size();
+    }
+
+    @Override
+    public int size() {
+        return statementCache.size();
+    }
+
+    @Override
+    public StatementCacheStats stats() {
+        return stats;
+    }
+
+    /**
+     * Closes this TinyLfuStatementCache and removes all entries from it.
+     */
+    @Override
+    public void close() {
+        if (closed.getAndSet(true))
+            return;
+
+        List<StatementHolder> removed = new ArrayList<>();
+        lock.lock();
+        try {
+            for (Node node : statementCache.values()) {
+                node.segment = null;
+                removed.add(node.statement);
+            }
+            statementCache.clear();
+            window.clear();
+            probation.clear();
+            protectedSegment.clear();
+        } finally {
+            lock.unlock();
+        }
+        closeAll(removed);
+    }
+
+    private static void closeAll(List<StatementHolder> statements) {
+        for (StatementHolder statement : statements) {
+            statement.state().set(EVICTED);
+            quietClose(statement.rawStatement());
+        }
+    }
+
+    @Override
+    public boolean isClosed() {
+        return closed.get();
+    }
+}
@@ -0,0 +1,130 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, in the style of the HdrHistogram: the values are counted in
+ * log-linear buckets, i.e. each power of 2 range is split into {@value #SUB_BUCKETS} equal sub-buckets, which bounds
+ * the relative error of the reported percentiles to about 6%. Values of up to 2^42 ns (about 73 minutes) are
+ * tracked; larger values are counted in the last bucket.
+ *
+ * <p>The recording is allocation-free and cheap: each thread increments the buckets of its own stripe, see
+ * {@link StripedCounters}, and the stripes are merged on read. The reads are hence relatively more expensive and only eventually consistent,
+ * which is adequate for monitoring.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 41;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final int MAX_STRIPES = 16;
+
+    private final StripedCounters counts = new StripedCounters(BUCKETS, MAX_STRIPES);
+    private final AtomicLong max = new AtomicLong(0);
+
+    /**
+     * Records the given latency.
+     *
+     * @param nanos the latency in nanoseconds; negative values are recorded as {@code 0}
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        counts.increment(bucketOf(nanos));
+
+        long currentMax;
+        do {
+            currentMax = max.get();
+        } while (nanos > currentMax && !max.compareAndSet(currentMax, nanos));
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT)
+            return BUCKETS - 1;
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /** Returns the highest value which is counted in the given bucket. */
+    static long highestValueOf(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long lowest = (1L << exponent) + (subBucket << (exponent - SUB_BUCKET_BITS));
+        return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private long[] merge() {
+        long[] merged = new long[BUCKETS];
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+            merged[bucket] = counts.sum(bucket);
+        return merged;
+    }
+
+    /** Returns the number of the recorded values. */
+    public long count() {
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+            count += counts.sum(bucket);
+        return count;
+    }
+
+    /** Returns the maximum recorded value in nanoseconds, or {@code 0} if no values have been recorded. */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the value at the given percentile in nanoseconds, i.e. the value below or at which the given
+     * percentage of the recorded values are, or {@code 0} if no values have been recorded.
+     *
+     * @param percentile the percentile, in the range {@code (0, 100]}
+     */
+    public long percentile(double percentile) {
+        long[] merged = merge();
+        long count = 0;
+        for (long bucketCount : merged)
+            count += bucketCount;
+        if (count == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int bucket = 0; bucket < merged.length; bucket++) {
+            seen += merged[bucket];
+            if (seen >= rank)
+                return Math.min(highestValueOf(bucket), max());
+        }
+        return max();
+    }
+
+    /** Clears all recorded values. Values recorded concurrently with the reset may or may not be cleared. */
+    public void reset() {
+        for (int stripe = 0; stripe < counts.stripes(); stripe++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++)
+                counts.set(stripe, bucket, 0);
+        }
+        max.set(0);
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed number of {@code long} counters, striped by thread: each thread updates the counters of its own stripe,
+ * and a counter value is the sum of all stripes. The updates are hence cheap and scale with the number of threads,
+ * while the sums are relatively more expensive and only eventually consistent, which is adequate for monitoring.
+ *
+ * <p>The number of stripes is the smallest power of 2 which is not less than twice the number of the available
+ * processors, optionally capped. Each stripe is rounded up to whole cache lines and followed by a cache line of
+ * padding, so that the counters of two stripes never share a cache line regardless of the alignment of the array.
+ */
+public final class StripedCounters {
+
+    private static final int LONGS_PER_CACHE_LINE = 8; // 64 bytes
+
+    private final AtomicLongArray counters;
+    private final int stripeLength;
+    private final int stripeMask;
+
+    /**
+     * Creates the striped counters.
+     *
+     * @param counters the number of the counters in each stripe
+     */
+    public StripedCounters(int counters) {
+        this(counters, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Creates the striped counters.
+     *
+     * @param counters the number of the counters in each stripe
+     * @param maxStripes the max number of stripes, a power of 2
+     */
+    public StripedCounters(int counters, int maxStripes) {
+        int stripes = Math.min(maxStripes,
+                Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1); // a power of 2
+        this.stripeLength = ((counters + LONGS_PER_CACHE_LINE - 1) / LONGS_PER_CACHE_LINE + 1) * LONGS_PER_CACHE_LINE;
+        this.counters = new AtomicLongArray(stripes * stripeLength);
+        this.stripeMask = stripes - 1;
+    }
+
+    /** Returns the number of stripes. */
+    public int stripes() {
+        return stripeMask + 1;
+    }
+
+    /** Returns the stripe of the current thread. */
+    public int stripe() {
+        long id = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L; // spreads the sequential thread ids
+        return (int) (id >>> 32) & stripeMask;
+    }
+
+    /** Increments the given counter in the stripe of the current thread. */
+    public void increment(int counter) {
+        counters.getAndIncrement(stripe() * stripeLength + counter);
+    }
+
+    /** Adds the given delta to the given counter in the stripe of the current thread. */
+    public void add(int counter, long delta) {
+        counters.getAndAdd(stripe() * stripeLength + counter, delta);
+    }
+
+    /** Returns the sum of the given counter over all stripes. */
+    public long sum(int counter) {
+        long sum = 0;
+        for (int i = counter; i < counters.length(); i += stripeLength)
+            sum += counters.get(i);
+        return sum;
+    }
+
+    public long get(int stripe, int counter) {
+        return counters.get(stripe * stripeLength + counter);
+    }
+
+    public void set(int stripe, int counter, long value) {
+        counters.set(stripe * stripeLength + counter, value);
+    }
+
+    public void lazySet(int stripe, int counter, long value) {
+        counters.lazySet(stripe * stripeLength + counter, value);
+    }
+
+    public boolean compareAndSet(int stripe, int counter, long expect, long update) {
+        return counters.compareAndSet(stripe * stripeLength + counter, expect, update);
+    }
+}
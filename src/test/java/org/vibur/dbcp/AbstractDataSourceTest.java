@@ -27,10 +27,21 @@ import org.vibur.dbcp.util.SimpleDataSource;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Properties;
+import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.Mockito.mock;
 
@@ -185,6 +196,19 @@ public abstract class AbstractDataSourceTest {
         return dataSource;
     }
 
+    /**
+     * Waits for up to 5 seconds until the given metrics have counted at least the given numbers of the connection
+     * validations and of the failed connection validations, which are done in the background.
+     */
+    protected static void awaitValidations(ViburMetrics.Default metrics, long validations, long failures)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + SECONDS.toNanos(5);
+        while (metrics.getConnectionValidations() < validations || metrics.getConnectionValidationFailures() < failures) {
+            assertTrue("the background validations timed out", System.nanoTime() < deadline);
+            MILLISECONDS.sleep(10);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public static ConcurrentMap<StatementMethod, StatementHolder> mockStatementCache(ViburDBCPDataSource ds) {
         final ConcurrentMap<StatementMethod, StatementHolder>[] holder = new ConcurrentMap[1];
@@ -201,4 +225,42 @@ public abstract class AbstractDataSourceTest {
 
         return holder[0];
     }
+
+    protected static void executeAndVerifySelectStatement(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            ResultSet resultSet = statement.executeQuery("select * from actor where first_name = 'CHRISTIAN'");
+            Set<String> expectedLastNames = new HashSet<>(Arrays.asList("GABLE", "AKROYD", "NEESON"));
+            while (resultSet.next()) {
+                String lastName = resultSet.getString("last_name");
+                assertTrue(expectedLastNames.remove(lastName));
+            }
+            assertTrue(expectedLastNames.isEmpty());
+        }
+    }
+
+    protected static void executeAndVerifyPreparedSelectStatement(Connection connection) throws SQLException {
+        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+            pStatement.setString(1, "CHRISTIAN");
+            ResultSet resultSet = pStatement.executeQuery();
+            Set<String> expectedLastNames = new HashSet<>(Arrays.asList("GABLE", "AKROYD", "NEESON"));
+            while (resultSet.next()) {
+                String lastName = resultSet.getString("last_name");
+                assertTrue(expectedLastNames.remove(lastName));
+            }
+            assertTrue(expectedLastNames.isEmpty());
+        }
+    }
+
+    protected static void executeAndVerifyPreparedSelectStatementByLastName(Connection connection) throws SQLException {
+        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where last_name = ?")) {
+            pStatement.setString(1, "CROWE");
+            ResultSet resultSet = pStatement.executeQuery();
+            Set<String> expectedFirstNames = new HashSet<>(Collections.singletonList("SIDNEY"));
+            while (resultSet.next()) {
+                String firstName = resultSet.getString("first_name");
+                assertTrue(expectedFirstNames.remove(firstName));
+            }
+            assertTrue(expectedFirstNames.isEmpty());
+        }
+    }
 }
@@ -0,0 +1,251 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import org.junit.Test;
+import org.vibur.dbcp.pool.AdaptivePoolSizer;
+import org.vibur.dbcp.pool.Hook;
+
+import java.sql.*;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+
+public class ConnectionCreationTest extends AbstractDataSourceTest {
+
+    @Test
+    public void testAsyncConnectionCreationWithHeadroom() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolHeadroomSize(2);
+        final Set<String> initThreads = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        ds.getConnHooks().addOnInit(new Hook.InitConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                initThreads.add(Thread.currentThread().getName());
+            }
+        });
+        ds.start();
+
+        // the spare connections are being created in the background, and the pool takes them as they complete
+        Connection[] connections = new Connection[POOL_INITIAL_SIZE + 2];
+        Set<Connection> rawConnections = new HashSet<>();
+        try {
+            for (int i = 0; i < connections.length; i++) {
+                connections[i] = ds.getConnection();
+                rawConnections.add(connections[i].unwrap(Connection.class));
+            }
+            assertEquals(connections.length, rawConnections.size());
+            executeAndVerifySelectStatement(connections[connections.length - 1]);
+        } finally {
+            for (Connection connection : connections) {
+                if (connection != null)
+                    connection.close();
+            }
+        }
+
+        assertEquals(POOL_INITIAL_SIZE + 2, ds.getPool().createdTotal());
+        boolean createdAsync = false;
+        for (String initThread : initThreads)
+            createdAsync |= initThread.startsWith("AsyncConnectionCreator");
+        assertTrue(createdAsync);
+    }
+
+    @Test
+    public void testAsyncConnectionCreationHandsOverFirstCreatedSpare() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(0);
+        ds.setPoolHeadroomSize(2);
+        final AtomicInteger asyncCreates = new AtomicInteger(0);
+        final CountDownLatch firstSpareReleased = new CountDownLatch(1);
+        ds.getConnHooks().addOnInit(new Hook.InitConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                if (Thread.currentThread().getName().startsWith("AsyncConnectionCreator")
+                        && asyncCreates.incrementAndGet() == 1) {
+                    try {
+                        firstSpareReleased.await(10, SECONDS); // the first spare connection is stuck
+                    } catch (InterruptedException ignored) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        });
+        ds.start();
+
+        try (Connection connection = ds.getConnection()) { // gets the second spare connection
+            executeAndVerifySelectStatement(connection);
+            assertEquals(1, firstSpareReleased.getCount());
+        } finally {
+            firstSpareReleased.countDown();
+        }
+    }
+
+    @Test
+    public void testAsyncConnectionCreationDropsFailedSpare() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(0);
+        ds.setPoolHeadroomSize(1);
+        ds.setAcquireRetryAttempts(0);
+        ds.setAcquireRetryDelayInMs(100);
+        final CountDownLatch failed = new CountDownLatch(1);
+        ds.getConnHooks().addOnInit(new Hook.InitConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) throws SQLException {
+                if (failed.getCount() > 0 && Thread.currentThread().getName().startsWith("AsyncConnectionCreator")) {
+                    failed.countDown();
+                    throw new SQLException("the first spare connection fails");
+                }
+            }
+        });
+        ds.start();
+
+        assertTrue(failed.await(5, SECONDS));
+        try (Connection connection = ds.getConnection()) { // does not get the failure of the first spare
+            executeAndVerifySelectStatement(connection);
+        }
+    }
+
+    @Test
+    public void testParallelInitialPoolFillWithReadySize() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialFillThreads(POOL_INITIAL_SIZE);
+        ds.setPoolInitialReadySize(1);
+        final Set<String> initThreads = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        ds.getConnHooks().addOnInit(new Hook.InitConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                initThreads.add(Thread.currentThread().getName());
+            }
+        });
+        ds.start();
+        assertEquals(1, ds.getPool().createdTotal()); // the rest of the initial connections are created in the background
+
+        Connection[] connections = new Connection[POOL_INITIAL_SIZE];
+        try {
+            for (int i = 0; i < connections.length; i++) {
+                connections[i] = ds.getConnection();
+                executeAndVerifySelectStatement(connections[i]);
+            }
+        } finally {
+            for (Connection connection : connections) {
+                if (connection != null)
+                    connection.close();
+            }
+        }
+
+        assertEquals(POOL_INITIAL_SIZE, ds.getPool().createdTotal());
+        for (String initThread : initThreads)
+            assertTrue(initThread.startsWith("AsyncConnectionCreator"));
+    }
+
+    @Test
+    public void testConnectionCreateMaxConcurrency() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setConnectionCreateMaxConcurrency(1);
+        final AtomicInteger creating = new AtomicInteger(0);
+        final AtomicInteger maxCreating = new AtomicInteger(0);
+        ds.getConnHooks().addOnInit(new Hook.InitConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                int current = creating.incrementAndGet();
+                maxCreating.set(Math.max(maxCreating.get(), current));
+                try {
+                    MILLISECONDS.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                creating.decrementAndGet();
+            }
+        });
+        ds.start();
+
+        final ViburDBCPDataSource dataSource = ds;
+        final CountDownLatch taken = new CountDownLatch(POOL_INITIAL_SIZE + 4);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger errors = new AtomicInteger(0);
+        for (int i = 0; i < POOL_INITIAL_SIZE + 4; i++) {
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try (Connection ignored = dataSource.getConnection()) {
+                        taken.countDown();
+                        release.await();
+                    } catch (SQLException | InterruptedException e) {
+                        errors.incrementAndGet();
+                        taken.countDown();
+                    }
+                }
+            }).start();
+        }
+        taken.await();
+        release.countDown();
+
+        assertEquals(0, errors.get());
+        assertEquals(1, maxCreating.get());
+        assertEquals(POOL_INITIAL_SIZE + 4, ds.getPool().createdTotal());
+    }
+
+    @Test
+    public void testAdaptivePoolSizing() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(1);
+        ds.setPoolMaxSize(10);
+        ds.setAdaptiveSizingIntervalInSeconds(1);
+        final Set<String> initThreads = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        ds.getConnHooks().addOnInit(new Hook.InitConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                initThreads.add(Thread.currentThread().getName());
+            }
+        });
+        ds.start();
+        assertEquals(0, ds.getReducerTimeIntervalInSeconds());
+
+        AdaptivePoolSizer sizer = ds.getAdaptivePoolSizer();
+        try (Connection c1 = ds.getConnection();
+             Connection c2 = ds.getConnection();
+             Connection c3 = ds.getConnection()) {
+            // 3 busy connections plus the headroom; the missing connections are created ahead of the demand
+            boolean createdAsync = false;
+            for (int i = 0; i < 30 && !createdAsync; i++) {
+                MILLISECONDS.sleep(100);
+                for (String initThread : initThreads)
+                    createdAsync |= initThread.startsWith("AsyncConnectionCreator");
+            }
+            assertTrue(createdAsync);
+            assertTrue(sizer.getTargetSize() >= 4);
+            assertEquals(3, ds.getPool().taken());
+
+            try (Connection c4 = ds.getConnection()) { // takes a connection created ahead of the demand
+                executeAndVerifySelectStatement(c4);
+            }
+        }
+
+        int created = ds.getPool().createdTotal();
+        for (int i = 0; i < 50 && ds.getPool().createdTotal() >= created; i++)
+            MILLISECONDS.sleep(100);
+        assertTrue(ds.getPool().createdTotal() < created); // shrinks gradually while idle
+        assertEquals(0, ds.getPool().taken());
+    }
+}
@@ -0,0 +1,223 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import org.junit.Test;
+import org.vibur.dbcp.ViburDataSource.Priority;
+import org.vibur.dbcp.pool.AsyncConnectionRequests;
+import org.vibur.dbcp.pool.ConnectionPartitions;
+import org.vibur.dbcp.pool.Hook;
+
+import java.sql.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.*;
+import static org.vibur.dbcp.ViburConfig.SQLSTATE_TIMEOUT_ERROR;
+
+public class ConnectionRequestsTest extends AbstractDataSourceTest {
+
+    @Test
+    public void testGetConnectionAsyncCreatesConnectionOffDispatcher() throws Exception {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(0);
+        ds.setPoolMaxSize(1);
+        final AtomicReference<String> initThread = new AtomicReference<>();
+        final AtomicInteger closeHooks = new AtomicInteger(0);
+        ds.getConnHooks().addOnInit(new Hook.InitConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                initThread.set(Thread.currentThread().getName());
+            }
+        });
+        ds.getConnHooks().addOnClose(new Hook.CloseConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                closeHooks.incrementAndGet();
+            }
+        });
+        ds.start();
+
+        try (Connection connection = ds.getConnectionAsync(null).get(5, SECONDS)) {
+            executeAndVerifySelectStatement(connection);
+            assertTrue(initThread.get().startsWith("AsyncConnectionRequests-Creator"));
+            assertEquals(0, closeHooks.get()); // the new connection was restored to the pool as unused
+        }
+        assertEquals(1, closeHooks.get());
+        assertEquals(1, ds.getPool().createdTotal());
+    }
+
+    @Test
+    public void testGetConnectionAsync() throws Exception {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(1);
+        ds.setPoolMaxSize(1);
+        final AtomicLong hookWaitedNanos = new AtomicLong(-1);
+        ds.getConnHooks().addOnGet(new Hook.GetConnection() {
+            @Override
+            public void on(Connection rawConnection, long takenNanos) {
+                hookWaitedNanos.set(takenNanos);
+            }
+        });
+        ds.start();
+
+        final AtomicReference<Connection> callbackConnection = new AtomicReference<>();
+        Connection c1 = ds.getConnection();
+        Future<Connection> future = ds.getConnectionAsync(0, new ConnectionCallback() {
+            @Override
+            public void onConnection(Connection connection) {
+                callbackConnection.set(connection);
+            }
+
+            @Override
+            public void onError(SQLException exception) {
+                fail(exception.toString());
+            }
+        });
+        MILLISECONDS.sleep(50);
+        assertFalse(future.isDone());
+        assertEquals(1, ds.getPool().taken());
+
+        c1.close(); // the restored connection completes the waiting request
+        try (Connection c2 = future.get(5, SECONDS)) {
+            assertNotNull(c2);
+            assertSame(c2, callbackConnection.get());
+            assertTrue(hookWaitedNanos.get() >= MILLISECONDS.toNanos(50));
+            executeAndVerifySelectStatement(c2);
+
+            try {
+                ds.getConnectionAsync(20, null).get(5, SECONDS);
+                fail("ExecutionException expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof SQLTimeoutException);
+                assertEquals(SQLSTATE_TIMEOUT_ERROR, ((SQLException) e.getCause()).getSQLState());
+            }
+
+            Future<Connection> cancelled = ds.getConnectionAsync(0, null);
+            assertTrue(cancelled.cancel(false));
+            assertTrue(cancelled.isCancelled());
+        }
+        assertEquals(0, ds.getPool().taken());
+    }
+
+    @Test
+    public void testPriorityLanes() throws Exception {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(1);
+        ds.setPoolMaxSize(1);
+        ds.setPoolEnablePriorityLanes(true);
+        ds.setPoolPriorityStarvationLimitInMs(0);
+        ds.start();
+
+        Connection c1 = ds.getConnection(Priority.LOW); // taken immediately as no one waits
+        Future<Connection> low = ds.getConnectionAsync(0, Priority.LOW, null);
+        Future<Connection> high = ds.getConnectionAsync(0, Priority.HIGH, null);
+        MILLISECONDS.sleep(50);
+        assertFalse(low.isDone());
+        assertFalse(high.isDone());
+
+        c1.close(); // the restored connection goes to the high priority request, although it was queued later
+        Connection c2 = high.get(5, SECONDS);
+        MILLISECONDS.sleep(50);
+        assertFalse(low.isDone());
+
+        c2.close();
+        try (Connection c3 = low.get(5, SECONDS)) {
+            executeAndVerifySelectStatement(c3);
+        }
+
+        AsyncConnectionRequests requests = ds.getAsyncConnectionRequests();
+        assertEquals(1, requests.getAcquiredCount(Priority.HIGH));
+        assertEquals(2, requests.getAcquiredCount(Priority.LOW));
+        assertTrue(requests.getWaitMaxNanos(Priority.LOW) >= MILLISECONDS.toNanos(100));
+        assertEquals(0, requests.getQueuedCount(Priority.LOW));
+        assertEquals(0, ds.getPool().taken());
+    }
+
+    @Test
+    public void testPoolPartitions() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(1);
+        ds.setPoolMaxSize(3);
+        ds.setConnectionTimeoutInMs(50);
+        ds.setPoolPartitions("web:1:3, batch:0:2");
+        ds.start();
+
+        ConnectionPartitions partitions = ds.getConnectionPartitions();
+        try (Connection b1 = ds.getConnection("batch");
+             Connection b2 = ds.getConnection("batch")) {
+            assertEquals(2, partitions.getPartition("batch").getTaken());
+            assertTimeout(ds, "batch"); // max borrowable reached
+            assertTimeout(ds, null); // the remaining connection is reserved for web
+
+            try (Connection w1 = ds.getConnection("web")) {
+                executeAndVerifySelectStatement(w1);
+                assertEquals(1, partitions.getPartition("web").getTaken());
+            }
+            assertEquals(0, partitions.getPartition("web").getTaken());
+
+            b1.close(); // frees capacity beyond the web reserve
+            try (Connection c1 = ds.getConnection()) {
+                assertEquals(1, partitions.getPartition(ConnectionPartitions.DEFAULT_PARTITION).getTaken());
+            }
+        }
+        assertEquals(0, partitions.getPartition("batch").getTaken());
+        assertEquals(0, partitions.getPartition(ConnectionPartitions.DEFAULT_PARTITION).getTaken());
+        assertEquals(0, ds.getPool().taken());
+    }
+
+    @Test
+    public void testBlockedPartitionDoesNotBlockOtherQueuedRequests() throws Exception {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolInitialSize(1);
+        ds.setPoolMaxSize(2);
+        ds.setConnectionTimeoutInMs(1000);
+        ds.setPoolEnablePriorityLanes(true);
+        ds.setPoolPartitions("web:1:2");
+        ds.start();
+
+        try (Connection c1 = ds.getConnection()) {
+            Future<Connection> blocked = ds.getConnectionAsync(300, null); // the remaining connection is reserved for web
+            try (Connection w1 = ds.getConnection("web")) { // queued behind the blocked request
+                executeAndVerifySelectStatement(w1);
+            }
+
+            try {
+                blocked.get().close();
+                fail("ExecutionException expected");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof SQLTimeoutException);
+            }
+        }
+        assertEquals(0, ds.getPool().taken());
+    }
+
+    private static void assertTimeout(ViburDBCPDataSource ds, String partitionName) throws SQLException {
+        try {
+            Connection connection = partitionName != null ? ds.getConnection(partitionName) : ds.getConnection();
+            connection.close();
+            fail("SQLTimeoutException expected");
+        } catch (SQLTimeoutException e) {
+            assertEquals(SQLSTATE_TIMEOUT_ERROR, e.getSQLState());
+        }
+    }
+}
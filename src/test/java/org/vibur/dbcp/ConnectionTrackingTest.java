@@ -0,0 +1,69 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import org.junit.Test;
+import org.vibur.dbcp.pool.TakenConnection;
+
+import java.sql.*;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+public class ConnectionTrackingTest extends AbstractDataSourceTest {
+
+    @Test
+    public void testTakenConnectionsWithoutStackTraceAndLastAccess() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setPoolEnableConnectionTracking(true);
+        ds.setPoolConnectionTrackingSampleRate(0);
+        ds.setPoolConnectionTrackingLastAccess(false);
+        ds.start();
+
+        try (Connection connection = ds.getConnection()) {
+            connection.getAutoCommit(); // a restricted method, which would otherwise update the last access time
+
+            TakenConnection[] takenConnections = ds.getTakenConnections();
+            assertEquals(1, takenConnections.length);
+            assertSame(connection, takenConnections[0].getProxyConnection());
+            assertSame(Thread.currentThread(), takenConnections[0].getThread());
+            assertTrue(takenConnections[0].getTakenNanoTime() > 0);
+            assertEquals(0, takenConnections[0].getLastAccessNanoTime());
+            assertNull(takenConnections[0].getLocation());
+
+            assertTrue(ds.getTakenConnectionsStackTraces().contains("was not sampled"));
+        }
+    }
+
+    @Test
+    public void testLeakDetectorReclaimsAbandonedConnection() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setLeakDetectionThresholdInSeconds(1);
+        ds.setLeakReclaimThresholdInSeconds(2);
+        ds.start();
+        assertTrue(ds.isPoolEnableConnectionTracking());
+
+        Connection connection = ds.getConnection(); // abandoned
+        for (int i = 0; i < 50 && ds.getLeakDetector().getReclaimedCount() == 0; i++)
+            MILLISECONDS.sleep(100);
+
+        assertEquals(1, ds.getLeakDetector().getReclaimedCount());
+        assertTrue(connection.isClosed());
+        assertEquals(0, ds.getPool().taken());
+        assertEquals(0, ds.getTakenConnections().length);
+    }
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import org.junit.Test;
+
+import java.sql.*;
+
+import static org.junit.Assert.*;
+
+public class ConnectionValidationTest extends AbstractDataSourceTest {
+
+    @Test
+    public void testBackgroundValidationOfIdleConnections() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setConnectionIdleLimitInSeconds(-1); // no validation on take
+        ds.setIdleValidationIntervalInSeconds(1);
+        ds.setMetricsClass(ViburMetrics.Default.class.getName());
+        ds.start();
+
+        Connection rawConnection;
+        try (Connection connection = ds.getConnection()) {
+            rawConnection = connection.unwrap(Connection.class);
+        }
+        rawConnection.close(); // the idle connection becomes invalid while in the pool
+
+        awaitValidations((ViburMetrics.Default) ds.getMetrics(), 1, 1); // the background validator detects it
+        try (Connection connection = ds.getConnection()) {
+            Connection rawConnection2 = connection.unwrap(Connection.class);
+            assertNotSame(rawConnection, rawConnection2);
+            assertFalse(rawConnection2.isClosed());
+            executeAndVerifySelectStatement(connection);
+        }
+    }
+
+    @Test
+    public void testRollingDrainOnCriticalSQLState() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setCriticalSQLStates("42501"); // the HSQLDB SQLState for an unknown table
+        ds.setRollingDrainOnCriticalSQLState(true);
+        ds.setMetricsClass(ViburMetrics.Default.class.getName());
+        ds.start();
+        assertEquals(POOL_INITIAL_SIZE, ds.getPool().createdTotal());
+
+        Connection connection1 = ds.getConnection();
+        Connection rawConnection2;
+        try (Connection connection2 = ds.getConnection()) {
+            rawConnection2 = connection2.unwrap(Connection.class);
+        }
+        try (Statement statement = connection1.createStatement()) {
+            statement.executeUpdate("drop table nonexistent");
+            fail("SQLException expected");
+        } catch (SQLException ignored) {
+            // no-op
+        } finally {
+            connection1.close();
+        }
+        assertTrue(connection1.unwrap(Connection.class).isClosed());
+        assertEquals(POOL_INITIAL_SIZE - 1, ds.getPool().createdTotal()); // only the failed connection is destroyed
+
+        awaitValidations((ViburMetrics.Default) ds.getMetrics(), 1, 0); // the idle connection is validated
+        try (Connection connection = ds.getConnection()) {
+            assertSame(rawConnection2, connection.unwrap(Connection.class));
+            executeAndVerifySelectStatement(connection);
+        }
+    }
+
+    @Test
+    public void testRollingDrainRechecksTakenConnections() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setCriticalSQLStates("42501"); // the HSQLDB SQLState for an unknown table
+        ds.setRollingDrainOnCriticalSQLState(true);
+        ds.setMetricsClass(ViburMetrics.Default.class.getName());
+        ds.start();
+
+        Connection connection1 = ds.getConnection();
+        Connection connection2 = ds.getConnection(); // stays taken while the drain starts
+        ds.getConnection().close(); // a third connection stays idle and is validated by the drain
+        try (Statement statement = connection1.createStatement()) {
+            statement.executeUpdate("drop table nonexistent");
+            fail("SQLException expected");
+        } catch (SQLException ignored) {
+            // no-op
+        } finally {
+            connection1.close();
+        }
+        assertEquals(2, ds.getPool().createdTotal());
+
+        // the drain marks the taken connections before it validates the idle ones
+        awaitValidations((ViburMetrics.Default) ds.getMetrics(), 1, 0);
+        connection2.unwrap(Connection.class).close(); // simulates a connection broken by the same failure
+        connection2.close();
+        assertEquals(1, ds.getPool().createdTotal()); // the recheck on restore destroys it
+    }
+}
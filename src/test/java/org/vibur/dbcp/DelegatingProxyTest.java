@@ -0,0 +1,176 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import com.sun.management.ThreadMXBean;
+import org.junit.Test;
+import org.vibur.dbcp.pool.Hook;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+public class DelegatingProxyTest extends AbstractDataSourceTest {
+
+    @Test
+    public void testSelectWithDelegatingProxies() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceWithDelegatingProxies();
+        try (Connection connection = ds.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            assertFalse(Proxy.isProxyClass(connection.getClass()));
+            assertSame(connection, statement.getConnection());
+
+            ResultSet resultSet = statement.executeQuery("select * from actor where first_name = 'CHRISTIAN'");
+            assertSame(statement, resultSet.getStatement());
+            int count = 0;
+            while (resultSet.next())
+                count++;
+            assertEquals(3, count);
+
+            statement.close();
+            assertTrue(resultSet.isClosed());
+        }
+    }
+
+    @Test
+    public void testPreparedStatementIsCached() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceWithDelegatingProxies();
+        PreparedStatement rawPStatement;
+        try (Connection connection = ds.getConnection()) {
+            try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+                pStatement.setString(1, "CHRISTIAN");
+                ResultSet resultSet = pStatement.executeQuery();
+                assertTrue(resultSet.next());
+                rawPStatement = pStatement.unwrap(PreparedStatement.class);
+            }
+            try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+                assertSame(rawPStatement, pStatement.unwrap(PreparedStatement.class));
+            }
+        }
+    }
+
+    @Test
+    public void testResultSetRetrievalHook() throws SQLException {
+        final long[] retrievedSize = {-1};
+
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setUseDelegatingProxies(true);
+        ds.getInvocationHooks().addOnResultSetRetrieval(new Hook.ResultSetRetrieval() {
+            @Override
+            public void on(String sqlQuery, List<Object[]> sqlQueryParams, long resultSetSize, long resultSetNanoTime) {
+                retrievedSize[0] = resultSetSize;
+            }
+        });
+        ds.start();
+
+        try (Connection connection = ds.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            ResultSet resultSet = statement.executeQuery("select * from actor where first_name = 'CHRISTIAN'");
+            while (resultSet.next()) {
+                assertNotNull(resultSet.getString("last_name"));
+                assertTrue(resultSet.getInt(1) > 0);
+            }
+            resultSet.close();
+        }
+
+        assertEquals(3, retrievedSize[0]);
+    }
+
+    @Test
+    public void testResultSetIterationDoesNotAllocate() throws SQLException {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof ThreadMXBean && ((ThreadMXBean) bean).isThreadAllocatedMemorySupported());
+        ThreadMXBean threadBean = (ThreadMXBean) bean;
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        ViburDBCPDataSource ds = createDataSourceWithDelegatingProxies();
+        try (Connection connection = ds.getConnection();
+             Statement statement = connection.createStatement();
+             Statement rawStatement = connection.unwrap(Connection.class).createStatement()) {
+
+            int iterations = 2000;
+            for (int i = 0; i < iterations; i++) { // warms up the JIT
+                allocatedBytesIterating(threadBean, statement);
+                allocatedBytesIterating(threadBean, rawStatement);
+            }
+
+            long proxyBytes = 0;
+            long rawBytes = 0;
+            for (int i = 0; i < iterations; i++) {
+                proxyBytes += allocatedBytesIterating(threadBean, statement);
+                rawBytes += allocatedBytesIterating(threadBean, rawStatement);
+            }
+            // an Object[] args array alone would add at least 16 bytes for each of the ~200 rows of every iteration
+            assertTrue("proxy allocated " + proxyBytes + " bytes, raw allocated " + rawBytes + " bytes",
+                    proxyBytes - rawBytes < iterations * 64L);
+        }
+    }
+
+    private static long allocatedBytesIterating(ThreadMXBean threadBean, Statement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery("select actor_id from actor")) {
+            long threadId = Thread.currentThread().getId();
+            long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+            long sum = 0;
+            while (resultSet.next())
+                sum += resultSet.getInt(1);
+            long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+            assertTrue(sum > 0);
+            return bytes;
+        }
+    }
+
+    @Test
+    public void testClosedConnection() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceWithDelegatingProxies();
+        Connection connection = ds.getConnection();
+        connection.close();
+        assertTrue(connection.isClosed());
+        try {
+            connection.createStatement();
+            fail("SQLException expected");
+        } catch (SQLException ignored) {
+        }
+        assertEquals(POOL_INITIAL_SIZE, ds.getPool().remainingCreated());
+    }
+
+    @Test
+    public void testSeverConnection() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceWithDelegatingProxies();
+        Connection connection = ds.getConnection();
+        ds.severConnection(connection);
+        assertTrue(connection.isClosed());
+        assertEquals(POOL_INITIAL_SIZE - 1, ds.getPool().remainingCreated());
+    }
+
+    private ViburDBCPDataSource createDataSourceWithDelegatingProxies() throws ViburDBCPException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setUseDelegatingProxies(true);
+        ds.setStatementCacheMaxSize(10);
+        ds.start();
+        return ds;
+    }
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import org.junit.Test;
+import org.vibur.dbcp.pool.SqlStatistics;
+
+import java.sql.*;
+import java.util.List;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.junit.Assert.*;
+
+public class PoolMetricsTest extends AbstractDataSourceTest {
+
+    @Test
+    public void testLatencyHistograms() throws SQLException, InterruptedException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setEnableLatencyHistograms(true);
+        ds.start();
+
+        try (Connection connection = ds.getConnection()) {
+            executeAndVerifySelectStatement(connection);
+            executeAndVerifyPreparedSelectStatement(connection);
+            MILLISECONDS.sleep(20);
+        }
+
+        assertEquals(1, ds.getGetConnectionLatency().count());
+        assertEquals(1, ds.getConnectionHoldLatency().count());
+        assertTrue(ds.getConnectionHoldLatency().max() >= MILLISECONDS.toNanos(20));
+        assertTrue(ds.getConnectionHoldLatency().percentile(50) <= ds.getConnectionHoldLatency().max());
+        assertEquals(2, ds.getQueryLatency().count());
+        assertTrue(ds.getQueryLatency().percentile(99.9) > 0);
+    }
+
+    @Test
+    public void testSqlStatistics() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setSqlStatisticsMaxSize(100);
+        ds.start();
+
+        try (Connection connection = ds.getConnection()) {
+            executeAndVerifySelectStatement(connection);
+            executeAndVerifyPreparedSelectStatement(connection);
+            try (Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery("select * from actor where first_name = 'NICK'")) {
+                while (resultSet.next())
+                    assertEquals("NICK", resultSet.getString("first_name"));
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("drop table nonexistent");
+                fail("SQLException expected");
+            } catch (SQLException ignored) {
+                // no-op
+            }
+        }
+
+        List<SqlStatistics.Entry> top = ds.getSqlStatistics().getTopByTotalTime(10);
+        assertEquals(2, top.size());
+        SqlStatistics.Entry select = null, drop = null;
+        for (SqlStatistics.Entry entry : top) {
+            if (entry.getSql().equals("select * from actor where first_name = ?"))
+                select = entry;
+            else if (entry.getSql().equals("drop table nonexistent"))
+                drop = entry;
+        }
+        assertNotNull(select);
+        assertEquals(3, select.getCalls()); // the literals are normalized, hence all three queries are aggregated
+        assertEquals(0, select.getErrors());
+        assertTrue(select.getRows() >= 3);
+        assertTrue(select.getMaxNanos() <= select.getTotalNanos());
+        assertNotNull(drop);
+        assertEquals(1, drop.getCalls());
+        assertEquals(1, drop.getErrors());
+    }
+
+    @Test
+    public void testDefaultMetrics() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setStatementCacheMaxSize(1);
+        ds.setMetricsClass(ViburMetrics.Default.class.getName());
+        ds.start();
+
+        ViburMetrics.Default metrics = (ViburMetrics.Default) ds.getMetrics();
+        assertEquals(POOL_INITIAL_SIZE, metrics.getConnectionCreates());
+        assertTrue(metrics.getConnectionCreateMaxNanos() > 0);
+
+        Connection connection = ds.getConnection();
+        try {
+            executeAndVerifyPreparedSelectStatement(connection);
+            executeAndVerifyPreparedSelectStatement(connection);
+            executeAndVerifyPreparedSelectStatementByLastName(connection); // evicts the first statement
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate("drop table nonexistent");
+                fail("SQLException expected");
+            } catch (SQLException ignored) {
+                // no-op
+            }
+        } finally {
+            connection.close(); // the connection is destroyed as an SQLException has occurred on it
+        }
+
+        assertEquals(1, metrics.getConnectionAcquires());
+        assertEquals(0, metrics.getConnectionTimeouts());
+        assertEquals(1, metrics.getConnectionDestroys());
+        assertEquals(0, metrics.getCriticalSQLStateDrains());
+        assertEquals(1, metrics.getStatementCacheHits());
+        assertEquals(2, metrics.getStatementCacheMisses());
+        assertEquals(1, metrics.getStatementCacheEvictions());
+    }
+}
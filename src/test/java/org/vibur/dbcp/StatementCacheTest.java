@@ -0,0 +1,223 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp;
+
+import org.junit.Test;
+import org.vibur.dbcp.stcache.ConnectionStatementCache;
+import org.vibur.dbcp.stcache.StatementCacheStats;
+import org.vibur.dbcp.stcache.StatementCacheStatsSource;
+import org.vibur.dbcp.stcache.StatementHolder;
+import org.vibur.dbcp.stcache.StatementMethod;
+import org.vibur.dbcp.stcache.TinyLfuStatementCache;
+
+import java.sql.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.junit.Assert.*;
+
+public class StatementCacheTest extends AbstractDataSourceTest {
+
+    @Test
+    public void testCancelledPreparedStatementIsRemovedFromStatementsCache() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceWithStatementsCache();
+        ConcurrentMap<StatementMethod, StatementHolder> mockedStatementCache = mockStatementCache(ds);
+
+        try (Connection connection = ds.getConnection()) {
+            PreparedStatement rawPStatement;
+            try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+                rawPStatement = pStatement.unwrap(PreparedStatement.class);
+                assertEquals(1, mockedStatementCache.size());
+
+                pStatement.cancel();
+                assertEquals(0, mockedStatementCache.size());
+            }
+            assertTrue(rawPStatement.isClosed()); // the removed statement is not restored in the cache
+
+            executeAndVerifyPreparedSelectStatement(connection);
+            assertEquals(1, mockedStatementCache.size());
+        }
+    }
+
+    @Test
+    public void testPreparedSelectStatementsWithConnectionStatementCache() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setStatementCacheMaxSize(1);
+        ds.setStatementCacheClass(ConnectionStatementCache.class.getName());
+        ds.start();
+        assertTrue(ds.getStatementCache() instanceof ConnectionStatementCache);
+
+        PreparedStatement rawPStatement1, rawPStatement2;
+        Connection connection = ds.getConnection();
+        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+            rawPStatement1 = pStatement.unwrap(PreparedStatement.class);
+        }
+        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+            assertSame(rawPStatement1, pStatement.unwrap(PreparedStatement.class));
+        }
+        executeAndVerifyPreparedSelectStatement(connection);
+
+        // the first statement will be evicted from the StatementCache because its capacity is set to 1
+        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where last_name = ?")) {
+            rawPStatement2 = pStatement.unwrap(PreparedStatement.class);
+        }
+        executeAndVerifyPreparedSelectStatementByLastName(connection);
+        assertTrue(rawPStatement1.isClosed());
+        assertFalse(rawPStatement2.isClosed());
+
+        ds.severConnection(connection); // closes all cached statements of the connection
+        assertTrue(rawPStatement2.isClosed());
+    }
+
+    @Test
+    public void testConnectionStatementCacheDoesNotStarveConnectionWithoutStatements() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setStatementCacheMaxSize(2);
+        ds.setStatementCacheClass(ConnectionStatementCache.class.getName());
+        ds.start();
+
+        PreparedStatement rawPStatement1, rawPStatement2, rawPStatement3;
+        try (Connection connection1 = ds.getConnection();
+             Connection connection2 = ds.getConnection()) {
+            // connection1 fills the whole cache
+            try (PreparedStatement pStatement = connection1.prepareStatement("select * from actor where first_name = ?")) {
+                rawPStatement1 = pStatement.unwrap(PreparedStatement.class);
+            }
+            try (PreparedStatement pStatement = connection1.prepareStatement("select * from actor where last_name = ?")) {
+                rawPStatement2 = pStatement.unwrap(PreparedStatement.class);
+            }
+
+            // connection2 is below its fair share and evicts the least recently used statement of connection1
+            try (PreparedStatement pStatement = connection2.prepareStatement("select * from actor where first_name = ?")) {
+                rawPStatement3 = pStatement.unwrap(PreparedStatement.class);
+            }
+            try (PreparedStatement pStatement = connection2.prepareStatement("select * from actor where first_name = ?")) {
+                assertSame(rawPStatement3, pStatement.unwrap(PreparedStatement.class));
+            }
+        }
+
+        assertTrue(rawPStatement1.isClosed());
+        assertFalse(rawPStatement2.isClosed());
+        assertFalse(rawPStatement3.isClosed());
+        assertEquals(2, ((StatementCacheStatsSource) ds.getStatementCache()).size());
+    }
+
+    @Test
+    public void testPreparedSelectStatementsWithTinyLfuStatementCache() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setStatementCacheMaxSize(10);
+        ds.setStatementCacheClass(TinyLfuStatementCache.class.getName());
+        ds.start();
+        assertTrue(ds.getStatementCache() instanceof TinyLfuStatementCache);
+
+        PreparedStatement rawPStatement;
+        Connection connection = ds.getConnection();
+        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+            rawPStatement = pStatement.unwrap(PreparedStatement.class);
+        }
+        for (int i = 0; i < 2; i++) {
+            try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+                assertSame(rawPStatement, pStatement.unwrap(PreparedStatement.class));
+            }
+        }
+
+        // a burst of unique statements, 2 times more than the cache capacity, does not evict the frequently used one
+        for (int i = 0; i < 20; i++) {
+            try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where actor_id = " + i)) {
+                pStatement.executeQuery().close();
+            }
+        }
+        assertFalse(rawPStatement.isClosed());
+        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
+            assertSame(rawPStatement, pStatement.unwrap(PreparedStatement.class));
+        }
+        executeAndVerifyPreparedSelectStatement(connection);
+
+        ds.severConnection(connection); // closes all cached statements of the connection
+        assertTrue(rawPStatement.isClosed());
+    }
+
+    @Test
+    public void testStatementCacheStats() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceWithStatementsCache();
+        String firstNameQuery = "select * from actor where first_name = ?";
+        String lastNameQuery = "select * from actor where last_name = ?";
+
+        try (Connection connection = ds.getConnection()) {
+            try (PreparedStatement pStatement1 = connection.prepareStatement(firstNameQuery); // a miss
+                 PreparedStatement pStatement2 = connection.prepareStatement(firstNameQuery)) { // an IN_USE collision
+                assertNotSame(pStatement1.unwrap(PreparedStatement.class), pStatement2.unwrap(PreparedStatement.class));
+            }
+            connection.prepareStatement(firstNameQuery).close(); // a hit
+            connection.prepareStatement(lastNameQuery).close(); // a miss and an eviction, as the cache capacity is 1
+        }
+
+        StatementCacheStatsSource statementCache = (StatementCacheStatsSource) ds.getStatementCache();
+        StatementCacheStats stats = statementCache.stats();
+        assertEquals(1, statementCache.size());
+        assertEquals(1, stats.getHits());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getEvictions());
+        assertEquals(1, stats.getInUseCollisions());
+
+        List<Map.Entry<String, Long>> topMisses = stats.getTopMisses(10);
+        assertEquals(2, topMisses.size());
+        for (Map.Entry<String, Long> miss : topMisses) {
+            assertTrue(miss.getKey().equals(firstNameQuery) || miss.getKey().equals(lastNameQuery));
+            assertEquals(1, miss.getValue().longValue());
+        }
+    }
+
+    @Test
+    public void testPreparedSelectStatementsWithMultipleCachedInstancesPerSql() throws SQLException {
+        ViburDBCPDataSource ds = createDataSourceNotStarted();
+        ds.setStatementCacheMaxSize(10);
+        ds.setStatementCacheMaxInstancesPerSql(2);
+        ds.start();
+        String sql = "select * from actor where first_name = ?";
+
+        PreparedStatement rawPStatement1, rawPStatement2, rawPStatement3;
+        try (Connection connection = ds.getConnection()) {
+            try (PreparedStatement pStatement1 = connection.prepareStatement(sql);
+                 PreparedStatement pStatement2 = connection.prepareStatement(sql);
+                 PreparedStatement pStatement3 = connection.prepareStatement(sql)) {
+                rawPStatement1 = pStatement1.unwrap(PreparedStatement.class);
+                rawPStatement2 = pStatement2.unwrap(PreparedStatement.class);
+                rawPStatement3 = pStatement3.unwrap(PreparedStatement.class);
+                assertNotSame(rawPStatement1, rawPStatement2);
+            }
+            assertFalse(rawPStatement1.isClosed());
+            assertFalse(rawPStatement2.isClosed());
+            assertTrue(rawPStatement3.isClosed()); // only 2 statements per SQL query are cached
+
+            // the nested use of the same SQL query is served from the cache
+            try (PreparedStatement pStatement1 = connection.prepareStatement(sql);
+                 PreparedStatement pStatement2 = connection.prepareStatement(sql)) {
+                assertSame(rawPStatement1, pStatement1.unwrap(PreparedStatement.class));
+                assertSame(rawPStatement2, pStatement2.unwrap(PreparedStatement.class));
+            }
+            executeAndVerifyPreparedSelectStatement(connection);
+        }
+
+        StatementCacheStatsSource statementCache = (StatementCacheStatsSource) ds.getStatementCache();
+        StatementCacheStats stats = statementCache.stats();
+        assertEquals(2, statementCache.size());
+        assertEquals(2, stats.getMisses());
+        assertEquals(1, stats.getInUseCollisions());
+    }
+}
@@ -31,10 +31,6 @@ import org.vibur.dbcp.stcache.StatementMethod;
 import javax.sql.DataSource;
 import java.lang.reflect.Proxy;
 import java.sql.*;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 
@@ -107,13 +103,13 @@ public class ViburDBCPDataSourceTest extends AbstractDataSourceTest {
             executeAndVerifyPreparedSelectStatement(connection);
 
             InOrder inOrder = inOrder(mockedStatementCache);
-            inOrder.verify(mockedStatementCache).get(key1.capture());
-            inOrder.verify(mockedStatementCache).putIfAbsent(same(key1.getValue()), val1.capture());
-            inOrder.verify(mockedStatementCache).get(key2.capture());
+            // the lookups are done with a reusable (per thread) probe key, hence only the keys put in the cache are captured
+            inOrder.verify(mockedStatementCache).get(any(StatementMethod.class));
+            inOrder.verify(mockedStatementCache).putIfAbsent(key1.capture(), val1.capture());
+            inOrder.verify(mockedStatementCache).get(any(StatementMethod.class));
 
             assertEquals(1, mockedStatementCache.size());
             assertTrue(mockedStatementCache.containsKey(key1.getValue()));
-            assertEquals(key1.getValue(), key2.getValue());
             assertEquals(AVAILABLE, val1.getValue().state().get());
         }
     }
@@ -128,10 +124,10 @@ public class ViburDBCPDataSourceTest extends AbstractDataSourceTest {
             executeAndVerifyPreparedSelectStatementByLastName(connection);
 
             InOrder inOrder = inOrder(mockedStatementCache);
-            inOrder.verify(mockedStatementCache).get(key1.capture());
-            inOrder.verify(mockedStatementCache).putIfAbsent(same(key1.getValue()), val1.capture());
-            inOrder.verify(mockedStatementCache).get(key2.capture());
-            inOrder.verify(mockedStatementCache).putIfAbsent(same(key2.getValue()), val2.capture());
+            inOrder.verify(mockedStatementCache).get(any(StatementMethod.class));
+            inOrder.verify(mockedStatementCache).putIfAbsent(key1.capture(), val1.capture());
+            inOrder.verify(mockedStatementCache).get(any(StatementMethod.class));
+            inOrder.verify(mockedStatementCache).putIfAbsent(key2.capture(), val2.capture());
 
             // key1 will be evicted from the StatementCache because its capacity is set to 1.
             assertEquals(1, mockedStatementCache.size());
@@ -282,6 +278,7 @@ public class ViburDBCPDataSourceTest extends AbstractDataSourceTest {
         assertTrue(takenNanoTime > 0);
         assertTrue(currentNanoTime > takenNanoTime);
         assertEquals(0, takenConnections[0].getLastAccessNanoTime());
+        assertNotNull(takenConnections[0].getLocation());
 
         TakenConnection[] takenConnections2 = ds.getTakenConnections();
         assertNotSame(takenConnections, takenConnections2);
@@ -336,42 +333,4 @@ public class ViburDBCPDataSourceTest extends AbstractDataSourceTest {
             executeAndVerifyPreparedSelectStatement(connection);
         }
     }
-
-    private static void executeAndVerifySelectStatement(Connection connection) throws SQLException {
-        try (Statement statement = connection.createStatement()) {
-            ResultSet resultSet = statement.executeQuery("select * from actor where first_name = 'CHRISTIAN'");
-            Set<String> expectedLastNames = new HashSet<>(Arrays.asList("GABLE", "AKROYD", "NEESON"));
-            while (resultSet.next()) {
-                String lastName = resultSet.getString("last_name");
-                assertTrue(expectedLastNames.remove(lastName));
-            }
-            assertTrue(expectedLastNames.isEmpty());
-        }
-    }
-
-    private static void executeAndVerifyPreparedSelectStatement(Connection connection) throws SQLException {
-        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where first_name = ?")) {
-            pStatement.setString(1, "CHRISTIAN");
-            ResultSet resultSet = pStatement.executeQuery();
-            Set<String> expectedLastNames = new HashSet<>(Arrays.asList("GABLE", "AKROYD", "NEESON"));
-            while (resultSet.next()) {
-                String lastName = resultSet.getString("last_name");
-                assertTrue(expectedLastNames.remove(lastName));
-            }
-            assertTrue(expectedLastNames.isEmpty());
-        }
-    }
-
-    private static void executeAndVerifyPreparedSelectStatementByLastName(Connection connection) throws SQLException {
-        try (PreparedStatement pStatement = connection.prepareStatement("select * from actor where last_name = ?")) {
-            pStatement.setString(1, "CROWE");
-            ResultSet resultSet = pStatement.executeQuery();
-            Set<String> expectedFirstNames = new HashSet<>(Collections.singletonList("SIDNEY"));
-            while (resultSet.next()) {
-                String firstName = resultSet.getString("first_name");
-                assertTrue(expectedFirstNames.remove(firstName));
-            }
-            assertTrue(expectedFirstNames.isEmpty());
-        }
-    }
 }
@@ -0,0 +1,114 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.perf;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.vibur.dbcp.ViburDBCPDataSource;
+import org.vibur.dbcp.util.StubDriver;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.vibur.dbcp.util.StubDriver.STUB_JDBC_URL;
+
+/**
+ * Measures the overhead of the connection tracking on the {@code getConnection()}, a few JDBC method invocations,
+ * and {@code close()} hot path of {@link ViburDBCPDataSource}, backed by the in-process {@link StubDriver}.
+ * The tracking modes are: {@code off}; {@code full}, which captures the stack trace on every take and the last
+ * access time on every JDBC method invocation; {@code sampled}, which captures the stack trace for 1 in 100 takes;
+ * and {@code stackless}, which captures neither the stack trace nor the last access time. {@link #main} runs the
+ * benchmark with 1 and 16 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConnectionTrackingBenchmark {
+
+    private static final int[] THREADS = {1, 16};
+    private static final int INVOCATIONS = 5;
+
+    @Param({"off", "full", "sampled", "stackless"})
+    public String tracking;
+
+    private ViburDBCPDataSource ds;
+
+    @Setup
+    public void setUp() {
+        ds = new ViburDBCPDataSource();
+        ds.setDriver(new StubDriver());
+        ds.setJdbcUrl(STUB_JDBC_URL);
+        ds.setUsername("stub");
+        ds.setPassword("stub");
+
+        ds.setPoolInitialSize(THREADS[THREADS.length - 1]);
+        ds.setPoolMaxSize(THREADS[THREADS.length - 1]);
+        ds.setConnectionIdleLimitInSeconds(-1);
+        ds.setLogConnectionLongerThanMs(-1);
+
+        switch (tracking) {
+            case "full":
+                ds.setPoolEnableConnectionTracking(true);
+                break;
+            case "sampled":
+                ds.setPoolEnableConnectionTracking(true);
+                ds.setPoolConnectionTrackingSampleRate(100);
+                break;
+            case "stackless":
+                ds.setPoolEnableConnectionTracking(true);
+                ds.setPoolConnectionTrackingSampleRate(0);
+                ds.setPoolConnectionTrackingLastAccess(false);
+                break;
+            default:
+                ds.setPoolEnableConnectionTracking(false);
+        }
+
+        ds.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ds.terminate();
+    }
+
+    @Benchmark
+    public boolean getUseAndCloseConnection() throws SQLException {
+        boolean result = false;
+        try (Connection connection = ds.getConnection()) {
+            for (int i = 0; i < INVOCATIONS; i++)
+                result ^= connection.getAutoCommit();
+        }
+        return result;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(ConnectionTrackingBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
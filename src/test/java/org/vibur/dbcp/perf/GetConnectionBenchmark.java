@@ -0,0 +1,113 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.perf;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.vibur.dbcp.ViburDBCPDataSource;
+import org.vibur.dbcp.pool.Hook;
+import org.vibur.dbcp.util.StubDriver;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+import static org.vibur.dbcp.util.StubDriver.STUB_JDBC_URL;
+
+/**
+ * Measures the throughput and the latency distribution of the {@code getConnection()} + {@code close()} hot path
+ * of {@link ViburDBCPDataSource}. The pool is backed by the in-process {@link StubDriver}, hence the numbers
+ * reflect the pool overhead only. The benchmark is parameterized by the pool fairness, the connection tracking,
+ * and whether the default and some application (no-op) connection hooks are enabled; {@link #main} runs it with
+ * 1, 4, 16 and 64 threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetConnectionBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+
+    @Param({"true", "false"})
+    public boolean poolFair;
+
+    @Param({"false", "true"})
+    public boolean poolEnableConnectionTracking;
+
+    @Param({"false", "true"})
+    public boolean hooks;
+
+    private ViburDBCPDataSource ds;
+
+    @Setup
+    public void setUp() {
+        ds = new ViburDBCPDataSource();
+        ds.setDriver(new StubDriver());
+        ds.setJdbcUrl(STUB_JDBC_URL);
+        ds.setUsername("stub");
+        ds.setPassword("stub");
+
+        ds.setPoolInitialSize(THREADS[THREADS.length - 1]);
+        ds.setPoolMaxSize(THREADS[THREADS.length - 1]);
+        ds.setPoolFair(poolFair);
+        ds.setPoolEnableConnectionTracking(poolEnableConnectionTracking);
+        ds.setConnectionIdleLimitInSeconds(-1);
+
+        if (hooks) {
+            ds.getConnHooks().addOnGet(new Hook.GetConnection() {
+                @Override
+                public void on(Connection rawConnection, long takenNanos) { }
+            });
+            ds.getConnHooks().addOnClose(new Hook.CloseConnection() {
+                @Override
+                public void on(Connection rawConnection, long takenNanos) { }
+            });
+        } else {
+            ds.setLogConnectionLongerThanMs(-1);
+            ds.setLogTakenConnectionsOnTimeout(false);
+        }
+
+        ds.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        ds.terminate();
+    }
+
+    @Benchmark
+    public void getAndCloseConnection() throws SQLException {
+        Connection connection = ds.getConnection();
+        connection.close();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(GetConnectionBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
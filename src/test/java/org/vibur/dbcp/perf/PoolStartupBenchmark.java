@@ -0,0 +1,96 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.perf;
+
+import org.vibur.dbcp.ViburDBCPDataSource;
+import org.vibur.dbcp.util.StubDriver;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.vibur.dbcp.util.StubDriver.STUB_JDBC_URL;
+
+/**
+ * Measures the time taken by {@link ViburDBCPDataSource#start()} to create the initial connections of the pool,
+ * serially and in parallel, when each physical connect takes {@value #CONNECT_DELAY_MS} ms. After the start,
+ * measures the time taken to obtain all {@value #INITIAL_SIZE} initial connections, which shows when the
+ * connections that are created in the background (if any) become available to the application.
+ */
+public class PoolStartupBenchmark {
+
+    private static final int INITIAL_SIZE = 100;
+    private static final int MAX_SIZE = 200;
+    private static final long CONNECT_DELAY_MS = 80;
+
+    // {poolInitialFillThreads, poolInitialReadySize}, where -1 means all initial connections
+    private static final int[][] CONFIGS = {{1, -1}, {10, -1}, {25, -1}, {10, 10}, {25, 0}};
+
+    public static void main(String[] args) throws SQLException {
+        System.out.println(String.format("%12s %12s %14s %18s",
+                "fillThreads", "readySize", "startMs", "takeAllInitialMs"));
+
+        for (int[] config : CONFIGS) {
+            ViburDBCPDataSource ds = createDataSource(config[0], config[1]);
+
+            long startNanos = System.nanoTime();
+            ds.start();
+            long startMs = (System.nanoTime() - startNanos) / 1_000_000;
+
+            long takeNanos = System.nanoTime();
+            Connection[] connections = new Connection[INITIAL_SIZE];
+            for (int i = 0; i < connections.length; i++)
+                connections[i] = ds.getConnection();
+            long takeAllMs = (System.nanoTime() - takeNanos) / 1_000_000;
+            for (Connection connection : connections)
+                connection.close();
+            ds.terminate();
+
+            System.out.println(String.format("%12d %12d %14d %18d", config[0], config[1], startMs, takeAllMs));
+        }
+    }
+
+    private static ViburDBCPDataSource createDataSource(int fillThreads, int readySize) {
+        ViburDBCPDataSource ds = new ViburDBCPDataSource();
+        ds.setDriver(new SlowStubDriver());
+        ds.setJdbcUrl(STUB_JDBC_URL);
+        ds.setUsername("sa");
+        ds.setPassword("");
+
+        ds.setPoolInitialSize(INITIAL_SIZE);
+        ds.setPoolMaxSize(MAX_SIZE);
+        ds.setPoolInitialFillThreads(fillThreads);
+        ds.setPoolInitialReadySize(readySize);
+        ds.setConnectionTimeoutInMs(10_000);
+        return ds;
+    }
+
+    /** A {@link StubDriver} which simulates the latency of the physical connect. */
+    private static final class SlowStubDriver extends StubDriver {
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            try {
+                MILLISECONDS.sleep(CONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException(e);
+            }
+            return super.connect(url, info);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.perf;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.vibur.dbcp.ViburDBCPDataSource;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import static java.sql.ResultSet.CONCUR_READ_ONLY;
+import static java.sql.ResultSet.TYPE_SCROLL_INSENSITIVE;
+import static org.vibur.dbcp.util.HsqldbUtils.deployDatabaseSchemaAndData;
+import static org.vibur.dbcp.util.JdbcUtils.quietClose;
+
+/**
+ * Measures the cost of iterating a JDBC ResultSet and reading its columns via the raw (unproxied) hsqldb
+ * ResultSet, via the dynamic (InvocationHandler based) proxies, and via the delegating proxies. Run with the
+ * GC profiler (as {@link #main} does): the {@code gc.alloc.rate.norm} of the {@code delegating} proxies
+ * is expected to be equal to the one of the {@code raw} ResultSet, i.e., the pool adds zero bytes/op.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResultSetIterationBenchmark {
+
+    private static final String JDBC_URL = "jdbc:hsqldb:mem:sakila;shutdown=false";
+    private static final String USERNAME = "sa";
+    private static final String PASSWORD = "";
+
+    @Param({"raw", "dynamic", "delegating"})
+    public String proxies;
+
+    private ViburDBCPDataSource ds;
+    private Connection connection;
+    private Statement statement;
+    private ResultSet resultSet;
+
+    @Setup
+    public void setUp() throws Exception {
+        deployDatabaseSchemaAndData(JDBC_URL, USERNAME, PASSWORD);
+
+        ds = new ViburDBCPDataSource();
+        ds.setJdbcUrl(JDBC_URL);
+        ds.setUsername(USERNAME);
+        ds.setPassword(PASSWORD);
+        ds.setPoolInitialSize(1);
+        ds.setUseDelegatingProxies(proxies.equals("delegating"));
+        ds.start();
+
+        connection = ds.getConnection();
+        statement = connection.createStatement(TYPE_SCROLL_INSENSITIVE, CONCUR_READ_ONLY);
+        String sql = "select actor_id, first_name, last_name from actor";
+        resultSet = proxies.equals("raw") ?
+                statement.unwrap(Statement.class).executeQuery(sql) : statement.executeQuery(sql);
+    }
+
+    @TearDown
+    public void tearDown() {
+        quietClose(resultSet);
+        quietClose(statement);
+        quietClose(connection);
+        ds.terminate();
+    }
+
+    @Benchmark
+    public void nextAndGet(Blackhole blackhole) throws Exception {
+        if (!resultSet.next()) {
+            resultSet.beforeFirst();
+            resultSet.next();
+        }
+        blackhole.consume(resultSet.getInt(1));
+        blackhole.consume(resultSet.getLong(1));
+        blackhole.consume(resultSet.getString(2));
+        blackhole.consume(resultSet.getString("last_name"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ResultSetIterationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
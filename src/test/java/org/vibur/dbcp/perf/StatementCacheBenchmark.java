@@ -0,0 +1,223 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.perf;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.vibur.dbcp.stcache.ClhmStatementCache;
+import org.vibur.dbcp.stcache.ConnectionStatementCache;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementHolder;
+import org.vibur.dbcp.stcache.StatementMethod;
+import org.vibur.dbcp.stcache.StatementMethod.StatementCreator;
+import org.vibur.dbcp.stcache.TinyLfuStatementCache;
+import org.vibur.dbcp.util.StubDriver;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.vibur.dbcp.util.JdbcUtils.quietClose;
+import static org.vibur.dbcp.util.StubDriver.STUB_JDBC_URL;
+
+/**
+ * Measures the {@link StatementCache#take} + {@link StatementCache#restore} cycle, i.e., the statement cache
+ * overhead of every {@code prepareStatement()} + {@code close()} call, as well as the same cycle with
+ * a {@link StatementCache#remove} in the middle, as done by {@code Statement.cancel()}. The supported workloads are:
+ * <ul>
+ *     <li>{@code hit} - all threads' statements fit in half of the cache; almost every take is a cache hit;
+ *     <li>{@code miss} - each thread cycles sequentially through twice as many statements as the cache can hold;
+ *         with the LRU eviction every take is a miss followed by an eviction once the cache is full;
+ *     <li>{@code eviction} - each thread takes randomly one of four times as many statements as the cache can hold;
+ *         roughly three quarters of the takes are misses causing an eviction;
+ *     <li>{@code inUse} - all threads take the same statement on the same connection and hold it for a short
+ *         while, hence most takes find the cached statement {@code IN_USE} and return an uncached StatementHolder.
+ * </ul>
+ * The benchmarked caches are the {@link ClhmStatementCache}, the {@link ConnectionStatementCache} and
+ * the {@link TinyLfuStatementCache}, and their sizes go up to {@code ViburConfig.STATEMENT_CACHE_MAX_SIZE}.
+ * The statements are created by the in-process {@link StubDriver}. {@link #main} runs the benchmark with 1, 4, 16
+ * and 64 threads and with the GC profiler, which reports the allocation rate per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementCacheBenchmark {
+
+    private static final int[] THREADS = {1, 4, 16, 64};
+    private static final Method PREPARE_STATEMENT;
+
+    static {
+        try {
+            PREPARE_STATEMENT = Connection.class.getMethod("prepareStatement", String.class);
+        } catch (NoSuchMethodException e) {
+            throw new Error(e);
+        }
+    }
+
+    @Param({"hit", "miss", "eviction", "inUse"})
+    public String workload;
+
+    @Param({"clhm", "connection", "tinyLfu"})
+    public String cache;
+
+    @Param({"10", "100", "500", "2000"}) // 2000 is the ViburConfig.STATEMENT_CACHE_MAX_SIZE
+    public int cacheSize;
+
+    private StatementCache statementCache;
+    private Connection sharedConnection;
+    private int keysPerThread;
+    private boolean randomKeys;
+    private boolean holdStatement;
+
+    @Setup
+    public void setUp(BenchmarkParams params) throws SQLException {
+        statementCache = newStatementCache(cacheSize);
+        sharedConnection = newRawConnection();
+
+        int totalKeys;
+        switch (workload) {
+            case "hit":
+                totalKeys = cacheSize / 2;
+                break;
+            case "miss":
+                totalKeys = cacheSize * 2;
+                break;
+            case "eviction":
+                totalKeys = cacheSize * 4;
+                break;
+            case "inUse":
+                totalKeys = 1;
+                break;
+            default:
+                throw new IllegalArgumentException(workload);
+        }
+        keysPerThread = Math.max(1, totalKeys / params.getThreads());
+        randomKeys = workload.equals("eviction");
+        holdStatement = workload.equals("inUse");
+    }
+
+    @TearDown
+    public void tearDown() {
+        statementCache.close();
+    }
+
+    private StatementCache newStatementCache(int maxSize) {
+        switch (cache) {
+            case "clhm":
+                return new ClhmStatementCache(maxSize);
+            case "connection":
+                return new ConnectionStatementCache(maxSize);
+            case "tinyLfu":
+                return new TinyLfuStatementCache(maxSize);
+            default:
+                throw new IllegalArgumentException(cache);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState implements StatementCreator {
+        private Connection rawConnection;
+        private PreparedStatement rawStatement;
+        private Object[][] args;
+        private int next = 0;
+
+        @Setup
+        public void setUp(StatementCacheBenchmark benchmark) throws SQLException {
+            rawConnection = benchmark.holdStatement ? benchmark.sharedConnection : newRawConnection();
+            rawStatement = rawConnection.prepareStatement("stub");
+            args = new Object[benchmark.keysPerThread][];
+            for (int i = 0; i < args.length; i++)
+                args[i] = new Object[] {"select * from table_" + i + " where id = ?"};
+        }
+
+        Object[] nextArgs(boolean random) {
+            if (random)
+                return args[ThreadLocalRandom.current().nextInt(args.length)];
+            if (next == args.length)
+                next = 0;
+            return args[next++];
+        }
+
+        @Override
+        public PreparedStatement newStatement(Method method, Object[] args) {
+            return rawStatement;
+        }
+    }
+
+    @Benchmark
+    public void takeAndRestore(ThreadState threadState, Blackhole blackhole) throws SQLException {
+        Object[] args = threadState.nextArgs(randomKeys);
+        StatementHolder statement = take(threadState, args);
+        blackhole.consume(statement);
+        if (holdStatement)
+            Blackhole.consumeCPU(64); // holds the statement for a while
+
+        if (!statementCache.restore(statement, false))
+            quietClose(statement.rawStatement());
+    }
+
+    /**
+     * Measures the {@code Statement.cancel()} flow, where the taken statement is removed from the cache before
+     * it is closed; the removed statement is then put again in the cache by the next take.
+     */
+    @Benchmark
+    public void takeAndCancel(ThreadState threadState, Blackhole blackhole) throws SQLException {
+        Object[] args = threadState.nextArgs(randomKeys);
+        StatementHolder statement = take(threadState, args);
+        blackhole.consume(statementCache.remove(statement));
+
+        if (!statementCache.restore(statement, false))
+            quietClose(statement.rawStatement());
+    }
+
+    private StatementHolder take(ThreadState threadState, Object[] args) throws SQLException {
+        StatementMethod probe = StatementMethod.probe(threadState.rawConnection, threadState, PREPARE_STATEMENT, args);
+        try {
+            return statementCache.take(probe);
+        } finally {
+            probe.clear();
+        }
+    }
+
+    private static Connection newRawConnection() throws SQLException {
+        return new StubDriver().connect(STUB_JDBC_URL, new Properties());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include(StatementCacheBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.perf;
+
+import org.vibur.dbcp.stcache.ClhmStatementCache;
+import org.vibur.dbcp.stcache.ConnectionStatementCache;
+import org.vibur.dbcp.stcache.StatementCache;
+import org.vibur.dbcp.stcache.StatementHolder;
+import org.vibur.dbcp.stcache.StatementMethod;
+import org.vibur.dbcp.stcache.StatementMethod.StatementCreator;
+import org.vibur.dbcp.stcache.TinyLfuStatementCache;
+import org.vibur.dbcp.util.StubDriver;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.vibur.dbcp.util.StubDriver.STUB_JDBC_URL;
+
+/**
+ * Replays synthetic SQL traces against the different {@link StatementCache} implementations and reports their
+ * hit ratios, i.e. the share of the {@code prepareStatement()} calls which didn't need to create a new statement.
+ * The traces are replayed by a single thread on a single connection, so the hit ratios depend only on the cache
+ * eviction policies. The replayed traces are:
+ * <ul>
+ *     <li>{@code zipf} - {@value #REQUESTS} requests for {@value #DISTINCT_SQL} distinct SQL queries,
+ *         with a Zipf distribution of skew {@value #ZIPF_SKEW};
+ *     <li>{@code zipf+scans} - the same as {@code zipf}, interleaved with bursts of {@value #SCAN_LENGTH} unique
+ *         one-off SQL queries every {@value #SCAN_INTERVAL} requests, as produced by ad-hoc SQL;
+ *     <li>{@code loop} - a sequential loop over one and a half times as many SQL queries as the cache can hold,
+ *         which is the worst case for an LRU cache.
+ * </ul>
+ * The traces are generated with a fixed seed, so that the results are repeatable. The statements are created by
+ * the in-process {@link StubDriver}.
+ */
+public class StatementCacheHitRatioBenchmark {
+
+    private static final int[] CACHE_SIZES = {100, 500, 2000};
+    private static final String[] CACHES = {"clhm", "connection", "tinyLfu"};
+    private static final String[] TRACES = {"zipf", "zipf+scans", "loop"};
+
+    private static final int REQUESTS = 1_000_000;
+    private static final int DISTINCT_SQL = 10_000;
+    private static final double ZIPF_SKEW = 0.9;
+    private static final int SCAN_INTERVAL = 10_000;
+    private static final int SCAN_LENGTH = 2_000;
+    private static final long SEED = 42;
+
+    private static final Method PREPARE_STATEMENT;
+
+    static {
+        try {
+            PREPARE_STATEMENT = Connection.class.getMethod("prepareStatement", String.class);
+        } catch (NoSuchMethodException e) {
+            throw new Error(e);
+        }
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Connection rawConnection = new StubDriver().connect(STUB_JDBC_URL, new Properties());
+
+        System.out.println(String.format("%-12s %10s %12s %10s", "trace", "cacheSize", "cache", "hitRatio"));
+        for (String trace : TRACES) {
+            for (int cacheSize : CACHE_SIZES) {
+                String[] sqlTrace = generateTrace(trace, cacheSize);
+                for (String cache : CACHES) {
+                    double hitRatio = replay(sqlTrace, newStatementCache(cache, cacheSize), rawConnection);
+                    System.out.println(String.format("%-12s %10d %12s %9.2f%%",
+                            trace, cacheSize, cache, hitRatio * 100));
+                }
+            }
+        }
+        rawConnection.close();
+    }
+
+    private static StatementCache newStatementCache(String cache, int maxSize) {
+        switch (cache) {
+            case "clhm":
+                return new ClhmStatementCache(maxSize);
+            case "connection":
+                return new ConnectionStatementCache(maxSize);
+            case "tinyLfu":
+                return new TinyLfuStatementCache(maxSize);
+            default:
+                throw new IllegalArgumentException(cache);
+        }
+    }
+
+    private static double replay(String[] sqlTrace, StatementCache statementCache, Connection rawConnection)
+            throws SQLException {
+        CountingStatementCreator statementCreator = new CountingStatementCreator(rawConnection);
+        for (String sql : sqlTrace) {
+            StatementMethod probe = StatementMethod.probe(rawConnection, statementCreator, PREPARE_STATEMENT, sql);
+            StatementHolder statement;
+            try {
+                statement = statementCache.take(probe);
+            } finally {
+                probe.clear();
+            }
+            statementCache.restore(statement, false);
+        }
+        statementCache.close();
+        return 1 - (double) statementCreator.created / sqlTrace.length;
+    }
+
+    private static final class CountingStatementCreator implements StatementCreator {
+        private final PreparedStatement rawStatement;
+        private long created = 0;
+
+        private CountingStatementCreator(Connection rawConnection) throws SQLException {
+            rawStatement = rawConnection.prepareStatement("stub");
+        }
+
+        @Override
+        public PreparedStatement newStatement(Method method, Object[] args) {
+            created++;
+            return rawStatement;
+        }
+    }
+
+    private static String[] generateTrace(String trace, int cacheSize) {
+        Random random = new Random(SEED);
+        String[] sqlTrace = new String[REQUESTS];
+        switch (trace) {
+            case "zipf":
+                ZipfGenerator zipf = new ZipfGenerator(DISTINCT_SQL, ZIPF_SKEW);
+                for (int i = 0; i < sqlTrace.length; i++)
+                    sqlTrace[i] = sql("hot", zipf.next(random));
+                break;
+            case "zipf+scans":
+                zipf = new ZipfGenerator(DISTINCT_SQL, ZIPF_SKEW);
+                int adHoc = 0;
+                for (int i = 0; i < sqlTrace.length; ) {
+                    for (int j = 0; j < SCAN_INTERVAL && i < sqlTrace.length; j++)
+                        sqlTrace[i++] = sql("hot", zipf.next(random));
+                    for (int j = 0; j < SCAN_LENGTH && i < sqlTrace.length; j++)
+                        sqlTrace[i++] = sql("ad_hoc", adHoc++);
+                }
+                break;
+            case "loop":
+                int loopSize = cacheSize * 3 / 2;
+                for (int i = 0; i < sqlTrace.length; i++)
+                    sqlTrace[i] = sql("loop", i % loopSize);
+                break;
+            default:
+                throw new IllegalArgumentException(trace);
+        }
+        return sqlTrace;
+    }
+
+    private static String sql(String table, int id) {
+        return "select * from " + table + "_" + id + " where id = ?";
+    }
+
+    /** Generates integers in the range {@code [0, n)} with a Zipf distribution. */
+    private static final class ZipfGenerator {
+        private final double[] cdf;
+
+        private ZipfGenerator(int n, double skew) {
+            cdf = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, skew);
+                cdf[i] = sum;
+            }
+            for (int i = 0; i < n; i++)
+                cdf[i] /= sum;
+        }
+
+        private int next(Random random) {
+            int index = Arrays.binarySearch(cdf, random.nextDouble());
+            return index >= 0 ? index : Math.min(-index - 1, cdf.length - 1);
+        }
+    }
+}
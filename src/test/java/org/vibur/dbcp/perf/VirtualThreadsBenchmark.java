@@ -0,0 +1,154 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.perf;
+
+import org.vibur.dbcp.ViburDBCPDataSource;
+import org.vibur.dbcp.util.StubDriver;
+
+import java.io.File;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static org.vibur.dbcp.util.StubDriver.STUB_JDBC_URL;
+
+/**
+ * Runs {@value #TASKS} concurrent tasks against a pool of {@value #POOL_SIZE} connections, each task getting
+ * a connection {@value #ITERATIONS} times, preparing a (cached) statement on it, holding it for
+ * {@value #HOLD_MICROS} us, and closing it. Reports the throughput, the failed tasks, and the number of the
+ * {@code jdk.VirtualThreadPinned} JFR events, i.e. the times when a virtual thread blocked while pinned to its
+ * carrier thread, with a zero threshold.
+ *
+ * <p>The tasks run in virtual threads if the JVM supports them (Java 21+); as this code base targets Java 7,
+ * the virtual threads and the JFR API are accessed via reflection. On older JVMs the tasks run in a bounded pool
+ * of platform threads and the pinning events are not reported. Run with a large {@code connectionTimeoutInMs},
+ * as all tasks compete for the connections at the same time.
+ */
+public class VirtualThreadsBenchmark {
+
+    private static final int TASKS = 10_000;
+    private static final int POOL_SIZE = 50;
+    private static final int ITERATIONS = 10;
+    private static final long HOLD_MICROS = 100;
+    private static final int PLATFORM_THREADS = 200;
+
+    public static void main(String[] args) throws Exception {
+        ViburDBCPDataSource ds = createDataSource();
+        ds.start();
+
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        boolean virtual = executor != null;
+        if (!virtual)
+            executor = Executors.newFixedThreadPool(PLATFORM_THREADS);
+
+        Object recording = virtual ? startPinnedRecording() : null;
+        final CountDownLatch done = new CountDownLatch(TASKS);
+        final AtomicLong failed = new AtomicLong(0);
+
+        final ViburDBCPDataSource dataSource = ds;
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        for (int j = 0; j < ITERATIONS; j++) {
+                            try (Connection connection = dataSource.getConnection();
+                                 PreparedStatement ignored = connection.prepareStatement("select 1")) {
+                                LockSupport.parkNanos(MICROSECONDS.toNanos(HOLD_MICROS));
+                            }
+                        }
+                    } catch (SQLException e) {
+                        failed.incrementAndGet();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+        done.await();
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        long pinned = recording != null ? stopPinnedRecording(recording) : -1;
+        executor.shutdown();
+        ds.terminate();
+
+        System.out.println(String.format("threads: %s, tasks: %d, pool size: %d, failed tasks: %d",
+                virtual ? "virtual" : PLATFORM_THREADS + " platform", TASKS, POOL_SIZE, failed.get()));
+        System.out.println(String.format("elapsed: %d ms, throughput: %.0f getConnection()/s, pinned events: %s",
+                elapsedNanos / 1_000_000, TASKS * ITERATIONS * 1e9 / elapsedNanos, pinned >= 0 ? pinned : "n/a"));
+    }
+
+    private static ViburDBCPDataSource createDataSource() {
+        ViburDBCPDataSource ds = new ViburDBCPDataSource();
+        ds.setDriver(new StubDriver());
+        ds.setJdbcUrl(STUB_JDBC_URL);
+        ds.setUsername("stub");
+        ds.setPassword("stub");
+
+        ds.setPoolInitialSize(POOL_SIZE);
+        ds.setPoolMaxSize(POOL_SIZE);
+        ds.setConnectionTimeoutInMs(60_000);
+        ds.setConnectionIdleLimitInSeconds(-1);
+        ds.setLogConnectionLongerThanMs(-1);
+        ds.setStatementCacheMaxSize(POOL_SIZE);
+        ds.setStatementCacheClass("org.vibur.dbcp.stcache.ConnectionStatementCache");
+        ds.setEnableJMX(false);
+        return ds;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null; // pre Java 21
+        }
+    }
+
+    private static Object startPinnedRecording() throws ReflectiveOperationException {
+        Object recording = Class.forName("jdk.jfr.Recording").getConstructor().newInstance();
+        Object settings = recording.getClass().getMethod("enable", String.class).invoke(recording, "jdk.VirtualThreadPinned");
+        Class<?> durationClass = Class.forName("java.time.Duration");
+        Object zero = durationClass.getField("ZERO").get(null);
+        Class.forName("jdk.jfr.EventSettings").getMethod("withThreshold", durationClass).invoke(settings, zero);
+        recording.getClass().getMethod("start").invoke(recording);
+        return recording;
+    }
+
+    private static long stopPinnedRecording(Object recording) throws Exception {
+        recording.getClass().getMethod("stop").invoke(recording);
+        File file = File.createTempFile("vibur-pinned", ".jfr");
+        try {
+            recording.getClass().getMethod("dump", Path.class).invoke(recording, file.toPath());
+            Method readAllEvents = Class.forName("jdk.jfr.consumer.RecordingFile").getMethod("readAllEvents", Path.class);
+            return ((List<?>) readAllEvents.invoke(null, file.toPath())).size();
+        } finally {
+            recording.getClass().getMethod("close").invoke(recording);
+            if (!file.delete())
+                file.deleteOnExit();
+        }
+    }
+}
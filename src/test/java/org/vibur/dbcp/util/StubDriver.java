@@ -0,0 +1,129 @@
+/**
+ * Copyright 2026 the Vibur DBCP contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.vibur.dbcp.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+import java.util.Properties;
+import java.util.logging.Logger;
+
+/**
+ * An in-process JDBC Driver which creates stub JDBC Connections that do nothing. All methods of the stub
+ * Connections and of the JDBC Statements created from them return the default value for their return type,
+ * a new stub for the JDBC interface return types, or an empty ResultSet. Intended for performance tests that
+ * need to measure the pool overhead only.
+ */
+public class StubDriver implements Driver {
+
+    public static final String STUB_JDBC_URL = "jdbc:vibur:stub";
+
+    @Override
+    public Connection connect(String url, Properties info) throws SQLException {
+        if (!acceptsURL(url))
+            return null;
+        return newStub(Connection.class);
+    }
+
+    @Override
+    public boolean acceptsURL(String url) {
+        return url != null && url.startsWith(STUB_JDBC_URL);
+    }
+
+    @Override
+    public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+        return new DriverPropertyInfo[0];
+    }
+
+    @Override
+    public int getMajorVersion() {
+        return 1;
+    }
+
+    @Override
+    public int getMinorVersion() {
+        return 0;
+    }
+
+    @Override
+    public boolean jdbcCompliant() {
+        return false;
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    private static <T> T newStub(Class<T> iface) {
+        return iface.cast(Proxy.newProxyInstance(StubDriver.class.getClassLoader(), new Class[] {iface},
+                new StubInvocationHandler()));
+    }
+
+    private static class StubInvocationHandler implements InvocationHandler {
+        private volatile boolean closed = false;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String methodName = method.getName();
+            if (methodName == "close" || methodName == "abort") {
+                closed = true;
+                return null;
+            }
+            if (methodName == "isClosed")
+                return closed;
+            if (methodName == "isValid")
+                return !closed;
+            if (methodName == "equals")
+                return proxy == args[0];
+            if (methodName == "hashCode")
+                return System.identityHashCode(proxy);
+            if (methodName == "toString")
+                return "StubDriver " + method.getDeclaringClass().getSimpleName() + '@'
+                        + Integer.toHexString(System.identityHashCode(proxy));
+
+            return defaultValue(method.getReturnType());
+        }
+
+        private static Object defaultValue(Class<?> type) {
+            if (type == void.class)
+                return null;
+            if (type == boolean.class)
+                return false;
+            if (type == int.class)
+                return 0;
+            if (type == long.class)
+                return 0L;
+            if (type == short.class)
+                return (short) 0;
+            if (type == byte.class)
+                return (byte) 0;
+            if (type == char.class)
+                return (char) 0;
+            if (type == double.class)
+                return 0d;
+            if (type == float.class)
+                return 0f;
+            if (type == int[].class)
+                return new int[0];
+            if (type.isInterface() && type.getName().startsWith("java.sql."))
+                return newStub(type);
+            return null;
+        }
+    }
+}